@@ -0,0 +1,39 @@
+package catalog;
+
+import entity.Course;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search latency over the bundled catalog, for single- and multi-term queries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogSearchBenchmark {
+
+    @Param({"statistics", "machine learning", "climate change policy"})
+    public String query;
+
+    private InMemoryCourseCatalog catalog;
+
+    @Setup
+    public void setUp() {
+        catalog = CatalogLoader.loadDefault();
+    }
+
+    @Benchmark
+    public List<Course> search() {
+        return catalog.search(query, 10);
+    }
+
+    @Benchmark
+    public Course lookup() {
+        return catalog.get("csc207h1");
+    }
+}
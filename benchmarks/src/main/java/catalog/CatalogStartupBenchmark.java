@@ -0,0 +1,66 @@
+package catalog;
+
+import entity.Course;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold catalog start on a ~7,000 course catalog: parsing and indexing the TSV versus mapping
+ * the binary file, each followed by the first search and prerequisite screen a user triggers.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogStartupBenchmark {
+
+    private final List<String> transcript = List.of("CSC108H1", "CSC148H1", "MAT135H1");
+
+    private Path tsv;
+    private Path bin;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Course> courses = SyntheticCatalog.courses(7_000);
+        tsv = Files.createTempFile("catalog", ".tsv");
+        try (BufferedWriter out = Files.newBufferedWriter(tsv, StandardCharsets.UTF_8)) {
+            for (Course c : courses) {
+                out.write(String.join("\t", c.getCourseCode(), c.getCourseName(), c.getDescription(),
+                        c.getPrerequisiteCodes(), c.getCourseKeywords()));
+                out.newLine();
+            }
+        }
+        bin = Files.createTempFile("catalog", ".bin");
+        new BinaryCatalogWriter().write(CatalogLoader.load(tsv), bin);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(tsv);
+        Files.deleteIfExists(bin);
+    }
+
+    @Benchmark
+    public Object textCatalog() throws IOException {
+        return firstUse(CatalogLoader.load(tsv));
+    }
+
+    @Benchmark
+    public Object mappedCatalog() throws IOException {
+        return firstUse(MappedCourseCatalog.open(bin));
+    }
+
+    private Object firstUse(CourseCatalog catalog) {
+        EligibilityEngine engine = catalog.eligibilityEngine();
+        return new Object[]{catalog.search("machine learning", 5), engine.eligibleCourses(engine.completedSet(transcript))};
+    }
+}
@@ -0,0 +1,53 @@
+package catalog;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prerequisite screening of a ~7,000 course catalog against a second-year student's transcript,
+ * plus the one-off cost of compiling every prerequisite string.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EligibilityBenchmark {
+
+    private final List<String> transcript = List.of("CSC108H1", "CSC148H1", "CSC165H1", "CSC207H1", "CSC236H1",
+            "MAT135H1", "MAT136H1", "MAT223H1", "STA237H1", "STA238H1", "ECO101H1", "ECO102H1");
+
+    private InMemoryCourseCatalog catalog;
+    private EligibilityEngine engine;
+    private BitSet completed;
+
+    @Setup
+    public void setUp() {
+        catalog = SyntheticCatalog.ofSize(7_000);
+        engine = new EligibilityEngine(catalog);
+        completed = engine.completedSet(transcript);
+    }
+
+    @Benchmark
+    public BitSet screenCatalog() {
+        return engine.eligibleCourses(completed);
+    }
+
+    @Benchmark
+    public BitSet screenCatalogIncludingTranscript() {
+        return engine.eligibleCourses(engine.completedSet(transcript));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public EligibilityEngine compileCatalog() {
+        return new EligibilityEngine(catalog);
+    }
+}
@@ -0,0 +1,37 @@
+package catalog;
+
+import entity.Course;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Full-university sized catalogs for benchmarks, built by repeating the bundled sample under fresh codes. */
+public final class SyntheticCatalog {
+
+    private SyntheticCatalog() {
+    }
+
+    public static List<Course> courses(int size) {
+        List<Course> sample = CatalogLoader.loadDefault().courses();
+        List<Course> courses = new ArrayList<>(size);
+        Map<String, Integer> nextNumber = new HashMap<>();
+        while (courses.size() < size) {
+            for (Course c : sample) {
+                if (courses.size() == size) break;
+                String dept = c.getCourseCode().substring(0, 3);
+                int n = nextNumber.merge(dept, 1, Integer::sum);
+                String code = courses.size() < sample.size() ? c.getCourseCode()
+                        : String.format("%s%03dH%d", dept, n % 1000, n / 1000 + 1);
+                courses.add(new Course(code, c.getCourseName(), c.getDescription(), c.getPrerequisiteCodes(),
+                        0, c.getCourseKeywords(), c.getExplanation()));
+            }
+        }
+        return courses;
+    }
+
+    public static InMemoryCourseCatalog ofSize(int size) {
+        return new InMemoryCourseCatalog(courses(size));
+    }
+}
@@ -0,0 +1,70 @@
+package data_access;
+
+import entity.Course;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Benchmark inputs derived from the recorded {@code gemini_debug.json} response.
+ *
+ * The recorded envelope (including its grounding metadata) is kept as-is and only the model
+ * text is replaced by a course array of the requested size, cycling through the recorded courses
+ * with distinct codes, so larger fixtures look like a real, longer answer.
+ */
+final class GeminiFixtures {
+
+    private GeminiFixtures() {
+    }
+
+    /** The recorded response; override the location with -Dfixture=/path/to/gemini_debug.json. */
+    static String recordedResponse() {
+        String configured = System.getProperty("fixture");
+        Path path = configured != null ? Paths.get(configured)
+                : Files.exists(Paths.get("gemini_debug.json")) ? Paths.get("gemini_debug.json")
+                : Paths.get("..", "gemini_debug.json");
+        try {
+            return Files.readString(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read fixture " + path.toAbsolutePath(), e);
+        }
+    }
+
+    /** A generateContent body whose model text holds {@code courseCount} courses. */
+    static String responseWithCourses(int courseCount) {
+        String recorded = recordedResponse();
+        CourseJsonReader reader = new CourseJsonReader();
+        List<Course> courses = reader.readCourses(reader.readModelText(recorded));
+
+        StringBuilder text = new StringBuilder("```json\n[\n");
+        for (int i = 0; i < courseCount; i++) {
+            Course c = courses.get(i % courses.size());
+            String code = i < courses.size() ? c.getCourseCode()
+                    : c.getCourseCode().substring(0, 3) + (100 + i % 900) + "H" + (i / 900 + 1);
+            if (i > 0) text.append(",\n");
+            text.append("  {\n")
+                    .append("    \"course_code\": ").append(CaptureRecorder.quote(code)).append(",\n")
+                    .append("    \"course_name\": ").append(CaptureRecorder.quote(c.getCourseName())).append(",\n")
+                    .append("    \"course_description\": ").append(CaptureRecorder.quote(c.getDescription())).append(",\n")
+                    .append("    \"prerequisite_codes\": ").append(CaptureRecorder.quote(c.getPrerequisiteCodes())).append(",\n")
+                    .append("    \"course_rank\": ").append(i + 1).append(",\n")
+                    .append("    \"course_keywords\": ").append(CaptureRecorder.quote(c.getCourseKeywords())).append(",\n")
+                    .append("    \"explanation\": ").append(CaptureRecorder.quote(c.getExplanation())).append("\n")
+                    .append("  }");
+        }
+        text.append("\n]\n```");
+
+        // Swap the first "text" string of the envelope for the scaled one
+        int key = recorded.indexOf("\"text\"");
+        int open = recorded.indexOf('"', recorded.indexOf(':', key) + 1);
+        int close = open + 1;
+        while (recorded.charAt(close) != '"') {
+            close += recorded.charAt(close) == '\\' ? 2 : 1;
+        }
+        return recorded.substring(0, open) + CaptureRecorder.quote(text.toString()) + recorded.substring(close + 1);
+    }
+}
@@ -0,0 +1,71 @@
+package data_access;
+
+import entity.Course;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex/split parser that {@link CourseJsonReader} replaced, kept only as a baseline so the
+ * benchmarks report how far the current path is ahead of it.
+ */
+final class LegacyGeminiParser {
+
+    private LegacyGeminiParser() {
+    }
+
+    static List<Course> parse(String responseBody) {
+        return parseJsonToCourseList(extractModelJson(responseBody));
+    }
+
+    static List<Course> parseJsonToCourseList(String jsonString) {
+        List<Course> courses = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+        for (String objStr : jsonString.split("\\}\\s*,\\s*\\{")) {
+            String code = extractValue(objStr, "course_code");
+            if (seenCodes.contains(code) || code.equals("N/A")) continue;
+            seenCodes.add(code);
+            String name = extractValue(objStr, "course_name");
+            String desc = extractValue(objStr, "course_description");
+            String explanation = extractValue(objStr, "explanation");
+            String prereqs = extractValue(objStr, "prerequisite_codes");
+            String keywords = extractValue(objStr, "course_keywords");
+            if (keywords.equals("N/A")) keywords = "General Interest";
+            int rank = 1;
+            try {
+                rank = Integer.parseInt(extractValue(objStr, "course_rank"));
+            } catch (NumberFormatException e) { /* default */ }
+            courses.add(new Course(code, name, desc, prereqs, rank, keywords, explanation));
+        }
+        return courses;
+    }
+
+    static String extractValue(String source, String key) {
+        Matcher matcher = Pattern.compile("\"" + key + "\":\\s*\"(.*?)\"").matcher(source);
+        if (matcher.find()) return matcher.group(1);
+        Matcher numMatcher = Pattern.compile("\"" + key + "\":\\s*(\\d+)").matcher(source);
+        if (numMatcher.find()) return numMatcher.group(1);
+        return "N/A";
+    }
+
+    static String extractModelJson(String responseBody) {
+        String marker = "\"text\":";
+        int markerIndex = responseBody.indexOf(marker);
+        if (markerIndex < 0) return "[]";
+        int startQuote = responseBody.indexOf('"', markerIndex + marker.length());
+        int endQuote = responseBody.lastIndexOf('"');
+        if (endQuote <= startQuote) return "[]";
+        String unescaped = responseBody.substring(startQuote + 1, endQuote).replace("\\\"", "\"").replace("\\n", " ");
+        if (unescaped.contains("```")) {
+            unescaped = unescaped.replaceAll("```json", "").replaceAll("```", "");
+        }
+        int arrayStart = unescaped.indexOf('[');
+        int arrayEnd = unescaped.lastIndexOf(']');
+        if (arrayStart >= 0 && arrayEnd > arrayStart) return unescaped.substring(arrayStart + 1, arrayEnd);
+        return unescaped.trim();
+    }
+}
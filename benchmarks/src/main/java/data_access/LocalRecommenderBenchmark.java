@@ -0,0 +1,37 @@
+package data_access;
+
+import catalog.SyntheticCatalog;
+import entity.Course;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BM25 recommendation latency, including prerequisite flagging, on a full-university sized
+ * catalog (~7,000 courses).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalRecommenderBenchmark {
+
+    @Param({"machine learning", "climate change, energy policy, sustainability, economics"})
+    public String interests;
+
+    private LocalCourseRecommender recommender;
+    private final List<String> completed = List.of("CSC108H1", "CSC148H1", "MAT135H1", "STA130H1");
+
+    @Setup
+    public void setUp() {
+        recommender = new LocalCourseRecommender(SyntheticCatalog.ofSize(7_000));
+    }
+
+    @Benchmark
+    public List<Course> recommend() {
+        return recommender.getRecommendations(interests, completed, null);
+    }
+}
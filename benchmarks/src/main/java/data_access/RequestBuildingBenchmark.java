@@ -0,0 +1,65 @@
+package data_access;
+
+import catalog.CatalogLoader;
+import entity.Course;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a survey into a Gemini request body, for a new student and for one with
+ * a long transcript. Run with {@code -prof gc} to get allocation rates next to throughput.
+ * The hybrid variants include the local candidate search that precedes the shorter prompt.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBuildingBenchmark {
+
+    @Param({"0", "40"})
+    public int completedCourses;
+
+    private final String interests = "machine learning, statistics, \"data\" visualization";
+    private List<String> completed;
+    private String prompt;
+    private LocalCourseRecommender candidateSource;
+
+    @Setup
+    public void setUp() {
+        completed = new ArrayList<>();
+        for (int i = 0; i < completedCourses; i++) {
+            completed.add(String.format("CSC%03dH1", 100 + i * 7));
+        }
+        prompt = GeminiCourseDataAccessObject.buildPrompt(interests, completed);
+        candidateSource = new LocalCourseRecommender(CatalogLoader.loadDefault(), 12);
+        System.out.println("\nGrounded body: " + GeminiCourseDataAccessObject.buildRequestBody(prompt).length()
+                + " chars, hybrid body: " + buildHybridRequestBody().length() + " chars");
+    }
+
+    @Benchmark
+    public String buildPrompt() {
+        return GeminiCourseDataAccessObject.buildPrompt(interests, completed);
+    }
+
+    @Benchmark
+    public String buildRequestBody() {
+        return GeminiCourseDataAccessObject.buildRequestBody(prompt);
+    }
+
+    @Benchmark
+    public String buildPromptAndRequestBody() {
+        return GeminiCourseDataAccessObject.buildRequestBody(GeminiCourseDataAccessObject.buildPrompt(interests, completed));
+    }
+
+    @Benchmark
+    public String buildHybridRequestBody() {
+        List<Course> candidates = candidateSource.getRecommendations(interests, completed, null);
+        return GeminiCourseDataAccessObject.buildRequestBody(
+                GeminiCourseDataAccessObject.buildHybridPrompt(interests, completed, candidates), false);
+    }
+}
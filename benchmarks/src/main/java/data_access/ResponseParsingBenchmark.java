@@ -0,0 +1,82 @@
+package data_access;
+
+import entity.Course;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing cost of a generateContent response as the answer grows from 5 to 500 courses.
+ *
+ * The {@code current*} benchmarks are the path the app runs ({@link CourseJsonReader});
+ * the {@code legacy*} ones are the old extractModelJson / parseJsonToCourseList / extractValue
+ * baseline. Run with {@code -prof gc} to get allocation rates next to throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int courses;
+
+    private String responseBody;
+    private String modelText;
+    private String legacyModelJson;
+    private String legacyObject;
+
+    @Setup
+    public void setUp() {
+        responseBody = GeminiFixtures.responseWithCourses(courses);
+        modelText = new CourseJsonReader().readModelText(responseBody);
+        legacyModelJson = LegacyGeminiParser.extractModelJson(responseBody);
+        legacyObject = legacyModelJson.split("\\}\\s*,\\s*\\{")[0];
+        if (new CourseJsonReader().readCourses(modelText).size() != courses) {
+            throw new IllegalStateException("Fixture does not contain " + courses + " courses");
+        }
+    }
+
+    // ==== Current path ====
+
+    @Benchmark
+    public String currentReadModelText() {
+        return new CourseJsonReader().readModelText(responseBody);
+    }
+
+    @Benchmark
+    public List<Course> currentReadCourses() {
+        return new CourseJsonReader().readCourses(modelText);
+    }
+
+    @Benchmark
+    public List<Course> currentEndToEnd() {
+        CourseJsonReader reader = new CourseJsonReader();
+        return reader.readCourses(reader.readModelText(responseBody));
+    }
+
+    // ==== Legacy baseline ====
+
+    @Benchmark
+    public String legacyExtractModelJson() {
+        return LegacyGeminiParser.extractModelJson(responseBody);
+    }
+
+    @Benchmark
+    public List<Course> legacyParseJsonToCourseList() {
+        return LegacyGeminiParser.parseJsonToCourseList(legacyModelJson);
+    }
+
+    @Benchmark
+    public String legacyExtractValue() {
+        return LegacyGeminiParser.extractValue(legacyObject, "explanation");
+    }
+
+    @Benchmark
+    public List<Course> legacyEndToEnd() {
+        return LegacyGeminiParser.parse(responseBody);
+    }
+}
@@ -0,0 +1,112 @@
+package entity;
+
+import catalog.SyntheticCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory held by cached result sets: many users' results, 5 courses each from a pool of popular
+ * courses, every course arriving as freshly parsed strings with its own explanation.
+ *
+ * The retained heap is measured by {@link #main} (JMH has no retained-size profiler):
+ * <pre>java -cp benchmarks/target/benchmarks.jar entity.CourseFootprintBenchmark [resultSets]</pre>
+ * The JMH methods give the cost of building one result set; run them with {@code -prof gc} to
+ * see allocation per set next to the time spent interning.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CourseFootprintBenchmark {
+
+    private static final int POOL = 200;
+    private static final int PER_SET = 5;
+
+    private List<Course> pool;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        pool = SyntheticCatalog.courses(POOL);
+    }
+
+    @Benchmark
+    public List<LegacyCourse> legacyResultSet() {
+        return legacyResultSet(pool, next++);
+    }
+
+    @Benchmark
+    public List<Course> compactResultSet() {
+        return compactResultSet(pool, next++);
+    }
+
+    static List<LegacyCourse> legacyResultSet(List<Course> pool, int query) {
+        List<LegacyCourse> set = new ArrayList<>(PER_SET);
+        for (int i = 0; i < PER_SET; i++) {
+            Course c = pool.get((query * 7 + i * 31) % pool.size());
+            set.add(new LegacyCourse(fresh(c.getCourseCode()), fresh(c.getCourseName()), fresh(c.getDescription()),
+                    fresh(c.getPrerequisiteCodes()), i + 1, fresh(c.getCourseKeywords()), explanation(c, query)));
+        }
+        return set;
+    }
+
+    static List<Course> compactResultSet(List<Course> pool, int query) {
+        List<Course> set = new ArrayList<>(PER_SET);
+        for (int i = 0; i < PER_SET; i++) {
+            Course c = pool.get((query * 7 + i * 31) % pool.size());
+            set.add(new Course(fresh(c.getCourseCode()), fresh(c.getCourseName()), fresh(c.getDescription()),
+                    fresh(c.getPrerequisiteCodes()), i + 1, fresh(c.getCourseKeywords()), explanation(c, query)));
+        }
+        return set;
+    }
+
+    /** A copy, as a parser would produce for each response. */
+    private static String fresh(String s) {
+        return new String(s.toCharArray());
+    }
+
+    private static String explanation(Course c, int query) {
+        return "Query " + query + ": " + c.getCourseName() + " covers " + c.getCourseKeywords()
+                + ", which matches the interests you listed.";
+    }
+
+    public static void main(String[] args) {
+        int resultSets = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        List<Course> pool = SyntheticCatalog.courses(POOL);
+
+        long base = usedHeap();
+        List<Object> legacy = new ArrayList<>(resultSets);
+        for (int q = 0; q < resultSets; q++) legacy.add(legacyResultSet(pool, q));
+        long legacyBytes = usedHeap() - base;
+        legacy = null;
+
+        base = usedHeap();
+        List<Object> compact = new ArrayList<>(resultSets);
+        for (int q = 0; q < resultSets; q++) compact.add(compactResultSet(pool, q));
+        long compactBytes = usedHeap() - base;
+
+        System.out.printf("%,d result sets of %d courses%n", resultSets, PER_SET);
+        System.out.printf("legacy : %,12d bytes retained (%,d per set)%n", legacyBytes, legacyBytes / resultSets);
+        System.out.printf("compact: %,12d bytes retained (%,d per set)%n", compactBytes, compactBytes / resultSets);
+        System.out.printf("ratio  : %.2fx%n", (double) legacyBytes / compactBytes);
+        if (compact.size() != resultSets || legacy != null) throw new AssertionError();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
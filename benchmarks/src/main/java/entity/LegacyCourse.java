@@ -0,0 +1,26 @@
+package entity;
+
+/**
+ * The previous {@link Course} layout, kept as a baseline: seven fields, every string owned by
+ * the instance and keywords as one comma-joined string.
+ */
+final class LegacyCourse {
+    final String courseCode;
+    final String courseName;
+    final String description;
+    final String prerequisiteCodes;
+    final int courseRank;
+    final String courseKeywords;
+    final String courseDescription;
+
+    LegacyCourse(String courseCode, String courseName, String description, String prerequisiteCodes,
+                 int courseRank, String courseKeywords, String courseDescription) {
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.description = description;
+        this.prerequisiteCodes = prerequisiteCodes;
+        this.courseRank = courseRank;
+        this.courseKeywords = courseKeywords;
+        this.courseDescription = courseDescription;
+    }
+}
@@ -1,5 +1,6 @@
 package app;
 
+import interface_adapter.history.SearchHistoryController;
 import interface_adapter.profile.ProfileController;
 import interface_adapter.recommend_courses.RecommendCoursesController;
 import interface_adapter.recommend_courses.RecommendCoursesPresenter;
@@ -9,13 +10,31 @@ import interface_adapter.why_courses.WhyCoursesPresenter;
 import interface_adapter.why_courses.WhyCoursesViewModel;
 import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
 import use_case.recommend_courses.RecommendCoursesInteractor;
-import use_case.why_courses.WhyCoursesDataAccessInterface;
 import use_case.why_courses.WhyCoursesInteractor;
 import ui.CourseExplorerPanel;
+import catalog.CatalogLoader;
+import catalog.CourseCatalog;
+import data_access.CachingRecommendationDataAccessObject;
+import data_access.CaptureRecorder;
+import data_access.CoalescingRecommendationDataAccessObject;
+import data_access.FallbackRecommendationDataAccessObject;
+import data_access.FanOutRecommendationDataAccessObject;
 import data_access.GeminiCourseDataAccessObject;
+import data_access.GeminiRequestMode;
+import data_access.HedgingPolicy;
+import data_access.HistoryRecordingDataAccessObject;
+import data_access.LocalCourseRecommender;
+import data_access.ModelRouter;
+import data_access.QueryScopedRationaleStore;
+import data_access.QuotaGovernor;
+import data_access.ValidatingRecommendationDataAccessObject;
 import storage.AppStateStore;
+import storage.RecommendationCacheStore;
+import storage.SearchHistoryLog;
 
 import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Main {
 
@@ -23,6 +42,8 @@ public class Main {
         SwingUtilities.invokeLater(() -> {
 
             AppStateStore store = new AppStateStore();
+            // Saves are written behind; make sure the last one reaches the disk on exit
+            Runtime.getRuntime().addShutdownHook(new Thread(store::close, "app-state-flush"));
 
             // 1. View Models
             RecommendCoursesViewModel recommendViewModel = new RecommendCoursesViewModel();
@@ -33,19 +54,33 @@ public class Main {
             RecommendCoursesPresenter recommendPresenter = new RecommendCoursesPresenter(recommendViewModel);
             WhyCoursesPresenter whyPresenter = new WhyCoursesPresenter(whyViewModel);
 
-            // 3. Create Data Access (Shared instance for both interfaces)
-            GeminiCourseDataAccessObject geminiDAO = new GeminiCourseDataAccessObject();
+            // 3. Create Data Access
+            RecommendCoursesDataAccessInterface recommendDAO = createRecommendationEngine();
+
+            // RECOMMEND_FANOUT=n searches up to n groups of unrelated interests in parallel and merges them
+            int topics = fanOutTopics();
+            if (topics > 1) {
+                recommendDAO = new FanOutRecommendationDataAccessObject(recommendDAO, topics);
+            }
+
+            // Searches that found courses are logged, as typed and merged, so their results can be
+            // reopened offline; answers served entirely from the cache are not logged again
+            SearchHistoryLog history = new SearchHistoryLog();
+            recommendDAO = new HistoryRecordingDataAccessObject(recommendDAO, history);
+
+            // Outermost layer records each query's rationales (shared instance for both interfaces)
+            QueryScopedRationaleStore rationaleStore = new QueryScopedRationaleStore(recommendDAO);
 
             // 4. Create Interactors
             // Recommend Courses Use Case
             RecommendCoursesInteractor recommendInteractor = new RecommendCoursesInteractor(
-                    (RecommendCoursesDataAccessInterface) geminiDAO,
+                    rationaleStore,
                     recommendPresenter
             );
 
             // Why Courses Use Case
             WhyCoursesInteractor whyInteractor = new WhyCoursesInteractor(
-                    (WhyCoursesDataAccessInterface) geminiDAO,
+                    rationaleStore,
                     whyPresenter
             );
 
@@ -60,7 +95,9 @@ public class Main {
             // Injecting controllers.
             // Note: CourseExplorerPanel might need updating to accept whyController if you want to trigger
             // the new use case from the UI (e.g. clicking a button to get specific details).
-            CourseExplorerPanel mainPanel = new CourseExplorerPanel(recommendController, profileController, recommendViewModel);
+            SearchHistoryController historyController = new SearchHistoryController(history, recommendViewModel);
+            CourseExplorerPanel mainPanel = new CourseExplorerPanel(recommendController, profileController,
+                    historyController, recommendViewModel);
             frame.add(mainPanel);
 
             frame.pack();
@@ -69,4 +106,118 @@ public class Main {
             frame.setVisible(true);
         });
     }
+
+    /**
+     * Picks the recommendation engine from the course.engine system property (or COURSE_ENGINE):
+     * "gemini" (Gemini only), "local" (offline catalog only) or "fallback" (default: Gemini,
+     * falling back to the offline catalog when Gemini fails or finds nothing).
+     */
+    private static RecommendCoursesDataAccessInterface createRecommendationEngine() {
+        String engine = System.getProperty("course.engine", System.getenv("COURSE_ENGINE"));
+        engine = engine == null ? "fallback" : engine.trim().toLowerCase();
+
+        CourseCatalog catalog = CatalogLoader.loadInstalled();
+        if (engine.equals("local")) {
+            return new LocalCourseRecommender(catalog);
+        }
+
+        // GEMINI_REQUEST_MODE=hybrid lets the local catalog shortlist candidates for Gemini to rank,
+        // =ungrounded / =structured skip web search and rely on the local code check below
+        GeminiRequestMode mode = GeminiRequestMode.fromEnvironment();
+        RecommendCoursesDataAccessInterface geminiDao = createGeminiDao(mode, catalog);
+        String year = setting("COURSE_CATALOG_YEAR", CatalogLoader.CATALOG_YEAR);
+        ValidatingRecommendationDataAccessObject.UnknownCodePolicy codeCheck =
+                codeCheckPolicy(mode, CatalogLoader.hasFullCodeList(year, catalog));
+        if (codeCheck != null) {
+            geminiDao = new ValidatingRecommendationDataAccessObject(geminiDao,
+                    CatalogLoader.loadCodeSet(year, catalog), codeCheck);
+        }
+        // Repeat queries are answered from ~/.course_explorer/recommendations.cache,
+        // and identical queries already in flight share a single Gemini call
+        RecommendationCacheStore cacheStore = new RecommendationCacheStore();
+        Runtime.getRuntime().addShutdownHook(new Thread(cacheStore::close, "recommendation-cache-flush"));
+        RecommendCoursesDataAccessInterface gemini = new CachingRecommendationDataAccessObject(
+                new CoalescingRecommendationDataAccessObject(geminiDao), cacheStore);
+        if (engine.equals("gemini")) {
+            return gemini;
+        }
+        if (!engine.equals("fallback")) {
+            System.err.println("Unknown course.engine '" + engine + "', using fallback");
+        }
+        // Local results stay outside the cache so Gemini is asked again next time
+        return new FallbackRecommendationDataAccessObject(gemini, new LocalCourseRecommender(catalog));
+    }
+
+    /**
+     * One Gemini model (GEMINI_MODEL), or with GEMINI_MODELS="fast,...,strong" a router that sends
+     * each query to the fastest healthy model and moves up the list when an answer is empty.
+     * The models share one quota budget.
+     */
+    private static RecommendCoursesDataAccessInterface createGeminiDao(GeminiRequestMode mode, CourseCatalog catalog) {
+        QuotaGovernor quota = new QuotaGovernor();
+        CaptureRecorder capture = CaptureRecorder.fromEnvironment();
+        List<String> models = new ArrayList<>();
+        for (String model : setting("GEMINI_MODELS", "").split(",")) {
+            if (!model.isBlank()) models.add(model.trim());
+        }
+        if (models.size() < 2) {
+            String url = models.isEmpty() ? GeminiCourseDataAccessObject.configuredModelUrl()
+                    : GeminiCourseDataAccessObject.modelUrl(models.get(0));
+            return new GeminiCourseDataAccessObject(url, quota, capture, mode, catalog, HedgingPolicy.fromEnvironment());
+        }
+        List<ModelRouter.Tier> tiers = new ArrayList<>();
+        for (String model : models) {
+            tiers.add(new ModelRouter.Tier(model, new GeminiCourseDataAccessObject(
+                    GeminiCourseDataAccessObject.modelUrl(model), quota, capture, mode, catalog,
+                    HedgingPolicy.fromEnvironment())));
+        }
+        return new ModelRouter(tiers);
+    }
+
+    /**
+     * GEMINI_CODE_CHECK: "drop" or "flag" unknown course codes, or "off". When unset, see
+     * {@link ValidatingRecommendationDataAccessObject#defaultPolicy}.
+     */
+    private static ValidatingRecommendationDataAccessObject.UnknownCodePolicy codeCheckPolicy(GeminiRequestMode mode,
+                                                                                              boolean fullCodeList) {
+        String configured = setting("GEMINI_CODE_CHECK", "");
+        if (configured.isBlank()) {
+            ValidatingRecommendationDataAccessObject.UnknownCodePolicy policy =
+                    ValidatingRecommendationDataAccessObject.defaultPolicy(mode, fullCodeList);
+            if (policy == ValidatingRecommendationDataAccessObject.UnknownCodePolicy.FLAG) {
+                System.err.println("No full course code list installed; unknown codes are flagged, not dropped");
+            }
+            return policy;
+        }
+        String value = configured.trim().toLowerCase();
+        if (value.equals("drop") && !fullCodeList) {
+            System.err.println("GEMINI_CODE_CHECK=drop with only the bundled sample catalog will drop most real courses");
+        }
+        switch (value) {
+            case "drop":
+                return ValidatingRecommendationDataAccessObject.UnknownCodePolicy.DROP;
+            case "flag":
+                return ValidatingRecommendationDataAccessObject.UnknownCodePolicy.FLAG;
+            case "off":
+                return null;
+            default:
+                System.err.println("Unknown GEMINI_CODE_CHECK '" + value + "', not checking codes");
+                return null;
+        }
+    }
+
+    private static int fanOutTopics() {
+        String value = setting("RECOMMEND_FANOUT", "1");
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring RECOMMEND_FANOUT '" + value + "', not fanning out");
+            return 1;
+        }
+    }
+
+    private static String setting(String name, String fallback) {
+        String value = System.getProperty(name, System.getenv(name));
+        return value == null || value.isBlank() ? fallback : value;
+    }
 }
\ No newline at end of file
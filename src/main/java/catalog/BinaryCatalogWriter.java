@@ -0,0 +1,185 @@
+package catalog;
+
+import entity.Course;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Converts a catalog into the binary format read by {@link MappedCourseCatalog}.
+ *
+ * <pre>
+ * header     magic "CECB", version, courseCount, codeCount, termCount, keyCount, stringCount,
+ *            averageDocLength (double), the absolute offset of each section below, file length,
+ *            then flags ({@link #FLAG_FULL_CALENDAR})
+ * strings    stringCount offsets, then per string: byte length + UTF-8 bytes (deduplicated)
+ * courses    per course: code, name, description, prerequisites, keywords (string IDs),
+ *            docLength, prerequisite program offset and length
+ * keys       (code key string ID, course) sorted by key, then course (see CourseCodeKeys)
+ * codes      string ID of every interned code, by code ID (prerequisite programs refer to these)
+ * terms      (term string ID, postings offset, document frequency) sorted by term
+ * postings   per term: document IDs, then frequencies
+ * programs   prerequisite bytecode (see PrerequisiteBytecode)
+ * </pre>
+ * All integers are big-endian. The file is written to a temp file and moved into place.
+ */
+public class BinaryCatalogWriter {
+
+    static final int MAGIC = 0x43454342; // "CECB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 72;
+    static final int COURSE_RECORD_INTS = 8;
+    static final int FLAGS_OFFSET = 68;
+    /** Set when the source lists the whole calendar, so its codes can be trusted to reject unknown ones. */
+    static final int FLAG_FULL_CALENDAR = 1;
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+
+    private int stringId(String value) {
+        return stringIds.computeIfAbsent(value, v -> {
+            strings.add(v);
+            return strings.size() - 1;
+        });
+    }
+
+    public void write(InMemoryCourseCatalog catalog, Path target) throws IOException {
+        write(catalog, target, false);
+    }
+
+    /** @param fullCalendar the catalog lists every course of its calendar year, not a sample */
+    public void write(InMemoryCourseCatalog catalog, Path target, boolean fullCalendar) throws IOException {
+        byte[] bytes = encode(catalog);
+        if (fullCalendar) ByteBuffer.wrap(bytes).putInt(FLAGS_OFFSET, FLAG_FULL_CALENDAR);
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, bytes);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    byte[] encode(InMemoryCourseCatalog catalog) throws IOException {
+        strings.clear();
+        stringIds.clear();
+        int courseCount = catalog.size();
+        InvertedIndex index = catalog.invertedIndex();
+
+        // 1. Compile prerequisites; catalog codes are interned first so code ID == course ID
+        CourseCodeTable codes = new CourseCodeTable();
+        for (Course course : catalog.courses()) codes.intern(course.getCourseCode());
+        PrerequisiteParser parser = new PrerequisiteParser(codes);
+        ByteArrayOutputStream programs = new ByteArrayOutputStream();
+        int[] programOffsets = new int[courseCount];
+        int[] programLengths = new int[courseCount];
+        for (int doc = 0; doc < courseCount; doc++) {
+            byte[] program = PrerequisiteBytecode.compile(parser.parse(catalog.course(doc).getPrerequisiteCodes()));
+            programOffsets[doc] = programs.size();
+            programLengths[doc] = program.length;
+            programs.write(program);
+        }
+
+        // 2. Intern every string the reader needs
+        int[][] courseStrings = new int[courseCount][];
+        for (int doc = 0; doc < courseCount; doc++) {
+            Course c = catalog.course(doc);
+            courseStrings[doc] = new int[]{stringId(c.getCourseCode()), stringId(c.getCourseName()),
+                    stringId(c.getDescription()), stringId(c.getPrerequisiteCodes()), stringId(c.getCourseKeywords())};
+        }
+        // One (key, doc) entry per document under each key, sorted so a key's documents are adjacent
+        List<Map.Entry<String, Integer>> keys = new ArrayList<>();
+        for (Map.Entry<String, int[]> key : catalog.codeKeys().entrySet()) {
+            for (int doc : key.getValue()) keys.add(Map.entry(key.getKey(), doc));
+        }
+        keys.sort(Map.Entry.<String, Integer>comparingByKey().thenComparing(Map.Entry.comparingByValue()));
+        int[] keyStrings = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) keyStrings[i] = stringId(keys.get(i).getKey());
+        int[] codeStrings = new int[codes.size()];
+        for (int id = 0; id < codes.size(); id++) codeStrings[id] = stringId(codes.code(id));
+        List<String> terms = new ArrayList<>(index.terms().keySet());
+        Collections.sort(terms);
+        int[] termStrings = new int[terms.size()];
+        for (int i = 0; i < terms.size(); i++) termStrings[i] = stringId(terms.get(i));
+
+        // 3. Lay out the sections
+        byte[][] encodedStrings = new byte[strings.size()][];
+        int stringBytes = 0;
+        for (int i = 0; i < strings.size(); i++) {
+            encodedStrings[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            stringBytes += 4 + encodedStrings[i].length;
+        }
+        int postingInts = 0;
+        for (String term : terms) postingInts += 2 * index.postings(term).size();
+
+        int stringsOffset = HEADER_BYTES;
+        int coursesOffset = stringsOffset + 4 * strings.size() + stringBytes;
+        int keysOffset = coursesOffset + 4 * COURSE_RECORD_INTS * courseCount;
+        int codesOffset = keysOffset + 8 * keys.size();
+        int termsOffset = codesOffset + 4 * codes.size();
+        int postingsOffset = termsOffset + 12 * terms.size();
+        int programsOffset = postingsOffset + 4 * postingInts;
+        int fileLength = programsOffset + programs.size();
+
+        ByteBuffer out = ByteBuffer.allocate(fileLength);
+        out.putInt(MAGIC).putInt(VERSION)
+                .putInt(courseCount).putInt(codes.size()).putInt(terms.size()).putInt(keys.size()).putInt(strings.size())
+                .putDouble(index.averageDocLength())
+                .putInt(stringsOffset).putInt(coursesOffset).putInt(keysOffset).putInt(codesOffset)
+                .putInt(termsOffset).putInt(postingsOffset).putInt(programsOffset).putInt(fileLength);
+
+        out.position(stringsOffset);
+        int next = stringsOffset + 4 * strings.size();
+        for (byte[] s : encodedStrings) {
+            out.putInt(next);
+            next += 4 + s.length;
+        }
+        for (byte[] s : encodedStrings) out.putInt(s.length).put(s);
+
+        for (int doc = 0; doc < courseCount; doc++) {
+            for (int id : courseStrings[doc]) out.putInt(id);
+            out.putInt(index.docLength(doc)).putInt(programsOffset + programOffsets[doc]).putInt(programLengths[doc]);
+        }
+        for (int i = 0; i < keys.size(); i++) out.putInt(keyStrings[i]).putInt(keys.get(i).getValue());
+        for (int id : codeStrings) out.putInt(id);
+
+        int postingsAt = postingsOffset;
+        for (int i = 0; i < terms.size(); i++) {
+            int df = index.postings(terms.get(i)).size();
+            out.putInt(termStrings[i]).putInt(postingsAt).putInt(df);
+            postingsAt += 8 * df;
+        }
+        for (String term : terms) {
+            Postings postings = index.postings(term);
+            for (int doc : postings.docs) out.putInt(doc);
+            for (int freq : postings.freqs) out.putInt(freq);
+        }
+        out.put(programs.toByteArray());
+        return out.array();
+    }
+
+    /**
+     * Usage: {@code BinaryCatalogWriter [--full] [catalog.tsv] [catalog.bin]}. Defaults to the
+     * bundled catalog and ~/.course_explorer/catalog.bin, the file the app maps at startup.
+     * {@code --full} marks a TSV of the whole calendar; the bundled sample is never marked.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean full = args.length > 0 && args[0].equals("--full");
+        if (full) args = Arrays.copyOfRange(args, 1, args.length);
+        if (full && args.length == 0) {
+            throw new IllegalArgumentException("--full needs the catalog TSV of the whole calendar");
+        }
+        InMemoryCourseCatalog catalog = args.length > 0 ? CatalogLoader.load(Paths.get(args[0])) : CatalogLoader.loadDefault();
+        Path target = args.length > 1 ? Paths.get(args[1]) : CatalogLoader.INSTALLED_CATALOG;
+
+        long start = System.nanoTime();
+        new BinaryCatalogWriter().write(catalog, target, full);
+        System.out.printf("Wrote %d courses to %s (%,d bytes) in %d ms%n", catalog.size(), target,
+                Files.size(target), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,116 @@
+package catalog;
+
+import entity.Course;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the tab-separated catalog format: one course per line with the columns
+ * code, name, description, prerequisites and comma-separated keywords. Blank lines and lines
+ * starting with '#' are ignored; missing trailing columns default like Gemini's missing fields.
+ */
+public final class CatalogLoader {
+
+    /** Sample of the 2024-2025 UofT calendar shipped with the app. */
+    public static final String DEFAULT_RESOURCE = "/catalog/uoft_courses.tsv";
+
+    /** Binary catalog written by {@link BinaryCatalogWriter}; preferred over the bundled sample when present. */
+    public static final Path INSTALLED_CATALOG =
+            Paths.get(System.getProperty("user.home"), ".course_explorer", "catalog.bin");
+
+    /** Calendar year of the bundled sample and the default for code validation. */
+    public static final String CATALOG_YEAR = "2024-2025";
+
+    private CatalogLoader() {
+    }
+
+    /**
+     * Maps {@link #INSTALLED_CATALOG} if it exists, so startup does not depend on catalog size;
+     * otherwise (or if the file is unreadable) loads the bundled sample.
+     */
+    public static CourseCatalog loadInstalled() {
+        if (Files.exists(INSTALLED_CATALOG)) {
+            try {
+                return MappedCourseCatalog.open(INSTALLED_CATALOG);
+            } catch (IOException e) {
+                System.err.println("Ignoring unreadable course catalog " + INSTALLED_CATALOG + ": " + e.getMessage());
+            }
+        }
+        return loadDefault();
+    }
+
+    /**
+     * Valid codes for a calendar year: {@code ~/.course_explorer/codes-<year>.txt} (one code per line,
+     * or a catalog TSV) if present, otherwise the codes of {@code catalog}.
+     */
+    public static CourseCodeSet loadCodeSet(String year, CourseCatalog catalog) {
+        Path codes = INSTALLED_CATALOG.resolveSibling("codes-" + year + ".txt");
+        if (Files.exists(codes)) {
+            try {
+                return CourseCodeSet.load(year, codes);
+            } catch (IOException e) {
+                System.err.println("Ignoring unreadable code list " + codes + ": " + e.getMessage());
+            }
+        }
+        return CourseCodeSet.fromCatalog(year, catalog);
+    }
+
+    /**
+     * True when {@link #loadCodeSet} will use a full code list: a {@code codes-<year>.txt} file or
+     * an installed catalog written with {@code BinaryCatalogWriter --full}. The bundled sample only
+     * knows about a hundred courses, so checking Gemini's answers against it rejects nearly every
+     * real code, whether it is read from the jar or converted to catalog.bin.
+     */
+    public static boolean hasFullCodeList(String year, CourseCatalog catalog) {
+        return Files.exists(INSTALLED_CATALOG.resolveSibling("codes-" + year + ".txt"))
+                || (catalog instanceof MappedCourseCatalog && ((MappedCourseCatalog) catalog).isFullCalendar());
+    }
+
+    public static InMemoryCourseCatalog loadDefault() {
+        InputStream in = CatalogLoader.class.getResourceAsStream(DEFAULT_RESOURCE);
+        if (in == null) throw new IllegalStateException("Missing catalog resource " + DEFAULT_RESOURCE);
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return new InMemoryCourseCatalog(readCourses(reader));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read catalog " + DEFAULT_RESOURCE, e);
+        }
+    }
+
+    public static InMemoryCourseCatalog load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return new InMemoryCourseCatalog(readCourses(reader));
+        }
+    }
+
+    public static List<Course> readCourses(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        List<Course> courses = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) continue;
+
+            String[] cols = line.split("\t", -1);
+            String code = cols[0].trim();
+            if (code.isEmpty()) {
+                System.err.println("Skipping catalog line " + lineNumber + ": no course code");
+                continue;
+            }
+            courses.add(new Course(code, column(cols, 1, "N/A"), column(cols, 2, "N/A"), column(cols, 3, "N/A"),
+                    0, column(cols, 4, "General Interest"), "N/A"));
+        }
+        return courses;
+    }
+
+    private static String column(String[] cols, int index, String fallback) {
+        if (index >= cols.length || cols[index].isBlank()) return fallback;
+        return cols[index].trim();
+    }
+}
@@ -0,0 +1,57 @@
+package catalog;
+
+import entity.Course;
+
+import java.util.List;
+
+/**
+ * Read-only view of the university course catalog, available without a network round trip.
+ */
+public interface CourseCatalog {
+
+    /** Number of courses in the catalog. */
+    int size();
+
+    /** All courses, in catalog order. */
+    List<Course> courses();
+
+    /** The catalog entry for a course code (case and whitespace are ignored), or null. */
+    default Course get(String courseCode) {
+        int doc = docId(courseCode);
+        return doc < 0 ? null : course(doc);
+    }
+
+    /**
+     * Document ID of a course code, or -1. Spellings are compared as in
+     * {@link entity.CourseCodeCanonicalizer}: "CSC207H1F" is CSC207H1, and a bare "CSC207" resolves
+     * to the first of its campus variants.
+     */
+    default int docId(String courseCode) {
+        int[] docs = docIds(courseCode);
+        return docs.length == 0 ? -1 : docs[0];
+    }
+
+    /** Every document a course code names, in catalog order: a bare code names all its campus variants. */
+    int[] docIds(String courseCode);
+
+    /** The course with a given document ID, as used in {@link #index()} postings. */
+    Course course(int doc);
+
+    /** Term statistics over the catalog, with document IDs matching {@link #course(int)}. */
+    TermIndex index();
+
+    default boolean contains(String courseCode) {
+        return get(courseCode) != null;
+    }
+
+    /** Prerequisite checker for this catalog's courses. */
+    default EligibilityEngine eligibilityEngine() {
+        return new EligibilityEngine(this);
+    }
+
+    /**
+     * Courses whose name, keywords or description contain every term of the query,
+     * best matches first.
+     */
+    List<Course> search(String query, int limit);
+}
@@ -0,0 +1,57 @@
+package catalog;
+
+import entity.CourseCodeCanonicalizer;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * How a catalog's code lookup table is keyed and read, shared so that the in-memory and mapped
+ * catalogs resolve every spelling the same way as {@link CourseCodeCanonicalizer}.
+ *
+ * Each course is keyed under its canonical code and, when that has a campus suffix, also under
+ * its bare code, so "CSC207" finds CSC207H1 and CSC207H5 while "CSC207H1F" finds only CSC207H1.
+ */
+final class CourseCodeKeys {
+
+    static final int[] NONE = new int[0];
+
+    private CourseCodeKeys() {
+    }
+
+    /** The keys a catalog course is listed under. */
+    static String[] keysFor(String courseCode) {
+        String code = CourseCodeCanonicalizer.canonical(courseCode);
+        String base = CourseCodeCanonicalizer.base(code);
+        return base.equals(code) ? new String[]{code} : new String[]{code, base};
+    }
+
+    /**
+     * Document IDs named by {@code courseCode}, in catalog order: a bare code resolves to every
+     * variant, and a suffixed code to itself plus a course listed under the bare code.
+     *
+     * @param docsForKey documents stored under one key, in catalog order (empty if none)
+     * @param codeOf     the catalog code of a document
+     */
+    static int[] resolve(String courseCode, Function<String, int[]> docsForKey, IntFunction<String> codeOf) {
+        if (courseCode == null) return NONE;
+        String code = CourseCodeCanonicalizer.canonical(courseCode);
+        if (code.isEmpty()) return NONE;
+        int[] docs = docsForKey.apply(code);
+        String base = CourseCodeCanonicalizer.base(code);
+        if (base.equals(code)) return docs;
+
+        // The bare key also lists other campuses; keep only courses whose own code is bare
+        int[] underBase = docsForKey.apply(base);
+        int[] merged = Arrays.copyOf(docs, docs.length + underBase.length);
+        int n = docs.length;
+        for (int doc : underBase) {
+            if (CourseCodeCanonicalizer.canonical(codeOf.apply(doc)).equals(base)) merged[n++] = doc;
+        }
+        if (n == docs.length) return docs;
+        merged = Arrays.copyOf(merged, n);
+        Arrays.sort(merged);
+        return merged;
+    }
+}
@@ -0,0 +1,125 @@
+package catalog;
+
+import entity.CourseCodeCanonicalizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The valid course codes of one calendar year, for checking codes that did not come from the
+ * catalog (e.g. Gemini's answers). Codes are normalized like {@link CourseCodeTable} and packed
+ * eight ASCII characters to a {@code long}, then kept sorted: a full UofT calendar (about 7,000
+ * codes) takes under 60 KB and a lookup is a binary search with no false positives. The rare
+ * code that does not pack goes to a small overflow set.
+ *
+ * A bare code such as "CSC207" is valid if any suffix of it is ("CSC207H1", "CSC207H5", ...).
+ * Immutable and safe to share between threads.
+ */
+public final class CourseCodeSet {
+
+    private final String year;
+    private final long[] codes;
+    private final long[] bases;
+    private final Set<String> overflow;
+
+    private CourseCodeSet(String year, long[] codes, long[] bases, Set<String> overflow) {
+        this.year = year;
+        this.codes = codes;
+        this.bases = bases;
+        this.overflow = overflow;
+    }
+
+    public static CourseCodeSet of(String year, Collection<String> codes) {
+        long[] packed = new long[codes.size()];
+        long[] packedBases = new long[codes.size()];
+        int n = 0;
+        int b = 0;
+        Set<String> overflow = new HashSet<>();
+        for (String code : codes) {
+            String normalized = CourseCodeTable.normalize(code);
+            long key = pack(normalized);
+            if (key == -1) {
+                overflow.add(normalized);
+            } else {
+                packed[n++] = key;
+            }
+            String base = CourseCodeCanonicalizer.base(normalized);
+            if (!base.equals(normalized)) {
+                long packedBase = pack(base);
+                if (packedBase != -1) packedBases[b++] = packedBase;
+            }
+        }
+        return new CourseCodeSet(year, sortedDistinct(packed, n), sortedDistinct(packedBases, b), overflow);
+    }
+
+    /** Every course code in {@code catalog}. */
+    public static CourseCodeSet fromCatalog(String year, CourseCatalog catalog) {
+        List<String> codes = new ArrayList<>(catalog.size());
+        for (int doc = 0; doc < catalog.size(); doc++) {
+            codes.add(catalog.course(doc).getCourseCode());
+        }
+        return of(year, codes);
+    }
+
+    /**
+     * Reads a code list: the first tab-separated column of each line, so both a plain list of
+     * codes and a catalog TSV work. Blank lines and lines starting with '#' are ignored.
+     */
+    public static CourseCodeSet load(String year, Path file) throws IOException {
+        List<String> codes = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                int tab = line.indexOf('\t');
+                String code = (tab < 0 ? line : line.substring(0, tab)).trim();
+                if (!code.isEmpty()) codes.add(code);
+            }
+        }
+        return of(year, codes);
+    }
+
+    public boolean contains(String code) {
+        if (code == null) return false;
+        String normalized = CourseCodeTable.normalize(code);
+        long key = pack(normalized);
+        if (key == -1) return overflow.contains(normalized);
+        return Arrays.binarySearch(codes, key) >= 0
+                || (normalized.equals(CourseCodeCanonicalizer.base(normalized)) && Arrays.binarySearch(bases, key) >= 0);
+    }
+
+    /** The calendar year these codes belong to, e.g. "2024-2025". */
+    public String year() {
+        return year;
+    }
+
+    public int size() {
+        return codes.length + overflow.size();
+    }
+
+    /** Up to eight ASCII characters, first character in the high byte; -1 if it does not fit. */
+    private static long pack(String code) {
+        if (code.isEmpty() || code.length() > 8) return -1;
+        long key = 0;
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == 0 || c > 0x7F) return -1;
+            key = (key << 8) | c;
+        }
+        return key << (8 * (8 - code.length())); // left-align so shorter codes sort before their extensions
+    }
+
+    private static long[] sortedDistinct(long[] values, int length) {
+        long[] sorted = Arrays.copyOf(values, length);
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[n++] = sorted[i];
+        }
+        return Arrays.copyOf(sorted, n);
+    }
+}
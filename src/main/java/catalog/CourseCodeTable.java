@@ -0,0 +1,88 @@
+package catalog;
+
+import entity.CourseCodeCanonicalizer;
+
+import java.util.*;
+
+/**
+ * Interns course codes as dense integer IDs (0, 1, 2, ...), so sets of courses can be
+ * {@link BitSet}s and comparisons are integer compares. Codes are keyed by
+ * {@link CourseCodeCanonicalizer#canonical}, so "csc207h1f" is CSC207H1 while CSC207H5 gets its own
+ * ID; a bare code such as "CSC207" resolves to its interned variants.
+ *
+ * The table belongs to the catalog it was built from and grows only with it. Interning is not
+ * thread-safe; build the table up front and share it read-only.
+ */
+public class CourseCodeTable {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Map<String, List<Integer>> idsByBase = new HashMap<>();
+    private final List<String> codes = new ArrayList<>();
+
+    /** Returns the code's ID, assigning the next free one if it is new. */
+    public int intern(String code) {
+        String normalized = normalize(code);
+        Integer id = ids.get(normalized);
+        if (id != null) return id;
+
+        id = codes.size();
+        codes.add(normalized);
+        ids.put(normalized, id);
+        String base = CourseCodeCanonicalizer.base(normalized);
+        if (!base.equals(normalized)) {
+            idsByBase.computeIfAbsent(base, k -> new ArrayList<>(1)).add(id);
+        }
+        return id;
+    }
+
+    /** ID of an interned code (exact, or the first one sharing a bare code's base), or -1. */
+    public int id(String code) {
+        String normalized = normalize(code);
+        Integer id = ids.get(normalized);
+        if (id != null) return id;
+        List<Integer> variants = idsByBase.get(normalized);
+        return variants == null ? -1 : variants.get(0);
+    }
+
+    /**
+     * Marks every interned variant of {@code code} in {@code set}: "CSC207" marks CSC207H1 and
+     * any other interned CSC207 suffix, and "CSC207H1" also marks a bare interned "CSC207".
+     * Returns false if nothing matched.
+     */
+    public boolean mark(String code, BitSet set) {
+        String normalized = normalize(code);
+        boolean matched = false;
+        Integer id = ids.get(normalized);
+        if (id != null) {
+            set.set(id);
+            matched = true;
+        }
+        String base = CourseCodeCanonicalizer.base(normalized);
+        if (base.equals(normalized)) {
+            List<Integer> variants = idsByBase.get(normalized);
+            if (variants != null) {
+                for (int variant : variants) set.set(variant);
+                matched = true;
+            }
+        } else {
+            Integer bare = ids.get(base);
+            if (bare != null) { // prerequisites written as a bare "CSC207"
+                set.set(bare);
+                matched = true;
+            }
+        }
+        return matched;
+    }
+
+    public String code(int id) {
+        return codes.get(id);
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    static String normalize(String code) {
+        return CourseCodeCanonicalizer.canonical(code);
+    }
+}
@@ -0,0 +1,87 @@
+package catalog;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Checks catalog courses' prerequisites against a student's completed courses.
+ *
+ * Every course's prerequisite text is compiled once into a {@link PrerequisiteExpression} over
+ * {@link CourseCodeTable} IDs; completed courses become a {@link BitSet}, so a check is a few
+ * bit tests and the whole catalog can be screened in microseconds. Immutable after construction.
+ */
+public class EligibilityEngine {
+
+    /** Evaluates one course's compiled prerequisites. */
+    interface Requirements {
+        boolean isSatisfied(int doc, BitSet completed);
+    }
+
+    private final CourseCatalog catalog;
+    private final CourseCodeTable codes;
+    private final PrerequisiteExpression[] expressions; // null when requirements come precompiled
+    private final Requirements requirements;
+
+    /** Compiles every course's prerequisite text. */
+    public EligibilityEngine(CourseCatalog catalog) {
+        this.catalog = catalog;
+        this.codes = new CourseCodeTable();
+        this.expressions = new PrerequisiteExpression[catalog.size()];
+
+        // Catalog codes first, so their IDs line up with document IDs
+        for (int doc = 0; doc < catalog.size(); doc++) {
+            codes.intern(catalog.course(doc).getCourseCode());
+        }
+        PrerequisiteParser parser = new PrerequisiteParser(codes);
+        for (int doc = 0; doc < catalog.size(); doc++) {
+            expressions[doc] = parser.parse(catalog.course(doc).getPrerequisiteCodes());
+        }
+        this.requirements = (doc, completed) -> expressions[doc].isSatisfiedBy(completed);
+    }
+
+    /** Uses requirements compiled ahead of time, e.g. the bytecode in a {@link MappedCourseCatalog}. */
+    EligibilityEngine(CourseCatalog catalog, CourseCodeTable codes, Requirements requirements) {
+        this.catalog = catalog;
+        this.codes = codes;
+        this.expressions = null;
+        this.requirements = requirements;
+    }
+
+    /** The completed courses as a set of code IDs; unknown codes are ignored. */
+    public BitSet completedSet(Collection<String> completedCourses) {
+        BitSet completed = new BitSet(codes.size());
+        if (completedCourses != null) {
+            for (String code : completedCourses) {
+                if (code != null && !code.isBlank()) codes.mark(code, completed);
+            }
+        }
+        return completed;
+    }
+
+    public boolean isEligible(int doc, BitSet completed) {
+        return requirements.isSatisfied(doc, completed);
+    }
+
+    /** Document IDs of every catalog course whose prerequisites are met. */
+    public BitSet eligibleCourses(BitSet completed) {
+        int count = catalog.size();
+        BitSet eligible = new BitSet(count);
+        for (int doc = 0; doc < count; doc++) {
+            if (requirements.isSatisfied(doc, completed)) eligible.set(doc);
+        }
+        return eligible;
+    }
+
+    /** The compiled expression, or null when the engine runs on precompiled bytecode. */
+    public PrerequisiteExpression requirement(int doc) {
+        return expressions == null ? null : expressions[doc];
+    }
+
+    public CourseCodeTable getCodes() {
+        return codes;
+    }
+
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
+}
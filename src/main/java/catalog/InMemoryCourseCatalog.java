@@ -0,0 +1,92 @@
+package catalog;
+
+import entity.Course;
+import entity.CourseCodeCanonicalizer;
+
+import java.util.*;
+
+/**
+ * Course catalog held on the heap with an inverted index over each course's name, keywords
+ * and description. Name and keywords are indexed twice so they outweigh description wording.
+ * Immutable after construction, so it can be shared across threads.
+ */
+public class InMemoryCourseCatalog implements CourseCatalog {
+
+    private final List<Course> courses;
+    private final Map<String, int[]> docsByKey;
+    private final InvertedIndex index;
+
+    public InMemoryCourseCatalog(List<Course> courses) {
+        this.courses = List.copyOf(courses);
+        Map<String, List<Integer>> keys = new HashMap<>(courses.size() * 2);
+
+        InvertedIndex.Builder builder = new InvertedIndex.Builder();
+        for (Course course : this.courses) {
+            int doc = builder.addDocument(documentTerms(course));
+            for (String key : CourseCodeKeys.keysFor(course.getCourseCode())) {
+                keys.computeIfAbsent(key, k -> new ArrayList<>(1)).add(doc);
+            }
+        }
+        this.index = builder.build();
+        this.docsByKey = new HashMap<>(keys.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : keys.entrySet()) {
+            docsByKey.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    static List<String> documentTerms(Course course) {
+        List<String> terms = new ArrayList<>();
+        String code = course.getCourseCode().toLowerCase();
+        terms.add(code);
+        if (code.length() > 6) terms.add(code.substring(0, 6)); // "csc207h1" also matches "csc207"
+
+        List<String> name = Tokenizer.tokenize(course.getCourseName());
+        List<String> keywords = Tokenizer.tokenize(course.getCourseKeywords());
+        terms.addAll(name);
+        terms.addAll(name);
+        terms.addAll(keywords);
+        terms.addAll(keywords);
+        terms.addAll(Tokenizer.tokenize(course.getDescription()));
+        return terms;
+    }
+
+    @Override
+    public int size() {
+        return courses.size();
+    }
+
+    @Override
+    public List<Course> courses() {
+        return courses;
+    }
+
+    @Override
+    public int[] docIds(String courseCode) {
+        return CourseCodeKeys.resolve(courseCode, key -> docsByKey.getOrDefault(key, CourseCodeKeys.NONE),
+                doc -> courses.get(doc).getCourseCode());
+    }
+
+    @Override
+    public Course course(int doc) {
+        return courses.get(doc);
+    }
+
+    @Override
+    public TermIndex index() {
+        return index;
+    }
+
+    /** Code key (see {@link CourseCodeKeys}) -> document IDs in catalog order, for {@link BinaryCatalogWriter}. */
+    Map<String, int[]> codeKeys() {
+        return Collections.unmodifiableMap(docsByKey);
+    }
+
+    InvertedIndex invertedIndex() {
+        return index;
+    }
+
+    @Override
+    public List<Course> search(String query, int limit) {
+        return KeywordSearch.conjunctive(this, query, limit);
+    }
+}
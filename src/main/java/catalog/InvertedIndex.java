@@ -0,0 +1,104 @@
+package catalog;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heap-resident {@link TermIndex}: a term -> {@link Postings} map plus per-document lengths.
+ */
+public class InvertedIndex implements TermIndex {
+
+    private final Map<String, Postings> postings;
+    private final int[] docLengths;
+    private final double averageDocLength;
+
+    InvertedIndex(Map<String, Postings> postings, int[] docLengths) {
+        this.postings = postings;
+        this.docLengths = docLengths;
+        long total = 0;
+        for (int length : docLengths) total += length;
+        this.averageDocLength = docLengths.length == 0 ? 0 : (double) total / docLengths.length;
+    }
+
+    @Override
+    public Postings postings(String term) {
+        return postings.getOrDefault(term, Postings.EMPTY);
+    }
+
+    @Override
+    public int docCount() {
+        return docLengths.length;
+    }
+
+    @Override
+    public int docLength(int doc) {
+        return docLengths[doc];
+    }
+
+    @Override
+    public double averageDocLength() {
+        return averageDocLength;
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    Map<String, Postings> terms() {
+        return Collections.unmodifiableMap(postings);
+    }
+
+    /** Collects documents in ID order; call {@link #build} once all are added. */
+    public static class Builder {
+        private final Map<String, int[]> growing = new HashMap<>(); // [size, doc0, freq0, doc1, freq1, ...]
+        private int[] lengths = new int[64];
+        private int docs = 0;
+
+        /** Adds the next document and returns its ID. */
+        public int addDocument(List<String> terms) {
+            int doc = docs++;
+            if (doc == lengths.length) lengths = Arrays.copyOf(lengths, doc * 2);
+            lengths[doc] = terms.size();
+
+            for (String term : terms) {
+                int[] list = growing.get(term);
+                if (list == null) {
+                    list = new int[9];
+                    growing.put(term, list);
+                }
+                int size = list[0];
+                if (size > 0 && list[size * 2 - 1] == doc) {
+                    list[size * 2]++; // same document, bump the frequency
+                    continue;
+                }
+                if (size * 2 + 2 >= list.length) {
+                    list = Arrays.copyOf(list, list.length * 2 + 1);
+                    growing.put(term, list);
+                }
+                list[size * 2 + 1] = doc;
+                list[size * 2 + 2] = 1;
+                list[0] = size + 1;
+            }
+            return doc;
+        }
+
+        public InvertedIndex build() {
+            Map<String, Postings> postings = new HashMap<>(growing.size() * 2);
+            for (Map.Entry<String, int[]> entry : growing.entrySet()) {
+                int[] list = entry.getValue();
+                int size = list[0];
+                int[] docIds = new int[size];
+                int[] freqs = new int[size];
+                for (int i = 0; i < size; i++) {
+                    docIds[i] = list[i * 2 + 1];
+                    freqs[i] = list[i * 2 + 2];
+                }
+                postings.put(entry.getKey(), new Postings(docIds, freqs));
+            }
+            return new InvertedIndex(postings, Arrays.copyOf(lengths, docs));
+        }
+    }
+}
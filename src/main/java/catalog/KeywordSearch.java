@@ -0,0 +1,65 @@
+package catalog;
+
+import entity.Course;
+
+import java.util.*;
+
+/** Keyword search shared by the {@link CourseCatalog} implementations. */
+final class KeywordSearch {
+
+    private KeywordSearch() {
+    }
+
+    /**
+     * Conjunctive keyword search: walks the rarest term's postings and probes the others,
+     * scoring matches by tf-idf.
+     */
+    static List<Course> conjunctive(CourseCatalog catalog, String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) return List.of();
+
+        TermIndex index = catalog.index();
+        Postings[] lists = new Postings[terms.size()];
+        double[] idf = new double[terms.size()];
+        for (int t = 0; t < terms.size(); t++) {
+            lists[t] = index.postings(terms.get(t));
+            if (lists[t].size() == 0) return List.of();
+            idf[t] = Math.log(1.0 + (double) index.docCount() / lists[t].size());
+        }
+        int rarest = 0;
+        for (int t = 1; t < lists.length; t++) {
+            if (lists[t].size() < lists[rarest].size()) rarest = t;
+        }
+
+        Postings driver = lists[rarest];
+        int[] matches = new int[driver.size()];
+        double[] scores = new double[driver.size()];
+        int count = 0;
+        for (int i = 0; i < driver.size(); i++) {
+            int doc = driver.docs[i];
+            double score = driver.freqs[i] * idf[rarest];
+            boolean all = true;
+            for (int t = 0; t < lists.length && all; t++) {
+                if (t == rarest) continue;
+                int freq = lists[t].freq(doc);
+                all = freq > 0;
+                score += freq * idf[t];
+            }
+            if (all) {
+                matches[count] = doc;
+                scores[count] = score / Math.sqrt(index.docLength(doc));
+                count++;
+            }
+        }
+
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        List<Course> results = new ArrayList<>(Math.min(limit, count));
+        for (int i = 0; i < count && results.size() < limit; i++) {
+            results.add(catalog.course(matches[order[i]]));
+        }
+        return results;
+    }
+}
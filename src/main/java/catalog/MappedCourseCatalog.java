@@ -0,0 +1,220 @@
+package catalog;
+
+import entity.Course;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * {@link CourseCatalog} served from a memory-mapped file written by {@link BinaryCatalogWriter}.
+ *
+ * Opening only maps the file and checks its header; strings, postings and courses are decoded
+ * from the mapping when asked for, and prerequisites are evaluated directly from the mapped
+ * bytecode. Lookups use absolute reads on a read-only buffer, so the catalog is thread-safe.
+ */
+public class MappedCourseCatalog implements CourseCatalog, TermIndex {
+
+    private final ByteBuffer buffer;
+    private final int courseCount;
+    private final int codeCount;
+    private final int termCount;
+    private final int keyCount;
+    private final double averageDocLength;
+    private final int stringsOffset;
+    private final int coursesOffset;
+    private final int keysOffset;
+    private final int codesOffset;
+    private final int termsOffset;
+    private final boolean fullCalendar;
+
+    private volatile EligibilityEngine eligibility;
+
+    private MappedCourseCatalog(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < BinaryCatalogWriter.HEADER_BYTES || buffer.getInt(0) != BinaryCatalogWriter.MAGIC) {
+            throw new IOException("Not a course catalog file");
+        }
+        if (buffer.getInt(4) != BinaryCatalogWriter.VERSION) {
+            throw new IOException("Unsupported catalog version " + buffer.getInt(4));
+        }
+        this.courseCount = buffer.getInt(8);
+        this.codeCount = buffer.getInt(12);
+        this.termCount = buffer.getInt(16);
+        this.keyCount = buffer.getInt(20);
+        this.averageDocLength = buffer.getDouble(28);
+        this.stringsOffset = buffer.getInt(36);
+        this.coursesOffset = buffer.getInt(40);
+        this.keysOffset = buffer.getInt(44);
+        this.codesOffset = buffer.getInt(48);
+        this.termsOffset = buffer.getInt(52);
+        this.fullCalendar = (buffer.getInt(BinaryCatalogWriter.FLAGS_OFFSET) & BinaryCatalogWriter.FLAG_FULL_CALENDAR) != 0;
+        if (buffer.getInt(64) != buffer.limit()) {
+            throw new IOException("Truncated catalog file");
+        }
+    }
+
+    public static MappedCourseCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new MappedCourseCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /** True if the file was written with {@code --full}: it lists the whole calendar, not a sample. */
+    public boolean isFullCalendar() {
+        return fullCalendar;
+    }
+
+    // =======================
+    // CourseCatalog
+    // =======================
+
+    @Override
+    public int size() {
+        return courseCount;
+    }
+
+    @Override
+    public List<Course> courses() {
+        return new AbstractList<>() {
+            @Override
+            public Course get(int doc) {
+                return course(doc);
+            }
+
+            @Override
+            public int size() {
+                return courseCount;
+            }
+        };
+    }
+
+    @Override
+    public Course course(int doc) {
+        int record = courseRecord(doc);
+        return new Course(string(buffer.getInt(record)), string(buffer.getInt(record + 4)),
+                string(buffer.getInt(record + 8)), string(buffer.getInt(record + 12)), 0,
+                string(buffer.getInt(record + 16)), "N/A");
+    }
+
+    @Override
+    public int[] docIds(String courseCode) {
+        return CourseCodeKeys.resolve(courseCode, this::docsForKey, doc -> string(buffer.getInt(courseRecord(doc))));
+    }
+
+    /** The documents under one code key; the writer stores them as adjacent entries in doc order. */
+    private int[] docsForKey(String key) {
+        int slot = binarySearch(keysOffset, 8, keyCount, key);
+        if (slot < 0) return CourseCodeKeys.NONE;
+        int first = slot;
+        while (first > 0 && string(buffer.getInt(keysOffset + (first - 1) * 8)).equals(key)) first--;
+        int last = slot;
+        while (last + 1 < keyCount && string(buffer.getInt(keysOffset + (last + 1) * 8)).equals(key)) last++;
+        int[] docs = new int[last - first + 1];
+        for (int i = 0; i < docs.length; i++) docs[i] = buffer.getInt(keysOffset + (first + i) * 8 + 4);
+        return docs;
+    }
+
+    @Override
+    public TermIndex index() {
+        return this;
+    }
+
+    @Override
+    public List<Course> search(String query, int limit) {
+        return KeywordSearch.conjunctive(this, query, limit);
+    }
+
+    /** Evaluates the mapped prerequisite bytecode; only the code table is loaded onto the heap. */
+    @Override
+    public EligibilityEngine eligibilityEngine() {
+        EligibilityEngine engine = eligibility;
+        if (engine == null) {
+            CourseCodeTable codes = new CourseCodeTable();
+            for (int id = 0; id < codeCount; id++) {
+                codes.intern(string(buffer.getInt(codesOffset + id * 4)));
+            }
+            engine = new EligibilityEngine(this, codes, this::isSatisfied);
+            eligibility = engine;
+        }
+        return engine;
+    }
+
+    private boolean isSatisfied(int doc, BitSet completed) {
+        int record = courseRecord(doc);
+        return PrerequisiteBytecode.evaluate(buffer, buffer.getInt(record + 24), buffer.getInt(record + 28), completed);
+    }
+
+    // =======================
+    // TermIndex
+    // =======================
+
+    @Override
+    public Postings postings(String term) {
+        int slot = binarySearch(termsOffset, 12, termCount, term);
+        if (slot < 0) return Postings.EMPTY;
+        int entry = termsOffset + slot * 12;
+        int at = buffer.getInt(entry + 4);
+        int df = buffer.getInt(entry + 8);
+        int[] docs = new int[df];
+        int[] freqs = new int[df];
+        for (int i = 0; i < df; i++) {
+            docs[i] = buffer.getInt(at + i * 4);
+            freqs[i] = buffer.getInt(at + (df + i) * 4);
+        }
+        return new Postings(docs, freqs);
+    }
+
+    @Override
+    public int docCount() {
+        return courseCount;
+    }
+
+    @Override
+    public int docLength(int doc) {
+        return buffer.getInt(courseRecord(doc) + 20);
+    }
+
+    @Override
+    public double averageDocLength() {
+        return averageDocLength;
+    }
+
+    // =======================
+    // Decoding
+    // =======================
+
+    private int courseRecord(int doc) {
+        if (doc < 0 || doc >= courseCount) throw new IndexOutOfBoundsException("Course " + doc);
+        return coursesOffset + doc * BinaryCatalogWriter.COURSE_RECORD_INTS * 4;
+    }
+
+    private String string(int id) {
+        int at = buffer.getInt(stringsOffset + id * 4);
+        int length = buffer.getInt(at);
+        byte[] bytes = new byte[length];
+        buffer.get(at + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Binary search over a sorted table whose entries start with a string ID; returns the slot or -1. */
+    private int binarySearch(int tableOffset, int entryBytes, int count, String key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = string(buffer.getInt(tableOffset + mid * entryBytes)).compareTo(key);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,27 @@
+package catalog;
+
+import java.util.Arrays;
+
+/** Parallel arrays of one term's postings: {@code docs[i]} (ascending) contains the term {@code freqs[i]} times. */
+public final class Postings {
+
+    static final Postings EMPTY = new Postings(new int[0], new int[0]);
+
+    public final int[] docs;
+    public final int[] freqs;
+
+    public Postings(int[] docs, int[] freqs) {
+        this.docs = docs;
+        this.freqs = freqs;
+    }
+
+    public int size() {
+        return docs.length;
+    }
+
+    /** Frequency of the term in {@code doc}, or 0. */
+    public int freq(int doc) {
+        int i = Arrays.binarySearch(docs, doc);
+        return i >= 0 ? freqs[i] : 0;
+    }
+}
@@ -0,0 +1,96 @@
+package catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Postfix encoding of a {@link PrerequisiteExpression}, evaluated straight from a (mapped)
+ * buffer with a 64-entry bit stack, so checking a course allocates nothing.
+ *
+ * <pre>
+ * TRUE                 push true
+ * COURSE &lt;int id&gt;     push completed.get(id)
+ * ALL &lt;byte n&gt;         pop n, push their AND
+ * ANY &lt;byte n&gt;         pop n, push their OR
+ * </pre>
+ */
+final class PrerequisiteBytecode {
+
+    static final byte TRUE = 0;
+    static final byte COURSE = 1;
+    static final byte ALL = 2;
+    static final byte ANY = 3;
+
+    private static final int MAX_STACK = 64;
+
+    private PrerequisiteBytecode() {
+    }
+
+    static byte[] compile(PrerequisiteExpression expression) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int depth = emit(expression, out, 0);
+        if (depth > MAX_STACK) throw new IllegalArgumentException("Prerequisite expression too deep: " + expression);
+        return out.toByteArray();
+    }
+
+    /** Writes the expression and returns the stack depth it needs. */
+    private static int emit(PrerequisiteExpression expression, ByteArrayOutputStream out, int depth) {
+        if (expression instanceof PrerequisiteExpression.Required) {
+            int id = ((PrerequisiteExpression.Required) expression).id;
+            out.write(COURSE);
+            out.write(id >>> 24);
+            out.write(id >>> 16);
+            out.write(id >>> 8);
+            out.write(id);
+            return depth + 1;
+        }
+        if (expression instanceof PrerequisiteExpression.All || expression instanceof PrerequisiteExpression.Any) {
+            boolean all = expression instanceof PrerequisiteExpression.All;
+            List<PrerequisiteExpression> operands = all
+                    ? ((PrerequisiteExpression.All) expression).operands
+                    : ((PrerequisiteExpression.Any) expression).operands;
+            if (operands.size() >= MAX_STACK) throw new IllegalArgumentException("Too many operands: " + expression);
+            int max = depth;
+            for (int i = 0; i < operands.size(); i++) {
+                max = Math.max(max, emit(operands.get(i), out, depth + i));
+            }
+            out.write(all ? ALL : ANY);
+            out.write(operands.size());
+            return max;
+        }
+        out.write(TRUE);
+        return depth + 1;
+    }
+
+    static boolean evaluate(ByteBuffer code, int offset, int length, BitSet completed) {
+        long stack = 0;
+        int end = offset + length;
+        int pc = offset;
+        while (pc < end) {
+            byte op = code.get(pc++);
+            switch (op) {
+                case TRUE:
+                    stack = (stack << 1) | 1;
+                    break;
+                case COURSE:
+                    stack = (stack << 1) | (completed.get(code.getInt(pc)) ? 1 : 0);
+                    pc += 4;
+                    break;
+                case ALL:
+                case ANY: {
+                    int n = code.get(pc++) & 0xFF;
+                    long mask = (1L << n) - 1;
+                    long top = stack & mask;
+                    boolean value = op == ALL ? top == mask : top != 0;
+                    stack = ((stack >>> n) << 1) | (value ? 1 : 0);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Bad prerequisite opcode " + op + " at " + (pc - 1));
+            }
+        }
+        return length == 0 || (stack & 1) != 0;
+    }
+}
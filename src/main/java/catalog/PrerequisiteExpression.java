@@ -0,0 +1,90 @@
+package catalog;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compiled prerequisite requirement: a boolean expression over interned course IDs
+ * (see {@link CourseCodeTable}), evaluated against the set of completed courses.
+ */
+public abstract class PrerequisiteExpression {
+
+    /** No prerequisites: always satisfied. */
+    public static final PrerequisiteExpression NONE = new PrerequisiteExpression() {
+        @Override
+        public boolean isSatisfiedBy(BitSet completed) {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "NONE";
+        }
+    };
+
+    public abstract boolean isSatisfiedBy(BitSet completed);
+
+    /** A single required course. */
+    public static final class Required extends PrerequisiteExpression {
+        public final int id;
+
+        public Required(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean isSatisfiedBy(BitSet completed) {
+            return completed.get(id);
+        }
+
+        @Override
+        public String toString() {
+            return "#" + id;
+        }
+    }
+
+    /** Every operand is required. */
+    public static final class All extends PrerequisiteExpression {
+        public final List<PrerequisiteExpression> operands;
+
+        public All(List<PrerequisiteExpression> operands) {
+            this.operands = List.copyOf(operands);
+        }
+
+        @Override
+        public boolean isSatisfiedBy(BitSet completed) {
+            for (PrerequisiteExpression operand : operands) {
+                if (!operand.isSatisfiedBy(completed)) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return operands.stream().map(Object::toString).collect(Collectors.joining(" AND ", "(", ")"));
+        }
+    }
+
+    /** At least one operand is required. */
+    public static final class Any extends PrerequisiteExpression {
+        public final List<PrerequisiteExpression> operands;
+
+        public Any(List<PrerequisiteExpression> operands) {
+            this.operands = List.copyOf(operands);
+        }
+
+        @Override
+        public boolean isSatisfiedBy(BitSet completed) {
+            for (PrerequisiteExpression operand : operands) {
+                if (operand.isSatisfiedBy(completed)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return operands.stream().map(Object::toString).collect(Collectors.joining(" OR ", "(", ")"));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles calendar prerequisite text such as
+ * "CSC148H1/CSC111H1, CSC165H1/CSC240H1" or "STA257H1 or ECO227Y1 or STAB52H3" into a
+ * {@link PrerequisiteExpression}.
+ *
+ * "/" and "or" mean either; ",", ";" and "and" mean both, with "or" binding tighter as in the
+ * calendar. Parentheses and square brackets group. Any other text ("permission of instructor",
+ * grades, "N/A") is ignored, and operators left without operands are dropped, so the result
+ * only ever constrains on course codes that actually appear.
+ */
+public class PrerequisiteParser {
+
+    private enum Kind { CODE, OR, AND, OPEN, CLOSE }
+
+    private static final class Token {
+        final Kind kind;
+        final String text;
+
+        Token(Kind kind, String text) {
+            this.kind = kind;
+            this.text = text;
+        }
+    }
+
+    private final CourseCodeTable codes;
+    private List<Token> tokens;
+    private int pos;
+
+    /** Course codes met while parsing are interned into {@code codes}. */
+    public PrerequisiteParser(CourseCodeTable codes) {
+        this.codes = codes;
+    }
+
+    public PrerequisiteExpression parse(String prerequisites) {
+        if (prerequisites == null || prerequisites.isBlank()) return PrerequisiteExpression.NONE;
+        tokens = tokenize(prerequisites);
+        pos = 0;
+
+        List<PrerequisiteExpression> all = new ArrayList<>();
+        while (pos < tokens.size()) {
+            PrerequisiteExpression part = parseAll();
+            if (part != null) all.add(part);
+            if (pos < tokens.size()) pos++; // unbalanced ')': skip it and keep going
+        }
+        PrerequisiteExpression result = combine(all, true);
+        return result == null ? PrerequisiteExpression.NONE : result;
+    }
+
+    // all := any ((',' | ';' | 'and') any)*
+    private PrerequisiteExpression parseAll() {
+        List<PrerequisiteExpression> operands = new ArrayList<>();
+        while (pos < tokens.size() && tokens.get(pos).kind != Kind.CLOSE) {
+            if (tokens.get(pos).kind == Kind.AND) {
+                pos++;
+                continue;
+            }
+            PrerequisiteExpression operand = parseAny();
+            if (operand != null) operands.add(operand);
+        }
+        return combine(operands, true);
+    }
+
+    // any := primary (('/' | 'or') primary)*
+    private PrerequisiteExpression parseAny() {
+        List<PrerequisiteExpression> operands = new ArrayList<>();
+        PrerequisiteExpression first = parsePrimary();
+        if (first != null) operands.add(first);
+        while (pos < tokens.size() && tokens.get(pos).kind == Kind.OR) {
+            pos++;
+            PrerequisiteExpression next = parsePrimary();
+            if (next != null) operands.add(next);
+        }
+        return combine(operands, false);
+    }
+
+    // primary := CODE | '(' all ')'
+    private PrerequisiteExpression parsePrimary() {
+        if (pos >= tokens.size()) return null;
+        Token token = tokens.get(pos);
+        switch (token.kind) {
+            case CODE:
+                pos++;
+                return new PrerequisiteExpression.Required(codes.intern(token.text));
+            case OPEN: {
+                pos++;
+                PrerequisiteExpression inner = parseAll();
+                if (pos < tokens.size() && tokens.get(pos).kind == Kind.CLOSE) pos++;
+                return inner;
+            }
+            default:
+                return null; // a stray operator: let the caller skip it
+        }
+    }
+
+    private static PrerequisiteExpression combine(List<PrerequisiteExpression> operands, boolean all) {
+        if (operands.isEmpty()) return null;
+        if (operands.size() == 1) return operands.get(0);
+        return all ? new PrerequisiteExpression.All(operands) : new PrerequisiteExpression.Any(operands);
+    }
+
+    // =======================
+    // Lexer
+    // =======================
+
+    private static List<Token> tokenize(String text) {
+        List<Token> out = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '/') {
+                out.add(new Token(Kind.OR, "/"));
+                i++;
+            } else if (c == ',' || c == ';') {
+                out.add(new Token(Kind.AND, String.valueOf(c)));
+                i++;
+            } else if (c == '(' || c == '[') {
+                out.add(new Token(Kind.OPEN, String.valueOf(c)));
+                i++;
+            } else if (c == ')' || c == ']') {
+                out.add(new Token(Kind.CLOSE, String.valueOf(c)));
+                i++;
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) i++;
+                String word = text.substring(start, i);
+                if (isCourseCode(word)) {
+                    out.add(new Token(Kind.CODE, word.toUpperCase()));
+                } else if (word.equalsIgnoreCase("or")) {
+                    out.add(new Token(Kind.OR, word));
+                } else if (word.equalsIgnoreCase("and")) {
+                    out.add(new Token(Kind.AND, word));
+                }
+                // anything else is prose: ignored
+            } else {
+                i++;
+            }
+        }
+        return out;
+    }
+
+    /** "CSC207H1", "STAB52H3", "ECO227Y1" or a bare "CSC207". */
+    static boolean isCourseCode(String word) {
+        int n = word.length();
+        if (n != 6 && n != 8) return false;
+        for (int i = 0; i < 3; i++) {
+            if (!Character.isLetter(word.charAt(i))) return false;
+        }
+        if (!Character.isLetterOrDigit(word.charAt(3))) return false;
+        if (!Character.isDigit(word.charAt(4)) || !Character.isDigit(word.charAt(5))) return false;
+        if (n == 6) return true;
+        char suffix = Character.toUpperCase(word.charAt(6));
+        return (suffix == 'H' || suffix == 'Y') && Character.isDigit(word.charAt(7));
+    }
+}
@@ -0,0 +1,17 @@
+package catalog;
+
+/**
+ * Term statistics over a catalog's numbered documents, enough for length-normalized ranking
+ * such as BM25.
+ */
+public interface TermIndex {
+
+    /** Postings for an already-tokenized term; empty if the term does not occur. */
+    Postings postings(String term);
+
+    int docCount();
+
+    int docLength(int doc);
+
+    double averageDocLength();
+}
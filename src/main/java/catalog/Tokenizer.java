@@ -0,0 +1,52 @@
+package catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits catalog text and user queries into index terms: lowercase letter/digit runs, without
+ * stopwords, with plurals folded ("networks" -> "network", "studies" -> "study") so that
+ * documents and queries meet on the same terms.
+ */
+public final class Tokenizer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "how", "in", "into", "is", "it",
+            "its", "of", "on", "or", "the", "their", "to", "with", "i", "like", "want", "about", "using");
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(CharSequence text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                addTerm(tokens, current.toString());
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTerm(List<String> tokens, String word) {
+        if (word.length() < 2 || STOPWORDS.contains(word)) return;
+        tokens.add(stem(word));
+    }
+
+    static String stem(String word) {
+        int n = word.length();
+        if (n > 4 && word.endsWith("ies")) return word.substring(0, n - 3) + "y";
+        if (n > 4 && word.endsWith("sses")) return word.substring(0, n - 2);
+        if (n > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, n - 1);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,82 @@
+package data_access;
+
+import entity.Course;
+import storage.RecommendationCacheStore;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+import use_case.recommend_courses.RecommendationQueryKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Answers repeat queries (same normalized interests and completed courses) from the
+ * on-disk {@link RecommendationCacheStore}; misses go to the wrapped DAO and are cached.
+ */
+public class CachingRecommendationDataAccessObject implements RecommendCoursesDataAccessInterface {
+    private final RecommendCoursesDataAccessInterface delegate;
+    private final RecommendationCacheStore cache;
+
+    public CachingRecommendationDataAccessObject(RecommendCoursesDataAccessInterface delegate,
+                                                 RecommendationCacheStore cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
+        String key = RecommendationQueryKey.of(interests, completedCourses);
+        List<Course> cached = cache.get(key);
+        if (cached != null) return new CachedCourses(cached);
+
+        return remember(key, delegate.getRecommendations(interests, completedCourses, apiKey));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        String key = RecommendationQueryKey.of(interests, completedCourses);
+        List<Course> cached = cache.get(key);
+        if (cached != null) return CompletableFuture.completedFuture(new CachedCourses(cached));
+
+        return delegate.getRecommendationsAsync(interests, completedCourses, apiKey)
+                .thenApply(courses -> remember(key, courses));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                 Consumer<Course> onCourse) {
+        String key = RecommendationQueryKey.of(interests, completedCourses);
+        List<Course> cached = cache.get(key);
+        if (cached != null) {
+            cached.forEach(onCourse);
+            return CompletableFuture.completedFuture(new CachedCourses(cached));
+        }
+
+        return delegate.streamRecommendations(interests, completedCourses, apiKey, onCourse)
+                .thenApply(courses -> remember(key, courses));
+    }
+
+    /**
+     * True if {@code courses} came from the cache rather than the delegate, e.g. so that
+     * {@link HistoryRecordingDataAccessObject} does not log a search again.
+     */
+    public static boolean isCached(List<Course> courses) {
+        return courses instanceof CachedCourses;
+    }
+
+    /** A cache hit: a copy of the cached list, marked so outer layers can tell it from a fresh answer. */
+    static final class CachedCourses extends ArrayList<Course> {
+        CachedCourses(List<Course> courses) {
+            super(courses);
+        }
+    }
+
+    private List<Course> remember(String key, List<Course> courses) {
+        // Empty results are usually transient (blocked output, bad parse); don't pin them
+        if (courses != null && !courses.isEmpty()) {
+            cache.put(key, courses);
+        }
+        return courses;
+    }
+}
@@ -0,0 +1,214 @@
+package data_access;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opt-in recorder of Gemini request/response pairs, replacing the old per-request
+ * {@code gemini_debug.json} dump.
+ *
+ * {@link #record} only drops the pair into a fixed-size in-memory ring buffer, so the request
+ * thread never waits on disk; when the writer falls behind, the oldest unwritten captures are
+ * overwritten. A daemon thread appends captures as JSON lines to
+ * {@code gemini-capture.jsonl} and rotates it by size, keeping a bounded number of old files.
+ */
+public class CaptureRecorder {
+
+    /** One recorded exchange. */
+    public static final class Capture {
+        public final Instant timestamp;
+        public final String requestBody;
+        public final int status;
+        public final String responseBody;
+        public final long latencyMillis;
+
+        Capture(Instant timestamp, String requestBody, int status, String responseBody, long latencyMillis) {
+            this.timestamp = timestamp;
+            this.requestBody = requestBody;
+            this.status = status;
+            this.responseBody = responseBody;
+            this.latencyMillis = latencyMillis;
+        }
+    }
+
+    private static final CaptureRecorder DISABLED = new CaptureRecorder();
+
+    private final double sampleRate;
+    private final Path dir;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    // Ring buffer; head = sequence number of the next capture, written = next one to persist
+    private final Capture[] ring;
+    private long head = 0;
+    private long written = 0;
+    private long dropped = 0;
+
+    private CaptureRecorder() {
+        this.sampleRate = 0;
+        this.dir = null;
+        this.maxFileBytes = 0;
+        this.maxFiles = 0;
+        this.ring = new Capture[0];
+    }
+
+    public CaptureRecorder(Path dir, double sampleRate, int capacity, long maxFileBytes, int maxFiles) {
+        this(dir, sampleRate, capacity, maxFileBytes, maxFiles, true);
+    }
+
+    /** @param startWriter false keeps everything in the ring buffer (tests) */
+    CaptureRecorder(Path dir, double sampleRate, int capacity, long maxFileBytes, int maxFiles, boolean startWriter) {
+        this.dir = dir;
+        this.sampleRate = sampleRate;
+        this.ring = new Capture[capacity];
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+
+        if (startWriter) {
+            Thread writer = new Thread(this::writeLoop, "gemini-capture");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    public static CaptureRecorder disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Enabled by setting GEMINI_CAPTURE_SAMPLE_RATE (environment or system property) to a value
+     * in (0, 1]; captures go to ~/.course_explorer/captures.
+     */
+    public static CaptureRecorder fromEnvironment() {
+        String rate = System.getProperty("GEMINI_CAPTURE_SAMPLE_RATE", System.getenv("GEMINI_CAPTURE_SAMPLE_RATE"));
+        if (rate == null || rate.isBlank()) return disabled();
+        try {
+            double sampleRate = Double.parseDouble(rate.trim());
+            if (sampleRate <= 0) return disabled();
+            Path dir = Paths.get(System.getProperty("user.home"), ".course_explorer", "captures");
+            return new CaptureRecorder(dir, Math.min(1.0, sampleRate), 64, 5 * 1024 * 1024, 5);
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid GEMINI_CAPTURE_SAMPLE_RATE: " + rate);
+            return disabled();
+        }
+    }
+
+    /** Decides up front whether an exchange should be captured, so callers can skip buffering bodies. */
+    public boolean shouldSample() {
+        return sampleRate > 0 && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /** Queues a capture; never blocks on I/O. */
+    public void record(String requestBody, int status, String responseBody, long latencyMillis) {
+        if (ring.length == 0) return;
+        Capture capture = new Capture(Instant.now(), requestBody, status, responseBody, latencyMillis);
+        synchronized (ring) {
+            ring[(int) (head % ring.length)] = capture;
+            head++;
+            if (head - written > ring.length) {
+                dropped += head - written - ring.length;
+                written = head - ring.length;
+            }
+            ring.notifyAll();
+        }
+    }
+
+    /** Most recent captures still held in memory, oldest first. */
+    public List<Capture> recent() {
+        synchronized (ring) {
+            List<Capture> out = new ArrayList<>();
+            for (long seq = Math.max(0, head - ring.length); seq < head; seq++) {
+                out.add(ring[(int) (seq % ring.length)]);
+            }
+            return out;
+        }
+    }
+
+    /** Captures overwritten before the writer could persist them. */
+    public long getDropped() {
+        synchronized (ring) {
+            return dropped;
+        }
+    }
+
+    // =======================
+    // Background writer
+    // =======================
+
+    private void writeLoop() {
+        while (true) {
+            List<Capture> batch = new ArrayList<>();
+            synchronized (ring) {
+                while (written == head) {
+                    try {
+                        ring.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                for (; written < head; written++) {
+                    batch.add(ring[(int) (written % ring.length)]);
+                }
+            }
+            try {
+                append(batch);
+            } catch (IOException e) {
+                System.err.println("Failed to write Gemini captures: " + e.getMessage());
+            }
+        }
+    }
+
+    private void append(List<Capture> batch) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve("gemini-capture.jsonl");
+        if (Files.exists(file) && Files.size(file) > maxFileBytes) rotate(file);
+
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Capture c : batch) {
+                out.write("{\"timestamp\":\"" + c.timestamp + "\",\"status\":" + c.status
+                        + ",\"latency_ms\":" + c.latencyMillis
+                        + ",\"request\":" + quote(c.requestBody)
+                        + ",\"response\":" + quote(c.responseBody) + "}");
+                out.newLine();
+            }
+        }
+    }
+
+    /** gemini-capture.jsonl -> .1.jsonl -> .2.jsonl ..., dropping anything past maxFiles. */
+    private void rotate(Path file) throws IOException {
+        Files.deleteIfExists(dir.resolve("gemini-capture." + maxFiles + ".jsonl"));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path from = dir.resolve("gemini-capture." + i + ".jsonl");
+            if (Files.exists(from)) {
+                Files.move(from, dir.resolve("gemini-capture." + (i + 1) + ".jsonl"), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, dir.resolve("gemini-capture.1.jsonl"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static String quote(String s) {
+        if (s == null) return "null";
+        StringBuilder sb = new StringBuilder(s.length() + 16).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,99 @@
+package data_access;
+
+import entity.Course;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+import use_case.recommend_courses.RecommendationQueryKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Single-flight wrapper: while a query is in flight, identical queries (same normalized
+ * interests and completed courses) join it instead of sending another Gemini request.
+ * Every joiner gets its own copy of the result, and streaming joiners are replayed the
+ * courses that arrived before they joined.
+ */
+public class CoalescingRecommendationDataAccessObject implements RecommendCoursesDataAccessInterface {
+    private final RecommendCoursesDataAccessInterface delegate;
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingRecommendationDataAccessObject(RecommendCoursesDataAccessInterface delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
+        try {
+            return getRecommendationsAsync(interests, completedCourses, apiKey).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        return join(interests, completedCourses, apiKey).result.thenApply(ArrayList::new);
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                 Consumer<Course> onCourse) {
+        Flight flight = join(interests, completedCourses, apiKey);
+        flight.subscribe(onCourse);
+        return flight.result.thenApply(ArrayList::new);
+    }
+
+    /** Number of distinct queries currently in flight (for monitoring). */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Flight join(String interests, List<String> completedCourses, String apiKey) {
+        String key = RecommendationQueryKey.of(interests, completedCourses);
+        Flight created = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) return existing;
+
+        // We are the leader: stream so that streaming joiners see courses as they arrive
+        CompletableFuture<List<Course>> call;
+        try {
+            call = delegate.streamRecommendations(interests, completedCourses, apiKey, created::emit);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((courses, error) -> {
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.result.completeExceptionally(error);
+            } else {
+                created.result.complete(courses);
+            }
+        });
+        return created;
+    }
+
+    private static final class Flight {
+        final CompletableFuture<List<Course>> result = new CompletableFuture<>();
+        private final List<Course> emitted = new ArrayList<>();
+        private final List<Consumer<Course>> listeners = new ArrayList<>();
+
+        synchronized void subscribe(Consumer<Course> listener) {
+            emitted.forEach(listener);
+            listeners.add(listener);
+        }
+
+        void emit(Course course) {
+            List<Consumer<Course>> snapshot;
+            synchronized (this) {
+                emitted.add(course);
+                snapshot = new ArrayList<>(listeners);
+            }
+            snapshot.forEach(listener -> listener.accept(course));
+        }
+    }
+}
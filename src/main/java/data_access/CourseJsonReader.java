@@ -0,0 +1,456 @@
+package data_access;
+
+import entity.Course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hand-rolled, single-pass JSON reader for Gemini responses.
+ *
+ * <p>{@link #readModelText} walks the generateContent envelope once and decodes the
+ * {@code candidates[0].content.parts[*].text} strings; {@link #readCourses} then walks the
+ * model's course array once and builds {@link Course} objects directly. Keys are matched in
+ * place and values are only copied out when they are needed, so escapes, braces inside
+ * descriptions and nested values are handled without regexes or string splitting.
+ *
+ * <p>Not thread-safe: it reuses an internal buffer, so create one reader per response.
+ */
+public class CourseJsonReader {
+
+    private static final String[] COURSE_KEYS = {
+            "course_code", "course_name", "course_description", "prerequisite_codes",
+            "course_rank", "course_keywords", "explanation"
+    };
+    private static final int CODE = 0, NAME = 1, DESCRIPTION = 2, PREREQS = 3, RANK = 4, KEYWORDS = 5, EXPLANATION = 6;
+    private static final String MISSING = "N/A";
+
+    private final StringBuilder scratch = new StringBuilder(256);
+    private final String[] values = new String[COURSE_KEYS.length];
+    private CharSequence src;
+    private int pos;
+    private String finishReason;
+
+    // =======================
+    // Envelope
+    // =======================
+
+    /**
+     * Reads a generateContent (or one streamed event) body and returns the concatenated model
+     * text of the first candidate. Grounding metadata and usage data are skipped, not decoded.
+     */
+    public String readModelText(CharSequence responseBody) {
+        reset(responseBody);
+        finishReason = null;
+        StringBuilder text = new StringBuilder();
+        skipWhitespace();
+        if (pos >= src.length() || src.charAt(pos) != '{') return "";
+
+        try {
+            beginObject();
+            while (nextMember()) {
+                if (keyIs("candidates")) {
+                    readCandidates(text);
+                } else {
+                    skipValue();
+                }
+            }
+        } catch (IllegalStateException e) {
+            System.err.println("Malformed Gemini response: " + e.getMessage());
+        }
+        return text.toString();
+    }
+
+    /** The first candidate's finishReason seen by the last {@link #readModelText} call, or null. */
+    public String getFinishReason() {
+        return finishReason;
+    }
+
+    /** Decodes a top-level string member of a JSON object (e.g. a capture line), or returns null. */
+    public String readStringMember(CharSequence json, String name) {
+        reset(json);
+        skipWhitespace();
+        if (!peek('{')) return null;
+        try {
+            beginObject();
+            while (nextMember()) {
+                if (keyIs(name) && peek('"')) return readString();
+                skipValue();
+            }
+        } catch (IllegalStateException e) {
+            System.err.println("Malformed JSON: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private void readCandidates(StringBuilder text) {
+        if (!peek('[')) {
+            skipValue();
+            return;
+        }
+        pos++;
+        boolean first = true;
+        while (nextElement()) {
+            if (first && peek('{')) {
+                readCandidate(text);
+            } else {
+                skipValue();
+            }
+            first = false;
+        }
+    }
+
+    private void readCandidate(StringBuilder text) {
+        beginObject();
+        while (nextMember()) {
+            if (keyIs("content") && peek('{')) {
+                beginObject();
+                while (nextMember()) {
+                    if (keyIs("parts") && peek('[')) {
+                        readParts(text);
+                    } else {
+                        skipValue();
+                    }
+                }
+            } else if (keyIs("finishReason") && peek('"')) {
+                finishReason = readString();
+            } else {
+                skipValue();
+            }
+        }
+    }
+
+    private void readParts(StringBuilder text) {
+        pos++; // '['
+        while (nextElement()) {
+            if (!peek('{')) {
+                skipValue();
+                continue;
+            }
+            beginObject();
+            while (nextMember()) {
+                if (keyIs("text") && peek('"')) {
+                    readStringInto(text);
+                } else {
+                    skipValue();
+                }
+            }
+        }
+    }
+
+    // =======================
+    // Course array
+    // =======================
+
+    /**
+     * Reads every course object in the model text. Anything around the objects (Markdown fences,
+     * the enclosing '[' ... ']', stray prose) is ignored. Duplicate codes and objects without a
+     * course code are dropped, malformed objects are skipped.
+     */
+    public List<Course> readCourses(CharSequence modelText) {
+        List<Course> courses = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+        reset(modelText);
+
+        while (pos < src.length()) {
+            if (src.charAt(pos) != '{') {
+                pos++;
+                continue;
+            }
+            int objectStart = pos;
+            try {
+                Course course = readCourseObject();
+                if (course != null && seenCodes.add(course.getCourseCode())) {
+                    courses.add(course);
+                }
+            } catch (IllegalStateException e) {
+                System.err.println("Skipping malformed object.");
+                pos = objectStart + 1; // resync on the next '{'
+            }
+        }
+        return courses;
+    }
+
+    /** Reads a single course object, e.g. one emitted by {@link CourseObjectSplitter}. Returns null if unusable. */
+    public Course readCourse(CharSequence objectText) {
+        reset(objectText);
+        skipWhitespace();
+        if (!peek('{')) return null;
+        try {
+            return readCourseObject();
+        } catch (IllegalStateException e) {
+            System.err.println("Skipping malformed object.");
+            return null;
+        }
+    }
+
+    private Course readCourseObject() {
+        Arrays.fill(values, null);
+        int rank = 1;
+
+        beginObject();
+        while (nextMember()) {
+            int field = matchCourseKey();
+            if (field < 0) {
+                skipValue();
+            } else if (field == RANK) {
+                rank = readRank(rank);
+            } else if (peek('"')) {
+                values[field] = readString();
+            } else if (field == KEYWORDS && peek('[')) {
+                values[field] = readStringArrayJoined();
+            } else {
+                skipValue();
+            }
+        }
+
+        String code = values[CODE];
+        if (code == null || code.isEmpty() || code.equals(MISSING)) return null;
+
+        String keywords = values[KEYWORDS] == null ? "General Interest" : values[KEYWORDS];
+        return new Course(code, orMissing(values[NAME]), orMissing(values[DESCRIPTION]), orMissing(values[PREREQS]),
+                rank, keywords, orMissing(values[EXPLANATION]));
+    }
+
+    private int readRank(int fallback) {
+        if (peek('"')) {
+            try {
+                return Integer.parseInt(readString().trim());
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+        char c = pos < src.length() ? src.charAt(pos) : 0;
+        if (c != '-' && (c < '0' || c > '9')) {
+            skipValue();
+            return fallback;
+        }
+        boolean negative = c == '-';
+        if (negative) pos++;
+        int value = 0;
+        while (pos < src.length() && src.charAt(pos) >= '0' && src.charAt(pos) <= '9') {
+            value = value * 10 + (src.charAt(pos++) - '0');
+        }
+        skipValue(); // fraction / exponent, if any
+        return negative ? -value : value;
+    }
+
+    private String readStringArrayJoined() {
+        StringBuilder joined = new StringBuilder();
+        pos++; // '['
+        while (nextElement()) {
+            if (peek('"')) {
+                if (joined.length() > 0) joined.append(", ");
+                readStringInto(joined);
+            } else {
+                skipValue();
+            }
+        }
+        return joined.toString();
+    }
+
+    private static String orMissing(String value) {
+        return value == null ? MISSING : value;
+    }
+
+    // =======================
+    // Tokenizer
+    // =======================
+
+    private int keyStart, keyEnd; // raw bounds of the current member name (between the quotes)
+    private boolean keyEscaped;
+
+    private void reset(CharSequence source) {
+        this.src = source;
+        this.pos = 0;
+    }
+
+    private void beginObject() {
+        expect('{');
+    }
+
+    /**
+     * Advances to the next member of the current object and leaves {@code pos} on its value.
+     * Returns false (after consuming '}') when the object is finished.
+     */
+    private boolean nextMember() {
+        skipWhitespace();
+        if (peek('}')) {
+            pos++;
+            return false;
+        }
+        if (peek(',')) {
+            pos++;
+            skipWhitespace();
+        }
+
+        expect('"');
+        keyStart = pos;
+        keyEscaped = false;
+        while (true) {
+            char c = charAt(pos++);
+            if (c == '"') break;
+            if (c == '\\') {
+                keyEscaped = true;
+                pos++;
+            }
+        }
+        keyEnd = pos - 1;
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+        return true;
+    }
+
+    /** Advances to the next array element; returns false (after consuming ']') at the end. */
+    private boolean nextElement() {
+        skipWhitespace();
+        if (peek(']')) {
+            pos++;
+            return false;
+        }
+        if (peek(',')) {
+            pos++;
+            skipWhitespace();
+        }
+        return true;
+    }
+
+    private boolean keyIs(String name) {
+        if (keyEscaped) return decodeKey().equals(name);
+        int len = keyEnd - keyStart;
+        if (len != name.length()) return false;
+        for (int i = 0; i < len; i++) {
+            if (src.charAt(keyStart + i) != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private int matchCourseKey() {
+        for (int i = 0; i < COURSE_KEYS.length; i++) {
+            if (keyIs(COURSE_KEYS[i])) return i;
+        }
+        return -1;
+    }
+
+    private String decodeKey() {
+        int saved = pos;
+        pos = keyStart - 1;
+        String key = readString();
+        pos = saved;
+        return key;
+    }
+
+    private String readString() {
+        expect('"');
+        int start = pos;
+        // Fast path: no escapes, copy the raw slice once
+        while (pos < src.length()) {
+            char c = src.charAt(pos);
+            if (c == '"') {
+                String value = src.subSequence(start, pos).toString();
+                pos++;
+                return value;
+            }
+            if (c == '\\') break;
+            pos++;
+        }
+        // Slow path: decode escapes into the reusable buffer
+        pos = start - 1;
+        scratch.setLength(0);
+        readStringInto(scratch);
+        return scratch.toString();
+    }
+
+    private void readStringInto(StringBuilder out) {
+        expect('"');
+        while (true) {
+            char c = charAt(pos++);
+            if (c == '"') return;
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            char esc = charAt(pos++);
+            switch (esc) {
+                case 'n': out.append('\n'); break;
+                case 't': out.append('\t'); break;
+                case 'r': out.append('\r'); break;
+                case 'b': out.append('\b'); break;
+                case 'f': out.append('\f'); break;
+                case 'u': out.append(readHex4()); break;
+                default: out.append(esc); // \" \\ \/
+            }
+        }
+    }
+
+    private char readHex4() {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(charAt(pos++), 16);
+            if (digit < 0) throw new IllegalStateException("Bad \\u escape at " + pos);
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+
+    /** Skips any value (string, number, literal, object or array) without materializing it. */
+    private void skipValue() {
+        skipWhitespace();
+        char c = charAt(pos);
+        if (c == '"') {
+            skipString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = charAt(pos);
+                if (c == '"') {
+                    skipString();
+                    continue;
+                }
+                if (c == '{' || c == '[') depth++;
+                else if (c == '}' || c == ']') depth--;
+                pos++;
+            } while (depth > 0);
+        } else {
+            // number, true, false, null
+            while (pos < src.length()) {
+                c = src.charAt(pos);
+                if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) break;
+                pos++;
+            }
+        }
+    }
+
+    private void skipString() {
+        pos++; // opening quote
+        while (true) {
+            char c = charAt(pos++);
+            if (c == '"') return;
+            if (c == '\\') pos++;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) pos++;
+    }
+
+    private boolean peek(char expected) {
+        return pos < src.length() && src.charAt(pos) == expected;
+    }
+
+    private void expect(char expected) {
+        if (charAt(pos) != expected) {
+            throw new IllegalStateException("Expected '" + expected + "' at " + pos);
+        }
+        pos++;
+    }
+
+    private char charAt(int index) {
+        if (index >= src.length()) throw new IllegalStateException("Unexpected end of JSON");
+        return src.charAt(index);
+    }
+}
@@ -0,0 +1,52 @@
+package data_access;
+
+import java.util.function.Consumer;
+
+/**
+ * Incrementally cuts the model's JSON array into individual course objects.
+ * Text arrives in arbitrary chunks (one per streamed event); every time a top-level
+ * {@code {...}} object closes, its source text is handed to the callback.
+ * Anything outside an object (Markdown fences, '[', ',', ']') is ignored.
+ */
+class CourseObjectSplitter {
+    private final Consumer<String> onObject;
+    private final StringBuilder current = new StringBuilder();
+    private int depth = 0;
+    private boolean inString = false;
+    private boolean escaped = false;
+
+    CourseObjectSplitter(Consumer<String> onObject) {
+        this.onObject = onObject;
+    }
+
+    void accept(CharSequence chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (depth == 0) {
+                if (c == '{') {
+                    depth = 1;
+                    current.setLength(0);
+                    current.append(c);
+                }
+                continue;
+            }
+
+            current.append(c);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                onObject.accept(current.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package data_access;
+
+import entity.Course;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Uses the primary engine (normally Gemini) and switches to the fallback engine (normally
+ * {@link LocalCourseRecommender}) when the primary fails or finds nothing.
+ *
+ * If the fallback finds nothing either, the primary's error is reported so outages are not
+ * disguised as "no courses found". A stream that already delivered courses before failing
+ * keeps them instead of switching engines mid-list.
+ */
+public class FallbackRecommendationDataAccessObject implements RecommendCoursesDataAccessInterface {
+    private final RecommendCoursesDataAccessInterface primary;
+    private final RecommendCoursesDataAccessInterface fallback;
+
+    public FallbackRecommendationDataAccessObject(RecommendCoursesDataAccessInterface primary,
+                                                  RecommendCoursesDataAccessInterface fallback) {
+        this.primary = primary;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
+        RuntimeException primaryError = null;
+        try {
+            List<Course> courses = primary.getRecommendations(interests, completedCourses, apiKey);
+            if (courses != null && !courses.isEmpty()) return courses;
+        } catch (RuntimeException e) {
+            primaryError = e;
+            System.err.println("Primary recommender failed, using fallback: " + e.getMessage());
+        }
+
+        List<Course> courses = fallback.getRecommendations(interests, completedCourses, apiKey);
+        if (courses.isEmpty() && primaryError != null) throw primaryError;
+        return courses;
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        return start(() -> primary.getRecommendationsAsync(interests, completedCourses, apiKey))
+                .handle((courses, error) -> {
+                    if (error == null && courses != null && !courses.isEmpty()) {
+                        return CompletableFuture.completedFuture(courses);
+                    }
+                    logFailure(error);
+                    return fallbackOrError(start(() -> fallback.getRecommendationsAsync(interests, completedCourses, apiKey)), error);
+                })
+                .thenCompose(future -> future);
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                 Consumer<Course> onCourse) {
+        List<Course> delivered = Collections.synchronizedList(new ArrayList<>());
+        Consumer<Course> tracking = course -> {
+            delivered.add(course);
+            onCourse.accept(course);
+        };
+
+        return start(() -> primary.streamRecommendations(interests, completedCourses, apiKey, tracking))
+                .handle((courses, error) -> {
+                    if (error == null && courses != null && !courses.isEmpty()) {
+                        return CompletableFuture.completedFuture(courses);
+                    }
+                    if (!delivered.isEmpty()) {
+                        return CompletableFuture.completedFuture((List<Course>) new ArrayList<>(delivered));
+                    }
+                    logFailure(error);
+                    return fallbackOrError(start(() -> fallback.streamRecommendations(interests, completedCourses, apiKey, onCourse)), error);
+                })
+                .thenCompose(future -> future);
+    }
+
+    /** Turns a synchronous throw (e.g. missing API key) into a failed future so it also falls back. */
+    private static CompletableFuture<List<Course>> start(Supplier<CompletableFuture<List<Course>>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static CompletableFuture<List<Course>> fallbackOrError(CompletableFuture<List<Course>> fallbackResult,
+                                                                    Throwable primaryError) {
+        if (primaryError == null) return fallbackResult;
+        return fallbackResult.thenApply(courses -> {
+            if (courses.isEmpty()) throw new CompletionException(unwrap(primaryError));
+            return courses;
+        });
+    }
+
+    private static void logFailure(Throwable error) {
+        if (error != null) {
+            System.err.println("Primary recommender failed, using fallback: " + unwrap(error).getMessage());
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,111 @@
+package data_access;
+
+import entity.Course;
+import entity.CourseCodeCanonicalizer;
+import use_case.recommend_courses.InterestTopics;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Splits a query with several unrelated interests into topic groups ({@link InterestTopics}),
+ * asks the delegate about every group at once and merges the answers into one ranking. A single
+ * prompt returns 3-5 courses for everything the student typed; fanned out, each topic gets its
+ * own 3-5 while the wait stays close to one call, since the calls overlap.
+ *
+ * The delegate's async calls are already non-blocking, so no threads are added here. Topics that
+ * fail are left out of the merge; the query only fails if every topic does. Streamed courses are
+ * passed on as they arrive (first sighting of each code only), and the final list is the merged
+ * ranking.
+ */
+public class FanOutRecommendationDataAccessObject implements RecommendCoursesDataAccessInterface {
+
+    private final RecommendCoursesDataAccessInterface delegate;
+    private final int maxTopics;
+
+    public FanOutRecommendationDataAccessObject(RecommendCoursesDataAccessInterface delegate, int maxTopics) {
+        this.delegate = delegate;
+        this.maxTopics = maxTopics;
+    }
+
+    @Override
+    public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
+        List<String> topics = InterestTopics.split(interests, maxTopics);
+        if (topics.size() <= 1) return delegate.getRecommendations(interests, completedCourses, apiKey);
+        try {
+            return getRecommendationsAsync(interests, completedCourses, apiKey).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        List<String> topics = InterestTopics.split(interests, maxTopics);
+        if (topics.size() <= 1) return delegate.getRecommendationsAsync(interests, completedCourses, apiKey);
+
+        List<CompletableFuture<List<Course>>> calls = new ArrayList<>(topics.size());
+        for (String topic : topics) {
+            calls.add(start(() -> delegate.getRecommendationsAsync(topic, completedCourses, apiKey)));
+        }
+        return mergeWhenDone(calls);
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                 Consumer<Course> onCourse) {
+        List<String> topics = InterestTopics.split(interests, maxTopics);
+        if (topics.size() <= 1) return delegate.streamRecommendations(interests, completedCourses, apiKey, onCourse);
+
+        CourseCodeCanonicalizer.SeenCodes shown = new CourseCodeCanonicalizer.SeenCodes();
+        Consumer<Course> firstSighting = course -> {
+            synchronized (shown) {
+                if (!shown.add(course.getCourseCode())) return;
+            }
+            onCourse.accept(course);
+        };
+        List<CompletableFuture<List<Course>>> calls = new ArrayList<>(topics.size());
+        for (String topic : topics) {
+            calls.add(start(() -> delegate.streamRecommendations(topic, completedCourses, apiKey, firstSighting)));
+        }
+        return mergeWhenDone(calls);
+    }
+
+    private static CompletableFuture<List<Course>> mergeWhenDone(List<CompletableFuture<List<Course>>> calls) {
+        // Wait for every topic, successful or not, then merge whatever came back
+        CompletableFuture<?>[] settled = new CompletableFuture<?>[calls.size()];
+        for (int i = 0; i < calls.size(); i++) settled[i] = calls.get(i).handle((courses, error) -> null);
+
+        return CompletableFuture.allOf(settled).thenApply(done -> {
+            List<List<Course>> perTopic = new ArrayList<>(calls.size());
+            Throwable firstError = null;
+            for (CompletableFuture<List<Course>> call : calls) {
+                try {
+                    perTopic.add(call.join());
+                } catch (CompletionException e) {
+                    if (firstError == null) firstError = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("Topic search failed: " + (e.getCause() != null ? e.getCause() : e).getMessage());
+                }
+            }
+            if (perTopic.isEmpty()) throw new CompletionException(firstError);
+            List<Course> merged = InterestTopics.merge(perTopic);
+            // Nothing new was fetched if every topic was a cache hit
+            boolean allCached = perTopic.stream().allMatch(CachingRecommendationDataAccessObject::isCached);
+            return allCached ? new CachingRecommendationDataAccessObject.CachedCourses(merged) : merged;
+        });
+    }
+
+    /** Turns a synchronous throw (e.g. missing API key) into a failed future. */
+    private static CompletableFuture<List<Course>> start(Supplier<CompletableFuture<List<Course>>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -1,40 +1,181 @@
 package data_access;
 
+import catalog.CourseCatalog;
 import entity.Course;
+import entity.CourseCodeCanonicalizer;
 import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
-import use_case.why_courses.WhyCoursesDataAccessInterface;
 
-import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class GeminiCourseDataAccessObject implements RecommendCoursesDataAccessInterface {
+
+    private static final String DEFAULT_BASE_URL = "https://generativelanguage.googleapis.com/v1beta";
+    private static final String DEFAULT_MODEL = "gemini-2.0-flash";
+    private static final int HYBRID_CANDIDATES = 12;
+
+    private final String generateEndpoint;
+    private final String streamEndpoint;
+    private final HttpClient httpClient;
+    private final ResilientHttpSender sender;
+    private final QuotaGovernor quotaGovernor;
+    private final CaptureRecorder captureRecorder;
+    private final GeminiRequestMode mode;
+    private final LocalCourseRecommender candidateSource; // HYBRID only
+    private final HedgingPolicy hedgingPolicy;
+
+    // ==== Monitoring ====
+    private final LatencyHistogram generateLatency = new LatencyHistogram();
+    private final LatencyHistogram firstCourseLatency = new LatencyHistogram();
+    private final AtomicLong hedgesIssued = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+
+    // Runs HTTP callbacks and reads streamed bodies, so they never land on the caller's thread
+    private final ExecutorService httpExecutor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "gemini-http");
+        t.setDaemon(true);
+        return t;
+    });
 
-public class GeminiCourseDataAccessObject implements RecommendCoursesDataAccessInterface, WhyCoursesDataAccessInterface {
+    public GeminiCourseDataAccessObject() {
+        this(configuredModelUrl(), new QuotaGovernor(), CaptureRecorder.fromEnvironment());
+    }
 
-    private static final String GEMINI_ENDPOINT = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent";
-    private final HttpClient httpClient;
+    /**
+     * @param modelUrl e.g. "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash",
+     *                 or a local stand-in such as {@link GeminiStubServer}
+     */
+    public GeminiCourseDataAccessObject(String modelUrl, QuotaGovernor quotaGovernor, CaptureRecorder captureRecorder) {
+        this(modelUrl, quotaGovernor, captureRecorder, GeminiRequestMode.GROUNDED, null);
+    }
 
-    // Cache for explanations: CourseCode -> Explanation
-    private final Map<String, String> explanationCache = new HashMap<>();
+    /**
+     * @param catalog source of candidates and course details for {@link GeminiRequestMode#HYBRID};
+     *                may be null for GROUNDED
+     */
+    public GeminiCourseDataAccessObject(String modelUrl, QuotaGovernor quotaGovernor, CaptureRecorder captureRecorder,
+                                        GeminiRequestMode mode, CourseCatalog catalog) {
+        this(modelUrl, quotaGovernor, captureRecorder, mode, catalog, HedgingPolicy.disabled());
+    }
 
-    public GeminiCourseDataAccessObject() {
+    public GeminiCourseDataAccessObject(String modelUrl, QuotaGovernor quotaGovernor, CaptureRecorder captureRecorder,
+                                        GeminiRequestMode mode, CourseCatalog catalog, HedgingPolicy hedgingPolicy) {
+        if (mode == GeminiRequestMode.HYBRID && catalog == null) {
+            throw new IllegalArgumentException("Hybrid requests need a course catalog");
+        }
+        this.mode = mode;
+        this.hedgingPolicy = hedgingPolicy;
+        this.candidateSource = catalog == null ? null : new LocalCourseRecommender(catalog, HYBRID_CANDIDATES);
+        this.generateEndpoint = modelUrl + ":generateContent";
+        this.streamEndpoint = modelUrl + ":streamGenerateContent";
+        this.quotaGovernor = quotaGovernor;
+        this.captureRecorder = captureRecorder;
         this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(60))
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
                 .build();
+        this.sender = new ResilientHttpSender(httpClient, httpExecutor);
+    }
+
+    /** Model URL from GEMINI_BASE_URL / GEMINI_MODEL (system property or environment), else the public API. */
+    public static String configuredModelUrl() {
+        return modelUrl(setting("GEMINI_MODEL", DEFAULT_MODEL));
+    }
+
+    /** URL of the named model (e.g. "gemini-2.5-flash") under GEMINI_BASE_URL. */
+    public static String modelUrl(String model) {
+        return setting("GEMINI_BASE_URL", DEFAULT_BASE_URL) + "/models/" + model;
+    }
+
+    private static String setting(String name, String fallback) {
+        String value = System.getProperty(name, System.getenv(name));
+        return (value == null || value.isBlank()) ? fallback : value.trim();
     }
 
     @Override
     public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
-        // Clear cache on new search to keep memory clean and relevant
-        explanationCache.clear();
+        try {
+            return getRecommendationsAsync(interests, completedCourses, apiKey).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException("Error during API call", e.getCause());
+        }
+    }
+
+    /**
+     * Same as {@link #getRecommendations} but built on {@link HttpClient#sendAsync}, so the
+     * calling thread (usually the Swing EDT) is never blocked for the Gemini round trip.
+     */
+    @Override
+    public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        PreparedRequest prepared = prepareRequest(interests, completedCourses, apiKey);
+        HttpRequest request = newRequest(generateEndpoint + "?key=", apiKey, prepared.body);
+        long start = System.nanoTime();
+        HedgedCall<List<Course>> call = new HedgedCall<>(quotaGovernor, apiKey, generateLatency,
+                hedgingPolicy.delayMillis(generateLatency), false, hedgesIssued, hedgesWon);
+        return call.start(attempt -> attempt.track(sender.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .thenApply(response -> {
+                    if (captureRecorder.shouldSample()) {
+                        captureRecorder.record(prepared.body, response.statusCode(), response.body(), elapsedMillis(start));
+                    }
+                    return handleResponse(response, prepared);
+                }));
+    }
+
+    /**
+     * Uses streamGenerateContent (server-sent events) and parses each course as soon as its
+     * JSON object closes, instead of waiting for the last generated token.
+     */
+    @Override
+    public CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                 Consumer<Course> onCourse) {
+        PreparedRequest prepared = prepareRequest(interests, completedCourses, apiKey);
+        HttpRequest request = newRequest(streamEndpoint + "?alt=sse&key=", apiKey, prepared.body);
+        long start = System.nanoTime();
+        // A hedged stream is judged on time to its first course; only the first to deliver one is shown
+        HedgedCall<List<Course>> call = new HedgedCall<>(quotaGovernor, apiKey, firstCourseLatency,
+                hedgingPolicy.delayMillis(firstCourseLatency), true, hedgesIssued, hedgesWon);
+        return call.start(attempt -> attempt.track(sender.sendAsync(request, HttpResponse.BodyHandlers.ofLines()))
+                .thenApplyAsync(response -> readStream(response, course -> {
+                    if (call.claim(attempt)) onCourse.accept(course);
+                }, prepared, start, attempt), httpExecutor));
+    }
+
+    /** A request body plus what to do with each parsed course (null from {@code finish} drops it). */
+    private static final class PreparedRequest {
+        final String body;
+        final UnaryOperator<Course> finish;
+        final CourseCodeCanonicalizer.SeenCodes completed;
+
+        PreparedRequest(String body, UnaryOperator<Course> finish, List<String> completedCourses) {
+            this.body = body;
+            this.finish = finish;
+            this.completed = CourseCodeCanonicalizer.SeenCodes.of(completedCourses);
+        }
+
+        /** The finished course the first time its code (in any spelling) is seen, unless already completed. */
+        Course admit(Course parsed, CourseCodeCanonicalizer.SeenCodes seen) {
+            Course course = parsed == null ? null : finish.apply(parsed);
+            if (course == null) return null;
+            if (completed.contains(course.getCourseCode())) return null;
+            return seen.add(course.getCourseCode()) ? course : null;
+        }
+    }
 
+    private PreparedRequest prepareRequest(String interests, List<String> completedCourses, String apiKey) {
         if (apiKey == null || apiKey.trim().isEmpty()) {
             throw new IllegalArgumentException("API Key is missing. Please set it in the settings.");
         }
@@ -43,107 +184,154 @@ public class GeminiCourseDataAccessObject implements RecommendCoursesDataAccessI
             throw new IllegalArgumentException("At least one interest is required");
         }
 
-        try {
-            String prompt = buildPrompt(interests, completedCourses);
-            String requestBody = buildRequestBody(prompt);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(GEMINI_ENDPOINT + "?key=" + apiKey))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            // DEBUG: Save response to file
-            try {
-                Files.writeString(Paths.get("gemini_debug.json"), response.body());
-            } catch (Exception ignored) {
-            }
-
-            if (response.statusCode() != 200) {
-                throw new RuntimeException("Gemini API Failed: " + response.statusCode() + " " + response.body());
-            }
-
-            if (response.body().contains("\"finishReason\": \"RECITATION\"")) {
-                System.err.println("Gemini blocked output due to Copyright/Recitation.");
-                return new ArrayList<>();
+        if (mode == GeminiRequestMode.HYBRID) {
+            List<Course> candidates = candidateSource.getRecommendations(interests, completedCourses, null);
+            // Nothing local to re-rank: let Gemini search instead
+            if (!candidates.isEmpty()) {
+                return new PreparedRequest(buildRequestBody(buildHybridPrompt(interests, completedCourses, candidates), false),
+                        fromCandidates(candidates), completedCourses);
             }
+        }
+        if (mode == GeminiRequestMode.STRUCTURED) {
+            return new PreparedRequest(buildStructuredRequestBody(buildStructuredPrompt(interests, completedCourses)),
+                    UnaryOperator.identity(), completedCourses);
+        }
+        if (mode == GeminiRequestMode.UNGROUNDED) {
+            return new PreparedRequest(buildRequestBody(buildUngroundedPrompt(interests, completedCourses), false),
+                    UnaryOperator.identity(), completedCourses);
+        }
+        return new PreparedRequest(buildRequestBody(buildPrompt(interests, completedCourses)), UnaryOperator.identity(),
+                completedCourses);
+    }
 
-            String jsonArrayString = extractModelJson(response.body());
-            return parseJsonToCourseList(jsonArrayString);
-
-        } catch (IOException | InterruptedException e) {
-            throw new RuntimeException("Error during API call", e);
+    /** Keeps only candidate codes and fills the catalog fields the short hybrid answer leaves out. */
+    private static UnaryOperator<Course> fromCandidates(List<Course> candidates) {
+        // CSC207H1 and CSC207H5 stay apart; a bare "CSC207" answer means the first-ranked variant
+        Map<String, Course> byCode = new HashMap<>();
+        Map<String, Course> byBase = new HashMap<>();
+        for (Course candidate : candidates) {
+            byCode.putIfAbsent(CourseCodeCanonicalizer.canonical(candidate.getCourseCode()), candidate);
+            byBase.putIfAbsent(CourseCodeCanonicalizer.base(candidate.getCourseCode()), candidate);
         }
+        return answer -> {
+            String code = CourseCodeCanonicalizer.canonical(answer.getCourseCode());
+            Course candidate = byCode.get(code);
+            if (candidate == null && code.equals(CourseCodeCanonicalizer.base(code))) candidate = byBase.get(code);
+            if (candidate == null) return null;
+            String explanation = answer.getExplanation().equals("N/A")
+                    ? candidate.getExplanation() : answer.getExplanation();
+            return candidate.withRanking(answer.getCourseRank(), explanation);
+        };
     }
 
-    @Override
-    public String getRationaleForCourse(String courseCode) {
-        return explanationCache.get(courseCode);
+    private HttpRequest newRequest(String endpoint, String apiKey, String requestBody) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(endpoint + apiKey))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
     }
 
-    private List<Course> parseJsonToCourseList(String jsonString) {
-        List<Course> courses = new ArrayList<>();
-        Set<String> seenCodes = new HashSet<>();
+    private List<Course> handleResponse(HttpResponse<String> response, PreparedRequest prepared) {
+        if (response.statusCode() != 200) {
+            throw new RuntimeException("Gemini API Failed: " + response.statusCode() + " " + response.body());
+        }
 
-        String[] objectStrings = jsonString.split("\\}\\s*,\\s*\\{");
+        CourseJsonReader reader = new CourseJsonReader();
+        String modelText = reader.readModelText(response.body());
+        if ("RECITATION".equals(reader.getFinishReason())) {
+            System.err.println("Gemini blocked output due to Copyright/Recitation.");
+            return new ArrayList<>();
+        }
 
-        for (String objStr : objectStrings) {
-            try {
-                String code = extractValue(objStr, "course_code");
+        List<Course> courses = new ArrayList<>();
+        CourseCodeCanonicalizer.SeenCodes seen = new CourseCodeCanonicalizer.SeenCodes();
+        for (Course parsed : reader.readCourses(modelText)) {
+            Course course = prepared.admit(parsed, seen);
+            if (course != null) courses.add(course);
+        }
+        return courses;
+    }
 
-                if (seenCodes.contains(code) || code.equals("N/A")) {
-                    continue;
+    private List<Course> readStream(HttpResponse<Stream<String>> response, Consumer<Course> onCourse,
+                                    PreparedRequest prepared, long startNanos, HedgedCall.Attempt attempt) {
+        String requestBody = prepared.body;
+        try (Stream<String> lines = response.body()) {
+            attempt.track(lines);
+            if (response.statusCode() != 200) {
+                String body = lines.collect(Collectors.joining("\n"));
+                if (captureRecorder.shouldSample()) {
+                    captureRecorder.record(requestBody, response.statusCode(), body, elapsedMillis(startNanos));
                 }
-                seenCodes.add(code);
-
-                String name = extractValue(objStr, "course_name");
-                String desc = extractValue(objStr, "course_description");
-                String explanation = extractValue(objStr, "explanation");
-
-                // Extract the prerequisites (which are now grounded by search)
-                String prereqs = extractValue(objStr, "prerequisite_codes");
-
-                // Extract keywords (added to fix the empty display)
-                String keywords = extractValue(objStr, "course_keywords");
-                if (keywords.equals("N/A")) keywords = "General Interest";
+                throw new RuntimeException("Gemini API Failed: " + response.statusCode() + " " + body);
+            }
 
-                // Store explanation in cache
-                explanationCache.put(code, explanation);
+            // Only keep a copy of the raw events when this exchange is being captured
+            StringBuilder captured = captureRecorder.shouldSample() ? new StringBuilder() : null;
+
+            List<Course> courses = new ArrayList<>();
+            CourseCodeCanonicalizer.SeenCodes seen = new CourseCodeCanonicalizer.SeenCodes();
+            CourseJsonReader reader = new CourseJsonReader();
+            CourseObjectSplitter splitter = new CourseObjectSplitter(objStr -> {
+                Course course = prepared.admit(reader.readCourse(objStr), seen);
+                if (course != null) {
+                    courses.add(course);
+                    onCourse.accept(course);
+                }
+            });
+
+            // Each SSE event is "data: <GenerateContentResponse JSON>" holding the next slice of text
+            Iterator<String> it = lines.iterator();
+            while (it.hasNext()) {
+                if (attempt.isCancelled()) return courses; // the other hedged attempt won
+                String line = it.next();
+                if (captured != null) captured.append(line).append('\n');
+                if (!line.startsWith("data:")) continue;
+                String event = line.substring("data:".length());
+
+                String text = reader.readModelText(event);
+                splitter.accept(text);
+                if ("RECITATION".equals(reader.getFinishReason())) {
+                    System.err.println("Gemini blocked output due to Copyright/Recitation.");
+                    break;
+                }
+            }
+            if (captured != null) {
+                captureRecorder.record(requestBody, response.statusCode(), captured.toString(), elapsedMillis(startNanos));
+            }
+            return courses;
+        }
+    }
 
-                int rank = 1;
-                try {
-                    String rankStr = extractValue(objStr, "course_rank");
-                    rank = Integer.parseInt(rankStr);
-                } catch (NumberFormatException e) { /* default */ }
+    /** Recent generateContent latencies (successful calls), in milliseconds. */
+    public LatencyHistogram getGenerateLatency() {
+        return generateLatency;
+    }
 
-                // Pass the extracted keywords and prereqs to the Course entity
-                Course course = new Course(code, name, desc, prereqs, rank, keywords, explanation);
-                courses.add(course);
+    /** Recent times from sending a streamed request to its first course, in milliseconds. */
+    public LatencyHistogram getFirstCourseLatency() {
+        return firstCourseLatency;
+    }
 
-            } catch (Exception e) {
-                System.err.println("Skipping malformed object.");
-            }
-        }
-        return courses;
+    public long getHedgesIssued() {
+        return hedgesIssued.get();
     }
 
-    private String extractValue(String source, String key) {
-        // Regex to handle standard JSON string values
-        Pattern pattern = Pattern.compile("\"" + key + "\":\\s*\"(.*?)\"");
-        Matcher matcher = pattern.matcher(source);
-        if (matcher.find()) return matcher.group(1);
+    /** Hedges that answered before the original request. */
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
 
-        // Regex to handle integers (like course_rank)
-        Pattern numPattern = Pattern.compile("\"" + key + "\":\\s*(\\d+)");
-        Matcher numMatcher = numPattern.matcher(source);
-        if (numMatcher.find()) return numMatcher.group(1);
+    /** Retry / circuit-breaker counters and state, for monitoring. */
+    public ResilientHttpSender getSender() {
+        return sender;
+    }
 
-        return "N/A";
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
     }
 
-    private String buildPrompt(String interests, List<String> completedCourses) {
+    static String buildPrompt(String interests, List<String> completedCourses) {
         String completedText = (completedCourses == null || completedCourses.isEmpty()) ? "none" : String.join(", ", completedCourses);
 
         // UPDATED PROMPT:
@@ -171,39 +359,104 @@ public class GeminiCourseDataAccessObject implements RecommendCoursesDataAccessI
         );
     }
 
-    private String buildRequestBody(String prompt) {
-        String escapedPrompt = prompt.replace("\"", "\\\"").replace("\n", "\\n");
+    /** The same task without the search tool; codes are checked locally afterwards instead. */
+    static String buildUngroundedPrompt(String interests, List<String> completedCourses) {
+        String completedText = (completedCourses == null || completedCourses.isEmpty()) ? "none" : String.join(", ", completedCourses);
+        return String.format(
+                "You are a course recommendation assistant for UofT.\n" +
+                        "Interests: %s\n" +
+                        "Completed: %s\n" +
+                        "Task: Recommend 3-5 valid UofT courses.\n" +
+                        "Only use course codes that exist in the 2024-2025 calendar; unknown codes are discarded.\n" +
+                        "Give the prerequisites as listed in the 2024-2025 calendar, or \"N/A\" if unsure.\n\n" +
+                        "Output JSON Array ONLY. Keys:\n" +
+                        "1. course_code (string)\n" +
+                        "2. course_name (string)\n" +
+                        "3. course_description (string)\n" +
+                        "4. prerequisite_codes (string)\n" +
+                        "5. course_rank (integer)\n" +
+                        "6. course_keywords (string: comma-separated keywords)\n" +
+                        "7. explanation (string)\n" +
+                        "Do NOT use Markdown formatting.",
+                interests, completedText
+        );
+    }
+
+    static String buildRequestBody(String prompt) {
+        return buildRequestBody(prompt, true);
+    }
+
+    static String buildRequestBody(String prompt, boolean searchGrounding) {
         // Ensure the tool definition is present so the prompt instructions can actually work
         return "{"
-                + "\"contents\":[{\"parts\":[{\"text\":\"" + escapedPrompt + "\"}]}],"
-                + "\"tools\": [{\"google_search\": {}}]"
+                + "\"contents\":[{\"parts\":[{\"text\":" + CaptureRecorder.quote(prompt) + "}]}]"
+                + (searchGrounding ? ",\"tools\": [{\"google_search\": {}}]" : "")
                 + "}";
     }
 
-    private String extractModelJson(String responseBody) {
-        String marker = "\"text\":";
-        int markerIndex = responseBody.indexOf(marker);
-        if (markerIndex < 0) return "[]";
-
-        int startQuote = responseBody.indexOf('"', markerIndex + marker.length());
-        int endQuote = responseBody.lastIndexOf('"');
-        if (endQuote <= startQuote) return "[]";
-
-        String rawContent = responseBody.substring(startQuote + 1, endQuote);
-
-        // Clean up escaped characters
-        String unescaped = rawContent.replace("\\\"", "\"").replace("\\n", " ");
+    /** Task-only prompt for {@link GeminiRequestMode#STRUCTURED}; the schema carries the output format. */
+    static String buildStructuredPrompt(String interests, List<String> completedCourses) {
+        String completedText = (completedCourses == null || completedCourses.isEmpty()) ? "none" : String.join(", ", completedCourses);
+        return String.format(
+                "You are a course recommendation assistant for UofT.\n" +
+                        "Interests: %s\n" +
+                        "Completed: %s\n" +
+                        "Task: Recommend 3-5 valid UofT courses, ranked by fit (course_rank 1 is best).\n" +
+                        "Only use course codes that exist in the 2024-2025 calendar; unknown codes are discarded.\n" +
+                        "Summarize course descriptions in your own words.\n" +
+                        "prerequisite_codes: as listed in the 2024-2025 calendar, or \"N/A\" if unsure.\n" +
+                        "explanation: why the course fits these interests.",
+                interests, completedText
+        );
+    }
 
-        if (unescaped.contains("```")) {
-            unescaped = unescaped.replaceAll("```json", "").replaceAll("```", "");
-        }
+    // Field order matters: course_code first lets streamed objects be checked as soon as they start
+    private static final String COURSE_SCHEMA = "{\"type\": \"ARRAY\", \"items\": {\"type\": \"OBJECT\", "
+            + "\"properties\": {"
+            + "\"course_code\": {\"type\": \"STRING\"}, "
+            + "\"course_name\": {\"type\": \"STRING\"}, "
+            + "\"course_description\": {\"type\": \"STRING\"}, "
+            + "\"prerequisite_codes\": {\"type\": \"STRING\"}, "
+            + "\"course_rank\": {\"type\": \"INTEGER\"}, "
+            + "\"course_keywords\": {\"type\": \"ARRAY\", \"items\": {\"type\": \"STRING\"}}, "
+            + "\"explanation\": {\"type\": \"STRING\"}}, "
+            + "\"required\": [\"course_code\", \"course_name\", \"course_description\", \"prerequisite_codes\", "
+            + "\"course_rank\", \"course_keywords\", \"explanation\"], "
+            + "\"propertyOrdering\": [\"course_code\", \"course_name\", \"course_description\", \"prerequisite_codes\", "
+            + "\"course_rank\", \"course_keywords\", \"explanation\"]}}";
+
+    /** A request for JSON output matching {@link #COURSE_SCHEMA}; Gemini does not allow tools alongside it. */
+    static String buildStructuredRequestBody(String prompt) {
+        return "{"
+                + "\"contents\":[{\"parts\":[{\"text\":" + CaptureRecorder.quote(prompt) + "}]}],"
+                + "\"generationConfig\":{\"responseMimeType\":\"application/json\",\"responseSchema\":" + COURSE_SCHEMA + "}"
+                + "}";
+    }
 
-        int arrayStart = unescaped.indexOf('[');
-        int arrayEnd = unescaped.lastIndexOf(']');
-        if (arrayStart >= 0 && arrayEnd > arrayStart) {
-            return unescaped.substring(arrayStart + 1, arrayEnd);
+    /**
+     * Short prompt for {@link GeminiRequestMode#HYBRID}: the candidates are listed up front and
+     * only the code, rank and explanation come back; the rest is filled from the catalog.
+     */
+    static String buildHybridPrompt(String interests, List<String> completedCourses, List<Course> candidates) {
+        String completedText = (completedCourses == null || completedCourses.isEmpty()) ? "none" : String.join(", ", completedCourses);
+        StringBuilder prompt = new StringBuilder(256 + candidates.size() * 160)
+                .append("You are a course recommendation assistant for UofT.\n")
+                .append("Interests: ").append(interests).append('\n')
+                .append("Completed: ").append(completedText).append('\n')
+                .append("Candidate courses (code | name | prerequisites | summary):\n");
+        for (Course c : candidates) {
+            String summary = c.getDescription();
+            if (summary.length() > 160) summary = summary.substring(0, 157) + "...";
+            prompt.append(c.getCourseCode()).append(" | ").append(c.getCourseName()).append(" | ")
+                    .append(c.getPrerequisiteCodes()).append(" | ").append(summary).append('\n');
         }
-
-        return unescaped.trim();
+        return prompt.append("Task: Choose the 3-5 candidates that best fit the interests and rank them. ")
+                .append("Use ONLY codes from the list.\n")
+                .append("Output JSON Array ONLY. Keys:\n")
+                .append("1. course_code (string)\n")
+                .append("2. course_rank (integer)\n")
+                .append("3. explanation (string: one or two sentences on why it fits these interests)\n")
+                .append("Do NOT use Markdown formatting.")
+                .toString();
     }
-}
\ No newline at end of file
+}
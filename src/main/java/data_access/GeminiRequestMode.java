@@ -0,0 +1,37 @@
+package data_access;
+
+/**
+ * How {@link GeminiCourseDataAccessObject} asks Gemini for recommendations.
+ */
+public enum GeminiRequestMode {
+    /** Gemini discovers courses itself, verified with the google_search tool (slowest, most tokens). */
+    GROUNDED,
+    /**
+     * The grounded prompt without the google_search tool: much faster, but codes are only
+     * trustworthy behind {@link ValidatingRecommendationDataAccessObject}.
+     */
+    UNGROUNDED,
+    /**
+     * Like {@link #UNGROUNDED}, but Gemini must answer with JSON matching the course schema
+     * (responseMimeType application/json plus a responseSchema), so the reply is a bare array
+     * with every field present instead of free text around it.
+     */
+    STRUCTURED,
+    /**
+     * The local catalog picks the top candidates and Gemini only re-ranks and explains them,
+     * without search grounding. Catalog fields fill in the rest of each course.
+     */
+    HYBRID;
+
+    /** From GEMINI_REQUEST_MODE (system property or environment); GROUNDED if unset or unknown. */
+    public static GeminiRequestMode fromEnvironment() {
+        String value = System.getProperty("GEMINI_REQUEST_MODE", System.getenv("GEMINI_REQUEST_MODE"));
+        if (value == null || value.isBlank()) return GROUNDED;
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring unknown GEMINI_REQUEST_MODE: " + value);
+            return GROUNDED;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package data_access;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local stand-in for the Gemini REST API, for load tests and offline development.
+ *
+ * Answers {@code POST .../models/<model>:generateContent} by replaying recorded response bodies
+ * round-robin, and {@code :streamGenerateContent} by re-chunking the recorded model text into
+ * SSE events. Latency, stream pacing and injected 429/503 errors (with {@code Retry-After}) are
+ * configurable. In record mode every request is proxied to the real API instead, and successful
+ * responses are saved so they can be replayed later.
+ *
+ * Point the app at it with {@code GEMINI_BASE_URL=http://localhost:<port>/v1beta}.
+ */
+public class GeminiStubServer {
+
+    /** How long the stub waits before answering a request. */
+    public static final class Latency {
+        private final String kind;
+        private final double a;
+        private final double b;
+
+        private Latency(String kind, double a, double b) {
+            this.kind = kind;
+            this.a = a;
+            this.b = b;
+        }
+
+        public static Latency none() {
+            return new Latency("fixed", 0, 0);
+        }
+
+        public static Latency fixed(long millis) {
+            return new Latency("fixed", millis, 0);
+        }
+
+        public static Latency uniform(long minMillis, long maxMillis) {
+            return new Latency("uniform", minMillis, maxMillis);
+        }
+
+        /** Heavy-tailed, like real model latency: median {@code medianMillis}, spread {@code sigma}. */
+        public static Latency logNormal(long medianMillis, double sigma) {
+            return new Latency("lognormal", medianMillis, sigma);
+        }
+
+        /** Parses "fixed:200", "uniform:100-800" or "lognormal:1200,0.5". */
+        public static Latency parse(String spec) {
+            String[] parts = spec.trim().split(":", 2);
+            try {
+                switch (parts[0].toLowerCase()) {
+                    case "none":
+                        return none();
+                    case "fixed":
+                        return fixed(Long.parseLong(parts[1].trim()));
+                    case "uniform": {
+                        String[] range = parts[1].split("-");
+                        return uniform(Long.parseLong(range[0].trim()), Long.parseLong(range[1].trim()));
+                    }
+                    case "lognormal": {
+                        String[] params = parts[1].split(",");
+                        return logNormal(Long.parseLong(params[0].trim()), Double.parseDouble(params[1].trim()));
+                    }
+                    default:
+                        break;
+                }
+            } catch (RuntimeException e) {
+                // fall through to the error below
+            }
+            throw new IllegalArgumentException("Bad latency spec: " + spec);
+        }
+
+        long sampleMillis() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            switch (kind) {
+                case "uniform":
+                    return (long) (a + random.nextDouble() * (b - a));
+                case "lognormal":
+                    return (long) (a * Math.exp(b * random.nextGaussian()));
+                default:
+                    return (long) a;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return kind + ":" + (kind.equals("fixed") ? String.valueOf((long) a) : (long) a + "," + b);
+        }
+    }
+
+    /** A replayable response: the original body when it was a plain generateContent envelope, and its model text. */
+    private static final class Recording {
+        final String body;
+        final String modelText;
+
+        Recording(String body, String modelText) {
+            this.body = body;
+            this.modelText = modelText;
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "gemini-stub");
+        t.setDaemon(true);
+        return t;
+    });
+    private final List<Recording> recordings = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextRecording = new AtomicInteger();
+
+    // ==== Behaviour (set before start()) ====
+    private volatile Latency latency = Latency.none();
+    private volatile double errorRate = 0;
+    private volatile int retryAfterSeconds = 1;
+    private volatile int streamChunks = 8;
+    private volatile long chunkDelayMillis = 0;
+    private volatile String upstreamOrigin;
+    private volatile Path recordDir;
+    private HttpClient upstreamClient;
+
+    // ==== Monitoring ====
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicInteger recorded = new AtomicInteger();
+    private volatile String lastRequestBody;
+
+    /** @param port 0 picks a free port, see {@link #getPort()} */
+    public GeminiStubServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Base URL to use as GEMINI_BASE_URL. */
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort() + "/v1beta";
+    }
+
+    // =======================
+    // Configuration
+    // =======================
+
+    /**
+     * Adds recordings from a file or a directory of files. Accepts plain generateContent bodies
+     * (e.g. gemini_debug.json), raw SSE streams, and {@link CaptureRecorder} JSONL files, from which
+     * the successful "response" fields are taken. Returns the number of recordings added.
+     */
+    public int loadRecordings(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(path)) {
+                files = listing.filter(p -> p.toString().matches(".*\\.(json|jsonl|sse)$"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+            int added = 0;
+            for (Path file : files) added += loadRecordings(file);
+            return added;
+        }
+
+        int before = recordings.size();
+        if (path.toString().endsWith(".jsonl")) {
+            CourseJsonReader reader = new CourseJsonReader();
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (!line.contains("\"status\":200")) continue;
+                addRecording(reader.readStringMember(line, "response"));
+            }
+        } else {
+            addRecording(Files.readString(path));
+        }
+        return recordings.size() - before;
+    }
+
+    /** Adds one response body; bodies without any model text are ignored. */
+    public void addRecording(String body) {
+        if (body == null) return;
+        CourseJsonReader reader = new CourseJsonReader();
+        if (body.trim().startsWith("{")) {
+            String text = reader.readModelText(body);
+            if (!text.isEmpty()) recordings.add(new Recording(body, text));
+            return;
+        }
+        // A streamed capture: stitch the events' text back together
+        StringBuilder text = new StringBuilder();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("data:")) text.append(reader.readModelText(line.substring(5)));
+        }
+        if (text.length() > 0) recordings.add(new Recording(null, text.toString()));
+    }
+
+    public int getRecordingCount() {
+        return recordings.size();
+    }
+
+    public void setLatency(Latency latency) {
+        this.latency = latency;
+    }
+
+    /** Fraction of requests answered with 429 or 503 instead of a recording. */
+    public void setErrorRate(double errorRate, int retryAfterSeconds) {
+        this.errorRate = errorRate;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /** How many SSE events a streamed answer is split into, and the pause between them. */
+    public void setStreaming(int chunks, long chunkDelayMillis) {
+        this.streamChunks = Math.max(1, chunks);
+        this.chunkDelayMillis = chunkDelayMillis;
+    }
+
+    /**
+     * Record mode: forward every request to {@code upstreamOrigin} (e.g.
+     * "https://generativelanguage.googleapis.com") and save successful responses to {@code dir}.
+     */
+    public void setRecordMode(String upstreamOrigin, Path dir) {
+        this.upstreamOrigin = upstreamOrigin.replaceAll("/+$", "");
+        this.recordDir = dir;
+        this.upstreamClient = HttpClient.newBuilder().executor(executor).build();
+    }
+
+    public long getServed() {
+        return served.get();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    /** The body of the most recent generate request, or null before the first one. */
+    public String getLastRequestBody() {
+        return lastRequestBody;
+    }
+
+    // =======================
+    // Request handling
+    // =======================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            boolean stream = path.endsWith(":streamGenerateContent");
+            if (!"POST".equals(exchange.getRequestMethod()) || !(stream || path.endsWith(":generateContent"))) {
+                send(exchange, 404, errorBody(404, "Unknown endpoint " + path, "NOT_FOUND"));
+                return;
+            }
+            String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            lastRequestBody = requestBody;
+
+            if (upstreamOrigin != null) {
+                proxyAndRecord(exchange, requestBody, stream);
+                return;
+            }
+
+            sleep(latency.sampleMillis());
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectError(exchange);
+                return;
+            }
+            if (recordings.isEmpty()) {
+                send(exchange, 500, errorBody(500, "Stub has no recordings loaded", "INTERNAL"));
+                return;
+            }
+
+            Recording recording = recordings.get(Math.floorMod(nextRecording.getAndIncrement(), recordings.size()));
+            served.incrementAndGet();
+            if (stream) {
+                sendStream(exchange, recording.modelText);
+            } else {
+                send(exchange, 200, recording.body != null ? recording.body : envelope(recording.modelText, "STOP"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Client went away mid-response; nothing to do
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void injectError(HttpExchange exchange) throws IOException {
+        injectedErrors.incrementAndGet();
+        boolean rateLimited = ThreadLocalRandom.current().nextBoolean();
+        exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+        if (rateLimited) {
+            send(exchange, 429, errorBody(429, "Resource has been exhausted (stub).", "RESOURCE_EXHAUSTED"));
+        } else {
+            send(exchange, 503, errorBody(503, "The model is overloaded (stub).", "UNAVAILABLE"));
+        }
+    }
+
+    /** Splits the model text into roughly equal slices, one SSE event each; the last one carries finishReason. */
+    private void sendStream(HttpExchange exchange, String modelText) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        int chunkSize = Math.max(1, (modelText.length() + streamChunks - 1) / streamChunks);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int start = 0; start < modelText.length(); start += chunkSize) {
+                int end = Math.min(modelText.length(), start + chunkSize);
+                String event = "data: " + envelope(modelText.substring(start, end), end == modelText.length() ? "STOP" : null) + "\r\n\r\n";
+                out.write(event.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                if (end < modelText.length()) sleep(chunkDelayMillis);
+            }
+        }
+    }
+
+    private void proxyAndRecord(HttpExchange exchange, String requestBody, boolean stream)
+            throws IOException, InterruptedException {
+        URI target = URI.create(upstreamOrigin + exchange.getRequestURI().getRawPath()
+                + (exchange.getRequestURI().getRawQuery() == null ? "" : "?" + exchange.getRequestURI().getRawQuery()));
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+        HttpResponse<String> response = upstreamClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() == 200) {
+            addRecording(response.body());
+            Files.createDirectories(recordDir);
+            String name = String.format("recording-%04d.%s", recorded.incrementAndGet(), stream ? "sse" : "json");
+            Files.writeString(recordDir.resolve(name), response.body());
+        }
+        served.incrementAndGet();
+        response.headers().firstValue("Content-Type")
+                .ifPresent(type -> exchange.getResponseHeaders().set("Content-Type", type));
+        response.headers().firstValue("Retry-After")
+                .ifPresent(value -> exchange.getResponseHeaders().set("Retry-After", value));
+        send(exchange, response.statusCode(), response.body());
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (!exchange.getResponseHeaders().containsKey("Content-Type")) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String envelope(String text, String finishReason) {
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":" + CaptureRecorder.quote(text) + "}],\"role\":\"model\"}"
+                + (finishReason == null ? "" : ",\"finishReason\":\"" + finishReason + "\"")
+                + ",\"index\":0}]}";
+    }
+
+    private static String errorBody(int code, String message, String status) {
+        return "{\"error\":{\"code\":" + code + ",\"message\":" + CaptureRecorder.quote(message)
+                + ",\"status\":\"" + status + "\"}}";
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) Thread.sleep(millis);
+    }
+
+    // =======================
+    // Command line
+    // =======================
+
+    /**
+     * Usage:
+     * <pre>
+     * GeminiStubServer [--port 8089] [--replay gemini_debug.json|dir|captures.jsonl]...
+     *                  [--latency fixed:200|uniform:100-800|lognormal:1200,0.5]
+     *                  [--error-rate 0.05] [--retry-after 1] [--chunks 8] [--chunk-delay 150]
+     *                  [--record https://generativelanguage.googleapis.com --record-dir recordings]
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException {
+        int port = 8089;
+        List<Path> replay = new ArrayList<>();
+        Latency latency = Latency.none();
+        double errorRate = 0;
+        int retryAfter = 1;
+        int chunks = 8;
+        long chunkDelay = 0;
+        String upstream = null;
+        Path recordDir = Paths.get("recordings");
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(value); break;
+                case "--replay": replay.add(Paths.get(value)); break;
+                case "--latency": latency = Latency.parse(value); break;
+                case "--error-rate": errorRate = Double.parseDouble(value); break;
+                case "--retry-after": retryAfter = Integer.parseInt(value); break;
+                case "--chunks": chunks = Integer.parseInt(value); break;
+                case "--chunk-delay": chunkDelay = Long.parseLong(value); break;
+                case "--record": upstream = value; break;
+                case "--record-dir": recordDir = Paths.get(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (replay.isEmpty() && upstream == null) replay.add(Paths.get("gemini_debug.json"));
+
+        GeminiStubServer stub = new GeminiStubServer(port);
+        for (Path path : replay) stub.loadRecordings(path);
+        stub.setLatency(latency);
+        stub.setErrorRate(errorRate, retryAfter);
+        stub.setStreaming(chunks, chunkDelay);
+        if (upstream != null) stub.setRecordMode(upstream, recordDir);
+
+        stub.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println("Served " + stub.getServed() + " responses, injected " + stub.getInjectedErrors() + " errors.");
+            stub.stop();
+        }));
+        System.out.println("Gemini stub listening on " + stub.getBaseUrl()
+                + (upstream != null ? " (recording from " + upstream + " into " + recordDir + ")"
+                : " with " + stub.getRecordingCount() + " recordings, latency " + latency));
+        System.out.println("Run the app with GEMINI_BASE_URL=" + stub.getBaseUrl());
+    }
+}
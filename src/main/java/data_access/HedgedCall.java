@@ -0,0 +1,190 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * One logical Gemini call that may run as two attempts: the primary, and a hedge started after
+ * {@code hedgeDelayMillis} if the primary is still running and a BACKGROUND quota token is free.
+ *
+ * The first attempt to succeed completes the call and the other is cancelled. For streams, the
+ * first attempt to {@link #claim} (deliver a course) wins instead, so the user never sees two
+ * interleaved answers. The call fails only when every attempt has failed, and cancelling the
+ * returned future cancels whatever is still in flight.
+ */
+final class HedgedCall<T> {
+
+    /** An attempt's in-flight request, so a losing or abandoned attempt can be cancelled. */
+    static final class Attempt {
+        private volatile boolean cancelled;
+        private volatile CompletableFuture<?> inFlight;
+        private volatile AutoCloseable body;
+        private volatile long startNanos;
+
+        /** Registers the attempt's request future and returns it. */
+        <R> CompletableFuture<R> track(CompletableFuture<R> request) {
+            inFlight = request;
+            if (cancelled) request.cancel(true);
+            return request;
+        }
+
+        /** Registers a response body being read, which cancelling closes to drop the connection. */
+        void track(AutoCloseable responseBody) {
+            body = responseBody;
+            if (cancelled) closeQuietly(responseBody);
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        void cancel() {
+            cancelled = true;
+            CompletableFuture<?> request = inFlight;
+            if (request != null) request.cancel(true);
+            AutoCloseable responseBody = body;
+            if (responseBody != null) closeQuietly(responseBody);
+        }
+
+        private static void closeQuietly(AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    private final QuotaGovernor quota;
+    private final String apiKey;
+    private final LatencyHistogram latency;
+    private final long hedgeDelayMillis;
+    private final boolean latencyToFirstClaim;
+    private final AtomicLong hedgesIssued;
+    private final AtomicLong hedgesWon;
+
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final List<Attempt> attempts = new ArrayList<>(2);
+    private Attempt owner;
+    private int running;
+    private Throwable firstError;
+    private boolean settled; // set under the lock before completing, so losers' late results are ignored
+
+    /**
+     * @param latency             where the winning attempt's latency is recorded
+     * @param hedgeDelayMillis    when to hedge, or -1 for never
+     * @param latencyToFirstClaim record time to the first {@link #claim} (streams) instead of time to completion
+     */
+    HedgedCall(QuotaGovernor quota, String apiKey, LatencyHistogram latency, long hedgeDelayMillis,
+               boolean latencyToFirstClaim, AtomicLong hedgesIssued, AtomicLong hedgesWon) {
+        this.quota = quota;
+        this.apiKey = apiKey;
+        this.latency = latency;
+        this.hedgeDelayMillis = hedgeDelayMillis;
+        this.latencyToFirstClaim = latencyToFirstClaim;
+        this.hedgesIssued = hedgesIssued;
+        this.hedgesWon = hedgesWon;
+    }
+
+    CompletableFuture<T> start(Function<Attempt, CompletableFuture<T>> send) {
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) cancelAllExcept(null);
+        });
+        Attempt primary = newAttempt();
+        quota.acquire(apiKey, QuotaGovernor.Priority.INTERACTIVE)
+                .thenCompose(ready -> {
+                    scheduleHedge(send);
+                    return run(primary, send);
+                })
+                .whenComplete((value, error) -> finished(primary, value, error));
+        return result;
+    }
+
+    /** For streams: true if {@code attempt} is (now) the one whose output is shown. */
+    boolean claim(Attempt attempt) {
+        synchronized (this) {
+            if (owner == null) {
+                owner = attempt;
+                if (latencyToFirstClaim) latency.record(elapsedMillis(attempt));
+                if (attempts.indexOf(attempt) > 0) hedgesWon.incrementAndGet();
+            }
+            if (owner != attempt) return false;
+        }
+        cancelAllExcept(attempt);
+        return true;
+    }
+
+    private void scheduleHedge(Function<Attempt, CompletableFuture<T>> send) {
+        if (hedgeDelayMillis < 0) return;
+        CompletableFuture.delayedExecutor(hedgeDelayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            Attempt hedge;
+            synchronized (this) {
+                // Nothing to gain once a stream is delivering; never queue behind users for a hedge
+                if (settled || result.isDone() || owner != null || !quota.tryAcquire(apiKey, QuotaGovernor.Priority.BACKGROUND)) return;
+                hedge = newAttempt();
+            }
+            hedgesIssued.incrementAndGet();
+            run(hedge, send).whenComplete((value, error) -> finished(hedge, value, error));
+        });
+    }
+
+    private CompletableFuture<T> run(Attempt attempt, Function<Attempt, CompletableFuture<T>> send) {
+        attempt.startNanos = System.nanoTime();
+        try {
+            return send.apply(attempt);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private synchronized Attempt newAttempt() {
+        Attempt attempt = new Attempt();
+        attempts.add(attempt);
+        running++;
+        return attempt;
+    }
+
+    private void finished(Attempt attempt, T value, Throwable error) {
+        boolean won = false;
+        Throwable failure = null;
+        synchronized (this) {
+            running--;
+            if (settled || result.isDone()) return;
+            if (error == null && (owner == null || owner == attempt)) {
+                won = true;
+                settled = true;
+                if (!latencyToFirstClaim) latency.record(elapsedMillis(attempt));
+                if (owner == null && attempts.indexOf(attempt) > 0) hedgesWon.incrementAndGet();
+            } else {
+                if (error != null && (firstError == null || attempt == owner)) firstError = error;
+                if (running == 0) {
+                    failure = firstError;
+                    settled = true;
+                }
+            }
+        }
+        if (won) {
+            result.complete(value);
+            cancelAllExcept(attempt);
+        } else if (failure != null) {
+            result.completeExceptionally(failure);
+        }
+    }
+
+    private void cancelAllExcept(Attempt keep) {
+        List<Attempt> others;
+        synchronized (this) {
+            others = new ArrayList<>(attempts);
+        }
+        for (Attempt other : others) {
+            if (other != keep) other.cancel();
+        }
+    }
+
+    private static long elapsedMillis(Attempt attempt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - attempt.startNanos);
+    }
+}
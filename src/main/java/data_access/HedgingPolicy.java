@@ -0,0 +1,51 @@
+package data_access;
+
+/**
+ * When to send a duplicate ("hedged") Gemini request: once the first one has been out for
+ * longer than the given percentile of recent latencies. A hedge only goes out if the
+ * {@link QuotaGovernor} has a spare BACKGROUND token, so hedging never delays other users' calls.
+ */
+public class HedgingPolicy {
+
+    private final double percentile;
+    private final long minDelayMillis;
+    private final long minSamples;
+
+    /**
+     * @param percentile     e.g. 95: hedge calls slower than 95% of recent ones
+     * @param minDelayMillis never hedge sooner than this
+     * @param minSamples     recent calls needed before the percentile is trusted
+     */
+    public HedgingPolicy(double percentile, long minDelayMillis, long minSamples) {
+        this.percentile = percentile;
+        this.minDelayMillis = minDelayMillis;
+        this.minSamples = minSamples;
+    }
+
+    public static HedgingPolicy disabled() {
+        return new HedgingPolicy(-1, 0, 0);
+    }
+
+    /** From GEMINI_HEDGE_PERCENTILE (system property or environment), e.g. "95"; disabled if unset. */
+    public static HedgingPolicy fromEnvironment() {
+        String value = System.getProperty("GEMINI_HEDGE_PERCENTILE", System.getenv("GEMINI_HEDGE_PERCENTILE"));
+        if (value == null || value.isBlank()) return disabled();
+        try {
+            double p = Double.parseDouble(value.trim());
+            if (p > 0 && p < 100) return new HedgingPolicy(p, 500, 20);
+        } catch (NumberFormatException ignored) {
+        }
+        System.err.println("Ignoring GEMINI_HEDGE_PERCENTILE '" + value + "', not hedging");
+        return disabled();
+    }
+
+    public boolean isEnabled() {
+        return percentile > 0;
+    }
+
+    /** Milliseconds to wait before hedging, or -1 to not hedge (disabled, or too few samples). */
+    public long delayMillis(LatencyHistogram latency) {
+        if (!isEnabled() || latency.count() < minSamples) return -1;
+        return Math.max(minDelayMillis, latency.percentile(percentile));
+    }
+}
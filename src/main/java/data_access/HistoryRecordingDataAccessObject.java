@@ -0,0 +1,79 @@
+package data_access;
+
+import entity.Course;
+import storage.SearchHistoryLog;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Appends every search that returned courses to the {@link SearchHistoryLog}, with the time it
+ * took, so its results can be shown again without asking Gemini.
+ *
+ * Wrap the whole engine, above any fan-out, so an entry holds the interests as typed and the
+ * merged list the user saw. Answers served entirely from the cache
+ * ({@link CachingRecommendationDataAccessObject#isCached}) are already available offline and are
+ * not logged again. The append happens on a background thread, so a result delivered on the
+ * Swing thread never waits for the disk.
+ */
+public class HistoryRecordingDataAccessObject implements RecommendCoursesDataAccessInterface {
+    private final RecommendCoursesDataAccessInterface delegate;
+    private final SearchHistoryLog history;
+    private final Executor writer;
+
+    public HistoryRecordingDataAccessObject(RecommendCoursesDataAccessInterface delegate, SearchHistoryLog history) {
+        this(delegate, history, Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "search-history-writer");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    HistoryRecordingDataAccessObject(RecommendCoursesDataAccessInterface delegate, SearchHistoryLog history, Executor writer) {
+        this.delegate = delegate;
+        this.history = history;
+        this.writer = writer;
+    }
+
+    @Override
+    public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
+        long start = System.nanoTime();
+        List<Course> courses = delegate.getRecommendations(interests, completedCourses, apiKey);
+        record(interests, completedCourses, courses, start);
+        return courses;
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        long start = System.nanoTime();
+        CompletableFuture<List<Course>> future = delegate.getRecommendationsAsync(interests, completedCourses, apiKey);
+        future.thenAccept(courses -> record(interests, completedCourses, courses, start));
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                 Consumer<Course> onCourse) {
+        long start = System.nanoTime();
+        CompletableFuture<List<Course>> future = delegate.streamRecommendations(interests, completedCourses, apiKey, onCourse);
+        future.thenAccept(courses -> record(interests, completedCourses, courses, start));
+        return future;
+    }
+
+    /** Hands a non-empty result to the writer thread; the caller gets its courses without waiting. */
+    private void record(String interests, List<String> completedCourses, List<Course> courses, long startNanos) {
+        if (courses == null || courses.isEmpty() || CachingRecommendationDataAccessObject.isCached(courses)) return;
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        writer.execute(() -> {
+            try {
+                history.append(interests, completedCourses, courses, elapsedMillis);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to record search history: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package data_access;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Small lock-free latency histogram for recent calls, used to pick the hedging delay.
+ *
+ * Buckets are log-linear: exact below 16 ms, then eight buckets per doubling (at most 12.5%
+ * wide) up to about 17 minutes, in 144 counters. Only recent behaviour matters, so samples go
+ * into the current window, which replaces the previous one once it holds {@code windowSize}
+ * samples; percentiles are read over both windows. Recording is a single atomic increment; a
+ * sample racing with a window swap may be dropped, which is harmless here.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR = 16;
+    private static final int SUB_BUCKETS = 8;
+    private static final int MAX_EXPONENT = 19; // 2^20 ms ~ 17 min
+    private static final int BUCKETS = LINEAR + (MAX_EXPONENT - 3) * SUB_BUCKETS;
+
+    private final int windowSize;
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+    private final AtomicLong currentCount = new AtomicLong();
+    private volatile long previousCount;
+
+    public LatencyHistogram() {
+        this(512);
+    }
+
+    public LatencyHistogram(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public void record(long millis) {
+        current.incrementAndGet(bucket(Math.max(0, millis)));
+        if (currentCount.incrementAndGet() >= windowSize) rotate();
+    }
+
+    /** Samples in the current and previous windows. */
+    public long count() {
+        return currentCount.get() + previousCount;
+    }
+
+    /**
+     * The latency at or below which {@code percentile} (0-100) of the recent samples fall,
+     * rounded up to its bucket's upper bound; -1 without samples.
+     */
+    public long percentile(double percentile) {
+        AtomicLongArray cur = current;
+        AtomicLongArray prev = previous;
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = cur.get(i) + prev.get(i);
+            total += counts[i];
+        }
+        if (total == 0) return -1;
+
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return upperBound(i);
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private synchronized void rotate() {
+        if (currentCount.get() < windowSize) return; // another thread already swapped
+        previous = current;
+        previousCount = currentCount.get();
+        current = new AtomicLongArray(BUCKETS);
+        currentCount.set(0);
+    }
+
+    static int bucket(long millis) {
+        if (millis < LINEAR) return (int) millis;
+        int exponent = 63 - Long.numberOfLeadingZeros(millis); // >= 4
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (millis >> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+    }
+}
@@ -0,0 +1,149 @@
+package data_access;
+
+import catalog.CourseCatalog;
+import catalog.EligibilityEngine;
+import catalog.Postings;
+import catalog.TermIndex;
+import catalog.Tokenizer;
+import entity.Course;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.*;
+
+/**
+ * Offline recommendation engine: ranks catalog courses against the interests with BM25 over
+ * each course's name, keywords and description, skipping courses already completed.
+ *
+ * Courses whose prerequisites are not met yet are handled per {@link IneligiblePolicy}.
+ * No network and no API key are needed, so it can serve as the primary engine or as the
+ * fallback when Gemini is slow, rate-limited or unreachable. Safe to share across threads.
+ */
+public class LocalCourseRecommender implements RecommendCoursesDataAccessInterface {
+
+    /** What to do with a matching course whose prerequisites the student has not completed. */
+    public enum IneligiblePolicy {
+        /** Rank it like any other course. */
+        KEEP,
+        /** Halve its score and say so in the explanation. */
+        FLAG,
+        /** Leave it out. */
+        FILTER
+    }
+
+    // Standard BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final double INELIGIBLE_PENALTY = 0.5;
+
+    private final CourseCatalog catalog;
+    private final int maxResults;
+    private final EligibilityEngine eligibility;
+    private final IneligiblePolicy policy;
+
+    public LocalCourseRecommender(CourseCatalog catalog) {
+        this(catalog, 5, catalog.eligibilityEngine(), IneligiblePolicy.FLAG);
+    }
+
+    public LocalCourseRecommender(CourseCatalog catalog, int maxResults) {
+        this(catalog, maxResults, catalog.eligibilityEngine(), IneligiblePolicy.FLAG);
+    }
+
+    public LocalCourseRecommender(CourseCatalog catalog, int maxResults, EligibilityEngine eligibility,
+                                  IneligiblePolicy policy) {
+        this.catalog = catalog;
+        this.maxResults = maxResults;
+        this.eligibility = eligibility;
+        this.policy = policy;
+    }
+
+    @Override
+    public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
+        if (interests == null || interests.trim().isEmpty()) {
+            throw new IllegalArgumentException("At least one interest is required");
+        }
+
+        // 1. Score every course containing at least one query term (term-at-a-time)
+        TermIndex index = catalog.index();
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(interests));
+        double[] scores = new double[index.docCount()];
+        double averageLength = Math.max(1.0, index.averageDocLength());
+        for (String term : terms) {
+            Postings postings = index.postings(term);
+            if (postings.size() == 0) continue;
+            double idf = Math.log(1.0 + (index.docCount() - postings.size() + 0.5) / (postings.size() + 0.5));
+            for (int i = 0; i < postings.size(); i++) {
+                int doc = postings.docs[i];
+                double tf = postings.freqs[i];
+                double norm = K1 * (1 - B + B * index.docLength(doc) / averageLength);
+                scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+            }
+        }
+
+        // 2. Drop completed courses
+        if (completedCourses != null) {
+            for (String code : completedCourses) {
+                for (int doc : catalog.docIds(code)) scores[doc] = 0;
+            }
+        }
+
+        // 3. Demote or drop courses whose prerequisites are not met
+        BitSet ineligible = new BitSet(scores.length);
+        if (policy != IneligiblePolicy.KEEP) {
+            BitSet completed = eligibility.completedSet(completedCourses);
+            for (int doc = 0; doc < scores.length; doc++) {
+                if (scores[doc] > 0 && !eligibility.isEligible(doc, completed)) {
+                    ineligible.set(doc);
+                    scores[doc] = policy == IneligiblePolicy.FILTER ? 0 : scores[doc] * INELIGIBLE_PENALTY;
+                }
+            }
+        }
+
+        // 4. Keep the best maxResults with a small min-heap
+        PriorityQueue<Integer> best = new PriorityQueue<>(maxResults + 1,
+                (a, b) -> scores[a] != scores[b] ? Double.compare(scores[a], scores[b]) : Integer.compare(b, a));
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] <= 0) continue;
+            best.add(doc);
+            if (best.size() > maxResults) best.poll();
+        }
+        int[] ranked = new int[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) ranked[i] = best.poll();
+
+        // 5. Fill rank and a templated explanation
+        List<String> phrases = interestPhrases(interests);
+        List<Course> results = new ArrayList<>(ranked.length);
+        for (int i = 0; i < ranked.length; i++) {
+            Course entry = catalog.course(ranked[i]);
+            results.add(entry.withRanking(i + 1, explain(entry, index, ranked[i], phrases, ineligible.get(ranked[i]))));
+        }
+        return results;
+    }
+
+    private static List<String> interestPhrases(String interests) {
+        List<String> phrases = new ArrayList<>();
+        for (String phrase : interests.split("[,;\\n]+")) {
+            if (!phrase.isBlank()) phrases.add(phrase.trim());
+        }
+        return phrases;
+    }
+
+    private static String explain(Course course, TermIndex index, int doc, List<String> phrases, boolean ineligible) {
+        List<String> matched = new ArrayList<>();
+        for (String phrase : phrases) {
+            for (String term : Tokenizer.tokenize(phrase)) {
+                if (index.postings(term).freq(doc) > 0) {
+                    matched.add(phrase);
+                    break;
+                }
+            }
+        }
+        String explanation = "Matched offline from the course catalog: " + course.getCourseName() + " covers "
+                + String.join(", ", matched) + ", which you listed as an interest. Key topics: "
+                + course.getCourseKeywords() + ".";
+        if (ineligible) {
+            explanation += " Note: you have not completed its prerequisites yet (" + course.getPrerequisiteCodes() + ").";
+        }
+        return explanation;
+    }
+}
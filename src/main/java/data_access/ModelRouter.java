@@ -0,0 +1,185 @@
+package data_access;
+
+import entity.Course;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Routes each query to one of several Gemini models, ranked from fastest/cheapest to strongest.
+ *
+ * Every tier keeps a moving average of its latency and error rate. A query goes to the healthy
+ * tier with the lowest measured latency (unmeasured tiers count as slowest, so the first-ranked
+ * model is tried first). If that model's answer is empty, which is also how a blocked
+ * (RECITATION) or unparseable answer arrives, or the call fails, the query moves up to the next
+ * stronger healthy tier. The strong model is only paid for when the fast one has nothing useful.
+ *
+ * A tier whose error rate passes {@value #UNHEALTHY_ERROR_RATE} is skipped until it has been
+ * quiet for the cooldown, then gets one probe. Caller errors (missing key, exhausted local quota)
+ * are reported as-is: another model would fail the same way.
+ */
+public class ModelRouter implements RecommendCoursesDataAccessInterface {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double UNHEALTHY_ERROR_RATE = 0.5;
+    private static final long DEFAULT_COOLDOWN_MILLIS = 30_000;
+
+    /** One model endpoint and its recent behaviour. */
+    public static final class Tier {
+        private final String name;
+        private final RecommendCoursesDataAccessInterface delegate;
+        private double latencyMillis = Double.NaN;
+        private double errorRate;
+        private long lastFailureMillis;
+
+        public Tier(String name, RecommendCoursesDataAccessInterface delegate) {
+            this.name = name;
+            this.delegate = delegate;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Moving average of successful call latency, or NaN before the first success. */
+        public synchronized double getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        public synchronized double getErrorRate() {
+            return errorRate;
+        }
+
+        synchronized void recordSuccess(long elapsedMillis) {
+            latencyMillis = Double.isNaN(latencyMillis) ? elapsedMillis
+                    : latencyMillis + SMOOTHING * (elapsedMillis - latencyMillis);
+            errorRate -= SMOOTHING * errorRate;
+        }
+
+        synchronized void recordFailure(long nowMillis) {
+            errorRate += SMOOTHING * (1 - errorRate);
+            lastFailureMillis = nowMillis;
+        }
+
+        synchronized boolean isHealthy(long nowMillis, long cooldownMillis) {
+            return errorRate < UNHEALTHY_ERROR_RATE || nowMillis - lastFailureMillis >= cooldownMillis;
+        }
+
+        synchronized double routingLatency() {
+            return Double.isNaN(latencyMillis) ? Double.MAX_VALUE : latencyMillis;
+        }
+    }
+
+    private final List<Tier> tiers;
+    private final long cooldownMillis;
+    private final LongSupplier clock;
+
+    /** @param tiers ranked from the fastest/cheapest model to the strongest */
+    public ModelRouter(List<Tier> tiers) {
+        this(tiers, DEFAULT_COOLDOWN_MILLIS, System::currentTimeMillis);
+    }
+
+    ModelRouter(List<Tier> tiers, long cooldownMillis, LongSupplier clock) {
+        if (tiers.isEmpty()) throw new IllegalArgumentException("At least one model is required");
+        this.tiers = List.copyOf(tiers);
+        this.cooldownMillis = cooldownMillis;
+        this.clock = clock;
+    }
+
+    public List<Tier> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * The tiers to try for the next query, in order: the fastest healthy one, then the healthy
+     * tiers ranked above it. With no healthy tier left, the first-ranked one is tried anyway.
+     */
+    List<Tier> route() {
+        long now = clock.getAsLong();
+        int first = -1;
+        for (int i = 0; i < tiers.size(); i++) {
+            Tier tier = tiers.get(i);
+            if (!tier.isHealthy(now, cooldownMillis)) continue;
+            if (first < 0 || tier.routingLatency() < tiers.get(first).routingLatency()) first = i;
+        }
+        if (first < 0) return List.of(tiers.get(0));
+
+        List<Tier> route = new ArrayList<>();
+        route.add(tiers.get(first));
+        for (int i = first + 1; i < tiers.size(); i++) {
+            if (tiers.get(i).isHealthy(now, cooldownMillis)) route.add(tiers.get(i));
+        }
+        return route;
+    }
+
+    @Override
+    public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
+        try {
+            return getRecommendationsAsync(interests, completedCourses, apiKey).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        return attempt(route(), 0, tier -> tier.delegate.getRecommendationsAsync(interests, completedCourses, apiKey));
+    }
+
+    /** An empty stream has shown nothing, so moving up a tier never mixes two models' lists. */
+    @Override
+    public CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                 Consumer<Course> onCourse) {
+        return attempt(route(), 0, tier -> tier.delegate.streamRecommendations(interests, completedCourses, apiKey, onCourse));
+    }
+
+    private interface Call {
+        CompletableFuture<List<Course>> on(Tier tier);
+    }
+
+    private CompletableFuture<List<Course>> attempt(List<Tier> route, int index, Call call) {
+        Tier tier = route.get(index);
+        long start = clock.getAsLong();
+        return start(() -> call.on(tier))
+                .handle((courses, error) -> {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof IllegalArgumentException || cause instanceof QuotaExceededException) {
+                        return CompletableFuture.<List<Course>>failedFuture(cause);
+                    }
+                    boolean last = index + 1 >= route.size();
+                    if (cause != null) {
+                        tier.recordFailure(clock.getAsLong());
+                        if (last) return CompletableFuture.<List<Course>>failedFuture(cause);
+                        System.err.println(tier.getName() + " failed, trying " + route.get(index + 1).getName()
+                                + ": " + cause.getMessage());
+                        return attempt(route, index + 1, call);
+                    }
+                    tier.recordSuccess(clock.getAsLong() - start);
+                    if (courses != null && !courses.isEmpty()) return CompletableFuture.completedFuture(courses);
+                    if (last) return CompletableFuture.completedFuture(courses == null ? Collections.<Course>emptyList() : courses);
+                    System.err.println(tier.getName() + " found nothing usable, trying " + route.get(index + 1).getName());
+                    return attempt(route, index + 1, call);
+                })
+                .thenCompose(future -> future);
+    }
+
+    /** Turns a synchronous throw (e.g. missing API key) into a failed future. */
+    private static CompletableFuture<List<Course>> start(Supplier<CompletableFuture<List<Course>>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,125 @@
+package data_access;
+
+import entity.Course;
+import entity.CourseCodeCanonicalizer;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+import use_case.recommend_courses.RecommendationQueryKey;
+import use_case.why_courses.WhyCoursesDataAccessInterface;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe, bounded store of AI rationales keyed by query ID plus course code.
+ *
+ * It wraps the recommendation DAO chain, so every course handed to a caller (from Gemini,
+ * the cache or a coalesced call) has its explanation recorded under that query's ID; the
+ * WhyCourses use case then looks rationales up by the same ID. Concurrent searches no
+ * longer clear or overwrite each other's rationales.
+ *
+ * Entries are spread over lock-striped LRU maps to keep contention low; each stripe evicts
+ * its least recently used entry once it is full.
+ */
+public class QueryScopedRationaleStore implements RecommendCoursesDataAccessInterface, WhyCoursesDataAccessInterface {
+
+    private static final int STRIPES = 16;
+
+    private final RecommendCoursesDataAccessInterface delegate;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public QueryScopedRationaleStore(RecommendCoursesDataAccessInterface delegate) {
+        this(delegate, 4096);
+    }
+
+    public QueryScopedRationaleStore(RecommendCoursesDataAccessInterface delegate, int maxEntries) {
+        this.delegate = delegate;
+        int perStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe(perStripe);
+    }
+
+    // =======================
+    // Recommendation side: record as results pass through
+    // =======================
+
+    @Override
+    public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
+        List<Course> courses = delegate.getRecommendations(interests, completedCourses, apiKey);
+        recordAll(RecommendationQueryKey.of(interests, completedCourses), courses);
+        return courses;
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        String queryId = RecommendationQueryKey.of(interests, completedCourses);
+        return delegate.getRecommendationsAsync(interests, completedCourses, apiKey)
+                .thenApply(courses -> recordAll(queryId, courses));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                 Consumer<Course> onCourse) {
+        String queryId = RecommendationQueryKey.of(interests, completedCourses);
+        return delegate.streamRecommendations(interests, completedCourses, apiKey, course -> {
+            record(queryId, course);
+            onCourse.accept(course);
+        }).thenApply(courses -> recordAll(queryId, courses));
+    }
+
+    // =======================
+    // WhyCourses side
+    // =======================
+
+    @Override
+    public String getRationaleForCourse(String queryId, String courseCode) {
+        if (queryId == null || courseCode == null) return null;
+        String key = key(queryId, courseCode);
+        return stripeFor(key).get(key);
+    }
+
+    private List<Course> recordAll(String queryId, List<Course> courses) {
+        if (courses != null) {
+            for (Course course : courses) record(queryId, course);
+        }
+        return courses;
+    }
+
+    private void record(String queryId, Course course) {
+        String explanation = course.getExplanation(); // holds the AI rationale
+        if (explanation == null || explanation.isEmpty()) return;
+        String key = key(queryId, course.getCourseCode());
+        stripeFor(key).put(key, explanation);
+    }
+
+    private static String key(String queryId, String courseCode) {
+        // "csc207h1 " and "CSC207H1F" find the rationale stored for CSC207H1
+        return queryId + '\u0000' + CourseCodeCanonicalizer.canonical(courseCode);
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static final class Stripe {
+        private final LinkedHashMap<String, String> map;
+
+        Stripe(int capacity) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized String get(String key) {
+            return map.get(key);
+        }
+
+        synchronized void put(String key, String value) {
+            map.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package data_access;
+
+/**
+ * Thrown (fast) when a request would have to wait longer than allowed for API quota.
+ * The message is meant to be shown to the user as-is.
+ */
+public class QuotaExceededException extends RuntimeException {
+    private final long retryAfterMillis;
+
+    public QuotaExceededException(long retryAfterMillis) {
+        super("Gemini is busy right now. Please retry in " + Math.max(1, (retryAfterMillis + 999) / 1000) + " s.");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
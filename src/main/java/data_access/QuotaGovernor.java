@@ -0,0 +1,101 @@
+package data_access;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side rate governor: one token bucket per API key, so bursts from many users
+ * sharing a key are smoothed out instead of turning into a cascade of 429s.
+ *
+ * Each bucket is a single {@link AtomicLong} holding its "theoretical arrival time"
+ * (the GCRA form of a token bucket), updated with CAS, so callers never take a lock and
+ * different keys never contend. A caller that cannot go immediately reserves the next free
+ * slot and is released when it comes up (FIFO queueing); if that would take longer than its
+ * priority allows, it fails fast with a {@link QuotaExceededException} instead.
+ */
+public class QuotaGovernor {
+
+    public enum Priority {
+        /** A user is waiting: may queue for up to maxWait. */
+        INTERACTIVE,
+        /** Optional work (e.g. hedged duplicates): never queues and leaves headroom for users. */
+        BACKGROUND
+    }
+
+    private final long intervalNanos;   // time to refill one token
+    private final long burstNanos;      // how far ahead of "now" a full bucket lets us run
+    private final long maxWaitNanos;
+    private final long headroomNanos;   // tokens BACKGROUND requests must leave in the bucket
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /** Defaults sized for the Gemini free tier: 15 requests/minute per key. */
+    public QuotaGovernor() {
+        this(15, 5, 10_000);
+    }
+
+    public QuotaGovernor(int requestsPerMinute, int burst, long maxWaitMillis) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / requestsPerMinute;
+        this.burstNanos = intervalNanos * (burst - 1);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.headroomNanos = intervalNanos * Math.max(1, burst / 2);
+    }
+
+    /**
+     * Completes when the caller may send a request for {@code apiKey}. Fails immediately
+     * with {@link QuotaExceededException} if the wait would exceed the priority's limit.
+     */
+    public CompletableFuture<Void> acquire(String apiKey, Priority priority) {
+        long waitNanos = reserve(apiKey, priority);
+        if (waitNanos < 0) {
+            return CompletableFuture.failedFuture(new QuotaExceededException(TimeUnit.NANOSECONDS.toMillis(-waitNanos)));
+        }
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /** Takes a token only if one is available right now without queueing. */
+    public boolean tryAcquire(String apiKey, Priority priority) {
+        long now = System.nanoTime();
+        AtomicLong tat = bucket(apiKey, now);
+        while (true) {
+            long current = tat.get();
+            if (earliestStart(current, priority) > now) return false;
+            if (tat.compareAndSet(current, Math.max(current, now) + intervalNanos)) return true;
+        }
+    }
+
+    /**
+     * Reserves a slot and returns how long to wait for it (0 = go now), or the negated time
+     * until a slot would fit within the allowed wait if the request was rejected.
+     */
+    private long reserve(String apiKey, Priority priority) {
+        long allowedWait = priority == Priority.INTERACTIVE ? maxWaitNanos : 0;
+        long now = System.nanoTime();
+        AtomicLong tat = bucket(apiKey, now);
+        while (true) {
+            long current = tat.get();
+            long start = Math.max(now, earliestStart(current, priority));
+            long wait = start - now;
+            if (wait > allowedWait) {
+                return -Math.max(1, wait - allowedWait);
+            }
+            if (tat.compareAndSet(current, Math.max(current, now) + intervalNanos)) {
+                return wait;
+            }
+        }
+    }
+
+    private long earliestStart(long tat, Priority priority) {
+        long start = tat - burstNanos;
+        return priority == Priority.BACKGROUND ? start + headroomNanos : start;
+    }
+
+    private AtomicLong bucket(String apiKey, long now) {
+        // A new bucket starts full: its theoretical arrival time is "now"
+        return buckets.computeIfAbsent(apiKey == null ? "" : apiKey, k -> new AtomicLong(now));
+    }
+}
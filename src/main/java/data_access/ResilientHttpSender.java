@@ -0,0 +1,183 @@
+package data_access;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends HTTP requests with bounded retries, jittered exponential backoff (honouring
+ * {@code Retry-After}), a deadline per attempt and a shared {@link CircuitBreaker}.
+ *
+ * Only transient outcomes are retried: 408/429/5xx responses, timeouts and I/O errors.
+ * Other responses are returned as-is so the caller can report them.
+ */
+public class ResilientHttpSender {
+
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(408, 429, 500, 502, 503, 504);
+
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long attemptTimeoutMillis;
+
+    // ==== Monitoring ====
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ResilientHttpSender(HttpClient httpClient, Executor executor) {
+        this(httpClient, executor, new CircuitBreaker(5, 30_000), 3, 500, 8_000, 45_000);
+    }
+
+    public ResilientHttpSender(HttpClient httpClient, Executor executor, CircuitBreaker circuitBreaker,
+                               int maxAttempts, long baseBackoffMillis, long maxBackoffMillis, long attemptTimeoutMillis) {
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.circuitBreaker = circuitBreaker;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.attemptTimeoutMillis = attemptTimeoutMillis;
+    }
+
+    /**
+     * Sends with retries. Cancelling the returned future aborts the request in flight and any
+     * pending retry (e.g. when a hedged duplicate has already answered).
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> inFlight = new AtomicReference<>();
+        result.whenComplete((response, error) -> {
+            CompletableFuture<?> exchange = inFlight.get();
+            if (result.isCancelled() && exchange != null) exchange.cancel(true);
+        });
+        attempt(request, handler, 1, result, inFlight).whenComplete((response, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else if (!result.complete(response)) {
+                discard(response); // cancelled meanwhile
+            }
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> attempt(HttpRequest request, HttpResponse.BodyHandler<T> handler, int attempt,
+                                                           CompletableFuture<?> caller,
+                                                           AtomicReference<CompletableFuture<?>> inFlight) {
+        if (caller.isDone()) {
+            return CompletableFuture.failedFuture(new CancellationException("Request cancelled"));
+        }
+        if (!circuitBreaker.allowRequest()) {
+            rejected.incrementAndGet();
+            long waitSeconds = (circuitBreaker.millisUntilRetry() + 999) / 1000;
+            return CompletableFuture.failedFuture(new RuntimeException(
+                    "Gemini is temporarily unavailable. Please try again in " + Math.max(1, waitSeconds) + " s."));
+        }
+
+        attempts.incrementAndGet();
+        CompletableFuture<HttpResponse<T>> exchange = httpClient.sendAsync(request, handler);
+        inFlight.set(exchange);
+        if (caller.isDone()) exchange.cancel(true);
+        return exchange
+                .orTimeout(attemptTimeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((response, error) -> {
+                    if (caller.isCancelled()) {
+                        circuitBreaker.releaseProbe(); // a cancelled probe says nothing about Gemini
+                        discard(response);
+                        return CompletableFuture.<HttpResponse<T>>failedFuture(new CancellationException("Request cancelled"));
+                    }
+                    if (error == null && !RETRYABLE_STATUS.contains(response.statusCode())) {
+                        // Success, or a non-transient error (e.g. bad key) the caller should report
+                        circuitBreaker.recordSuccess();
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    circuitBreaker.recordFailure();
+                    failures.incrementAndGet();
+                    long delay = backoffMillis(attempt, response);
+                    if (attempt >= maxAttempts || delay < 0) {
+                        if (error != null) return CompletableFuture.<HttpResponse<T>>failedFuture(describe(error));
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    discard(response);
+                    retries.incrementAndGet();
+                    Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor);
+                    return CompletableFuture.supplyAsync(() -> null, delayed)
+                            .thenCompose(ignored -> attempt(request, handler, attempt + 1, caller, inFlight));
+                })
+                .thenCompose(f -> f);
+    }
+
+    /** Full-jitter exponential backoff; a longer Retry-After wins. Returns -1 if the server asks us to wait too long. */
+    private long backoffMillis(int attempt, HttpResponse<?> response) {
+        long cap = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+
+        if (response != null) {
+            Optional<String> retryAfter = response.headers().firstValue("Retry-After");
+            if (retryAfter.isPresent()) {
+                long serverDelay = parseRetryAfter(retryAfter.get());
+                if (serverDelay > maxBackoffMillis) return -1;
+                delay = Math.max(delay, serverDelay);
+            }
+        }
+        return delay;
+    }
+
+    private static long parseRetryAfter(String value) {
+        try {
+            return Long.parseLong(value.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime when = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(when.getZone()), when).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        // Streamed bodies hold the connection open until closed
+        if (response != null && response.body() instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) response.body()).close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    private static RuntimeException describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException || cause instanceof java.net.http.HttpTimeoutException) {
+            return new RuntimeException("Gemini did not respond in time. Please try again.", cause);
+        }
+        if (cause instanceof IOException) {
+            return new RuntimeException("Error during API call", cause);
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+    }
+
+    // ==== Monitoring ====
+
+    public CircuitBreaker.State getCircuitState() { return circuitBreaker.getState(); }
+    public long getAttempts() { return attempts.get(); }
+    public long getRetries() { return retries.get(); }
+    public long getFailures() { return failures.get(); }
+    public long getRejected() { return rejected.get(); }
+}
@@ -0,0 +1,98 @@
+package data_access;
+
+import catalog.CourseCodeSet;
+import entity.Course;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Checks every recommended course code against the calendar's {@link CourseCodeSet} and drops
+ * or flags the ones that do not exist, so an invented course never reaches the user unmarked.
+ * This is what makes {@link GeminiRequestMode#UNGROUNDED} usable: the codes are still checked,
+ * just locally instead of by a web search. Streamed courses are checked before they are shown.
+ */
+public class ValidatingRecommendationDataAccessObject implements RecommendCoursesDataAccessInterface {
+
+    public enum UnknownCodePolicy {
+        /** Leave the course out. */
+        DROP,
+        /** Keep it, with a warning in the explanation. */
+        FLAG
+    }
+
+    /**
+     * The check to use when none is configured: off for grounded and hybrid requests (checked by
+     * search and by the candidate list), and for search-free requests DROP with a full code list
+     * but only FLAG without one, since a partial list would reject real courses.
+     */
+    public static UnknownCodePolicy defaultPolicy(GeminiRequestMode mode, boolean fullCodeList) {
+        if (mode != GeminiRequestMode.UNGROUNDED && mode != GeminiRequestMode.STRUCTURED) return null;
+        return fullCodeList ? UnknownCodePolicy.DROP : UnknownCodePolicy.FLAG;
+    }
+
+    private final RecommendCoursesDataAccessInterface delegate;
+    private final CourseCodeSet validCodes;
+    private final UnknownCodePolicy policy;
+
+    public ValidatingRecommendationDataAccessObject(RecommendCoursesDataAccessInterface delegate, CourseCodeSet validCodes,
+                                                    UnknownCodePolicy policy) {
+        this.delegate = delegate;
+        this.validCodes = validCodes;
+        this.policy = policy;
+    }
+
+    @Override
+    public List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey) {
+        return validate(delegate.getRecommendations(interests, completedCourses, apiKey));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        return delegate.getRecommendationsAsync(interests, completedCourses, apiKey).thenApply(this::validate);
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                 Consumer<Course> onCourse) {
+        // The final list reuses the streamed (possibly flagged) instances so both agree
+        Map<Course, Course> streamed = Collections.synchronizedMap(new IdentityHashMap<>());
+        Consumer<Course> checked = course -> {
+            Course valid = validate(course);
+            streamed.put(course, valid);
+            if (valid != null) onCourse.accept(valid);
+        };
+        return delegate.streamRecommendations(interests, completedCourses, apiKey, checked).thenApply(courses -> {
+            List<Course> valid = new ArrayList<>(courses.size());
+            for (Course course : courses) {
+                Course checkedCourse = streamed.containsKey(course) ? streamed.get(course) : validate(course);
+                if (checkedCourse != null) valid.add(checkedCourse);
+            }
+            return valid;
+        });
+    }
+
+    private List<Course> validate(List<Course> courses) {
+        List<Course> valid = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            Course checked = validate(course);
+            if (checked != null) valid.add(checked);
+        }
+        return valid;
+    }
+
+    /** The course itself, a flagged copy, or null if it is dropped. */
+    private Course validate(Course course) {
+        if (validCodes.contains(course.getCourseCode())) return course;
+        System.err.println("Unknown course code from recommender: " + course.getCourseCode());
+        if (policy == UnknownCodePolicy.DROP) return null;
+        return course.withRanking(course.getCourseRank(), course.getExplanation()
+                + " Note: this course code is not in the " + validCodes.year() + " calendar, so the course may not exist.");
+    }
+}
@@ -1,36 +1,47 @@
 package entity;
 
+import java.util.List;
+
+/**
+ * A recommended course: shared catalog facts plus this query's rank and explanation.
+ * Immutable. Results that mention the same course share one {@link CourseDetails}, so holding
+ * many result sets costs little more than their explanations.
+ */
 public class Course {
-    private final String courseCode;
-    private final String courseName;
-    private final String description;
-    private final String prerequisiteCodes;
+    private final CourseDetails details;
     private final int courseRank;
-    private final String courseKeywords;
-    private final String courseDescription;
+    private final String explanation;
 
     public Course(String courseCode, String courseName, String description,
                   String prerequisiteCodes, int courseRank,
-                  String courseKeywords, String courseDescription) {
-        this.courseCode = courseCode;
-        this.courseName = courseName;
-        this.description = description;
-        this.prerequisiteCodes = prerequisiteCodes;
+                  String courseKeywords, String explanation) {
+        this(CourseDetails.of(courseCode, courseName, description, prerequisiteCodes, courseKeywords),
+                courseRank, explanation);
+    }
+
+    private Course(CourseDetails details, int courseRank, String explanation) {
+        this.details = details;
         this.courseRank = courseRank;
-        this.courseKeywords = courseKeywords;
-        this.courseDescription = courseDescription;
+        this.explanation = explanation;
+    }
+
+    /** The same course (sharing its catalog fields) with another rank and explanation. */
+    public Course withRanking(int courseRank, String explanation) {
+        return new Course(details, courseRank, explanation);
     }
 
-    public String getCourseCode() { return courseCode; }
-    public String getCourseName() { return courseName; }
-    public String getDescription() { return description; }
-    public String getPrerequisiteCodes() { return prerequisiteCodes; }
+    public String getCourseCode() { return details.code; }
+    public String getCourseName() { return details.name; }
+    public String getDescription() { return details.description; }
+    public String getPrerequisiteCodes() { return details.prerequisites; }
     public int getCourseRank() { return courseRank; }
-    public String getCourseKeywords() { return courseKeywords; }
-    public String getCourseDescription() { return courseDescription; }
+    public String getCourseKeywords() { return details.keywords(); }
+    public List<String> getKeywordList() { return details.keywordList(); }
+    /** Why this course was recommended for this query. */
+    public String getExplanation() { return explanation; }
 
     @Override
     public String toString() {
-        return courseCode + ": " + courseName;
+        return getCourseCode() + ": " + getCourseName();
     }
-}
\ No newline at end of file
+}
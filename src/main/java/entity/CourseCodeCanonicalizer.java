@@ -0,0 +1,95 @@
+package entity;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The one rule for when two spellings of a course code are the same course. Codes are compared
+ * in canonical form: upper case, no whitespace, session suffix dropped ("csc 207h1f" is
+ * "CSC207H1"). The credit/campus suffix is kept, since CSC207H1 and CSC207H5 are different
+ * courses on different campuses. A bare code ("CSC207") matches every suffixed variant, as in
+ * {@code catalog.CourseCodeSet}.
+ *
+ * Stateless: integer IDs come from a {@code catalog.CourseCodeTable} scoped to its catalog, which
+ * applies the same rule, and short-lived de-duplication uses {@link SeenCodes}.
+ */
+public final class CourseCodeCanonicalizer {
+
+    // 3-letter department, 3-character number, optional H/Y credit + campus digit, optional session
+    private static final Pattern UOFT_CODE = Pattern.compile("(([A-Z]{3}[A-Z0-9][0-9]{2})(?:[HY][0-9])?)[FSY]?");
+
+    private CourseCodeCanonicalizer() {
+    }
+
+    /** Upper case with all whitespace removed; the display form for user-typed codes. */
+    public static String normalize(String code) {
+        StringBuilder sb = new StringBuilder(code.length());
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (!Character.isWhitespace(c)) sb.append(Character.toUpperCase(c));
+        }
+        return sb.toString();
+    }
+
+    /** The code without its session suffix, e.g. "CSC207H1" for "csc207h1f" and "CSC207" for "csc 207". */
+    public static String canonical(String code) {
+        String normalized = normalize(code);
+        Matcher m = UOFT_CODE.matcher(normalized);
+        return m.matches() ? m.group(1) : normalized;
+    }
+
+    /** The bare code shared by all campus variants, e.g. "CSC207" for "CSC207H5"; non-UofT codes are their own base. */
+    public static String base(String code) {
+        String normalized = normalize(code);
+        Matcher m = UOFT_CODE.matcher(normalized);
+        return m.matches() ? m.group(2) : normalized;
+    }
+
+    /** True if the two codes name the same course under the rule above. */
+    public static boolean sameCourse(String a, String b) {
+        String ca = canonical(a);
+        String cb = canonical(b);
+        if (ca.equals(cb)) return true;
+        String base = base(ca);
+        return base.equals(base(cb)) && (ca.equals(base) || cb.equals(base));
+    }
+
+    /**
+     * Codes seen so far, e.g. while de-duplicating one answer. {@link #add} is true on the first
+     * sighting of a course in any spelling. Not thread-safe; one instance per list being built.
+     */
+    public static final class SeenCodes {
+        private final Set<String> codes = new HashSet<>();
+        private final Set<String> bases = new HashSet<>();
+
+        public boolean contains(String code) {
+            if (code == null) return false;
+            String canonical = canonical(code);
+            if (canonical.isEmpty()) return false;
+            if (codes.contains(canonical)) return true;
+            String base = base(canonical);
+            // A bare code matches any variant seen; a suffixed code matches a bare one
+            return canonical.equals(base) ? bases.contains(base) : codes.contains(base);
+        }
+
+        /** Records the code; false if the same course was already seen. Blank codes are always new. */
+        public boolean add(String code) {
+            if (code == null || code.isBlank()) return true;
+            if (contains(code)) return false;
+            String canonical = canonical(code);
+            codes.add(canonical);
+            bases.add(base(canonical));
+            return true;
+        }
+
+        public static SeenCodes of(Iterable<String> codes) {
+            SeenCodes seen = new SeenCodes();
+            if (codes != null) {
+                for (String code : codes) seen.add(code);
+            }
+            return seen;
+        }
+    }
+}
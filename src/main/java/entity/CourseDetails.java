@@ -0,0 +1,100 @@
+package entity;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * The catalog facts of a course (code, name, description, prerequisites, keywords), separate from
+ * the per-query rank and explanation so that every result mentioning a course shares one copy.
+ * Instances are interned weakly: identical details from different queries collapse to one object
+ * while any result still uses it. Keywords are split into tokens that are interned the same way,
+ * so courses sharing "statistics" share one string, and joined back into a display string only
+ * when asked for. Reading a course's keywords takes no lock.
+ */
+final class CourseDetails {
+
+    private static final Map<CourseDetails, WeakReference<CourseDetails>> INTERNED = new WeakHashMap<>();
+
+    private static final Map<String, WeakReference<String>> KEYWORDS = new WeakHashMap<>();
+
+    final String code;
+    final String name;
+    final String description;
+    final String prerequisites;
+    private final String[] keywordTokens; // null when the course has no keyword string at all
+    private final int hash;
+    private String keywords;        // joined lazily; a racy recompute yields an equal string
+
+    private CourseDetails(String code, String name, String description, String prerequisites, String[] keywordTokens) {
+        this.code = code;
+        this.name = name;
+        this.description = description;
+        this.prerequisites = prerequisites;
+        this.keywordTokens = keywordTokens;
+        this.hash = Objects.hash(code, name, description, prerequisites) * 31 + Arrays.hashCode(keywordTokens);
+    }
+
+    static CourseDetails of(String code, String name, String description, String prerequisites, String keywords) {
+        CourseDetails details = new CourseDetails(code, name, description, prerequisites, keywordTokens(keywords));
+        synchronized (INTERNED) {
+            WeakReference<CourseDetails> ref = INTERNED.get(details);
+            CourseDetails existing = ref == null ? null : ref.get();
+            if (existing != null) return existing;
+            INTERNED.put(details, new WeakReference<>(details));
+            return details;
+        }
+    }
+
+    /** The comma-separated keywords, e.g. "machine learning, statistics". */
+    String keywords() {
+        String joined = keywords;
+        if (joined == null && keywordTokens != null) {
+            keywords = joined = String.join(", ", keywordTokens);
+        }
+        return joined;
+    }
+
+    List<String> keywordList() {
+        return keywordTokens == null ? List.of() : List.of(keywordTokens);
+    }
+
+    private static String[] keywordTokens(String keywords) {
+        if (keywords == null) return null;
+        String[] tokens = keywords.split(",");
+        int n = 0;
+        synchronized (KEYWORDS) {
+            for (String token : tokens) {
+                String keyword = token.trim();
+                if (!keyword.isEmpty()) tokens[n++] = internKeyword(keyword);
+            }
+        }
+        return n == tokens.length ? tokens : Arrays.copyOf(tokens, n);
+    }
+
+    /** The shared copy of {@code keyword}; dropped from the table once no course uses it. Caller holds KEYWORDS. */
+    private static String internKeyword(String keyword) {
+        WeakReference<String> ref = KEYWORDS.get(keyword);
+        String existing = ref == null ? null : ref.get();
+        if (existing != null) return existing;
+        KEYWORDS.put(keyword, new WeakReference<>(keyword));
+        return keyword;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CourseDetails)) return false;
+        CourseDetails other = (CourseDetails) o;
+        return hash == other.hash
+                && Objects.equals(code, other.code)
+                && Objects.equals(name, other.name)
+                && Objects.equals(description, other.description)
+                && Objects.equals(prerequisites, other.prerequisites)
+                && Arrays.equals(keywordTokens, other.keywordTokens);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,50 @@
+package interface_adapter.history;
+
+import interface_adapter.recommend_courses.RecommendCoursesViewModel;
+import storage.SearchHistoryLog;
+import use_case.recommend_courses.RecommendationQueryKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchHistoryController {
+
+    final SearchHistoryLog history;
+    final RecommendCoursesViewModel viewModel;
+
+    public SearchHistoryController(SearchHistoryLog history, RecommendCoursesViewModel viewModel) {
+        this.history = history;
+        this.viewModel = viewModel;
+    }
+
+    /**
+     * App launch: show the results of the last search straight from the log,
+     * leaving the interests and courses loaded from the profile as they are.
+     */
+    public void restoreLatest() {
+        SearchHistoryLog.Search search = history.latest();
+        if (search != null) showResults(search);
+    }
+
+    /** Past searches for the history dialog, newest first. */
+    public List<SearchHistoryLog.Summary> getSearches() {
+        return history.summaries();
+    }
+
+    /**
+     * User Action: reopen a past search. Puts its interests and completed courses back
+     * in the survey and shows its results, without a network call.
+     */
+    public boolean restore(SearchHistoryLog.Summary summary) {
+        SearchHistoryLog.Search search = history.read(summary);
+        if (search == null) return false;
+        viewModel.setProfileState(new ArrayList<>(search.getCompletedCourses()), search.getInterests());
+        showResults(search);
+        return true;
+    }
+
+    private void showResults(SearchHistoryLog.Search search) {
+        viewModel.setQueryId(RecommendationQueryKey.of(search.getInterests(), search.getCompletedCourses()));
+        viewModel.setRecommendedCourses(search.getCourses());
+    }
+}
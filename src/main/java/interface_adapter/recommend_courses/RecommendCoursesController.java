@@ -11,8 +11,12 @@ public class RecommendCoursesController {
         this.interactor = interactor;
     }
 
+    /**
+     * Returns immediately; the presenter updates the view model once Gemini answers,
+     * so this is safe to call from the Swing Event Dispatch Thread.
+     */
     public void execute(String interests, List<String> completedCourses) {
         RecommendCoursesInputData input = new RecommendCoursesInputData(interests, completedCourses);
-        interactor.execute(input);
+        interactor.executeAsync(input);
     }
-}
\ No newline at end of file
+}
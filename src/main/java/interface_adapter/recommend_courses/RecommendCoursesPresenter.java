@@ -1,8 +1,11 @@
 package interface_adapter.recommend_courses;
 
+import entity.Course;
 import use_case.recommend_courses.RecommendCoursesOutputBoundary;
 import use_case.recommend_courses.RecommendCoursesOutputData;
 
+import javax.swing.SwingUtilities;
+
 public class RecommendCoursesPresenter implements RecommendCoursesOutputBoundary {
     private final RecommendCoursesViewModel viewModel;
 
@@ -12,11 +15,28 @@ public class RecommendCoursesPresenter implements RecommendCoursesOutputBoundary
 
     @Override
     public void prepareSuccessView(RecommendCoursesOutputData outputData) {
-        viewModel.setRecommendedCourses(outputData.getRecommendedCourses());
+        onEventDispatchThread(() -> {
+            viewModel.setQueryId(outputData.getQueryId());
+            viewModel.setRecommendedCourses(outputData.getRecommendedCourses());
+        });
+    }
+
+    @Override
+    public void preparePartialView(Course course) {
+        onEventDispatchThread(() -> viewModel.fireCourseAdded(course));
     }
 
     @Override
     public void prepareFailView(String errorMessage) {
-        viewModel.fireError(errorMessage);
+        onEventDispatchThread(() -> viewModel.fireError(errorMessage));
+    }
+
+    // Results usually arrive on an HTTP client thread; Swing listeners must only run on the EDT.
+    private static void onEventDispatchThread(Runnable update) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            update.run();
+        } else {
+            SwingUtilities.invokeLater(update);
+        }
     }
-}
\ No newline at end of file
+}
@@ -8,10 +8,12 @@ import java.util.List;
 
 public class RecommendCoursesViewModel {
     public static final String PROPERTY_RECOMMENDATIONS = "recommendations";
+    public static final String PROPERTY_COURSE_ADDED = "courseAdded";
     public static final String PROPERTY_ERROR = "error";
     public static final String PROPERTY_PROFILE_LOADED = "profileLoaded"; // New Property
 
     private List<Course> recommendedCourses = new ArrayList<>();
+    private String queryId = "";
 
     // ==== NEW STATE ====
     private List<String> completedCoursesState = new ArrayList<>();
@@ -21,6 +23,8 @@ public class RecommendCoursesViewModel {
 
     // Getters
     public List<Course> getRecommendedCourses() { return recommendedCourses; }
+    /** ID of the search that produced the current recommendations (used by WhyCourses). */
+    public String getQueryId() { return queryId; }
     public List<String> getCompletedCoursesState() { return completedCoursesState; }
     public String getInterestsState() { return interestsState; }
 
@@ -31,6 +35,10 @@ public class RecommendCoursesViewModel {
         support.firePropertyChange(PROPERTY_RECOMMENDATIONS, old, recommendedCourses);
     }
 
+    public void setQueryId(String queryId) {
+        this.queryId = queryId;
+    }
+
     public void setProfileState(List<String> completedCourses, String interests) {
         this.completedCoursesState = completedCourses;
         this.interestsState = interests;
@@ -38,6 +46,11 @@ public class RecommendCoursesViewModel {
         support.firePropertyChange(PROPERTY_PROFILE_LOADED, null, null);
     }
 
+    /** A single course arrived while a search is still streaming. */
+    public void fireCourseAdded(Course course) {
+        support.firePropertyChange(PROPERTY_COURSE_ADDED, null, course);
+    }
+
     public void fireError(String error) {
         support.firePropertyChange(PROPERTY_ERROR, null, error);
     }
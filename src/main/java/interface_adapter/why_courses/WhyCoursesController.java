@@ -10,8 +10,8 @@ public class WhyCoursesController {
         this.interactor = interactor;
     }
 
-    public void execute(String courseCode) {
-        WhyCoursesInputData inputData = new WhyCoursesInputData(courseCode);
+    public void execute(String queryId, String courseCode) {
+        WhyCoursesInputData inputData = new WhyCoursesInputData(queryId, courseCode);
         interactor.execute(inputData);
     }
 }
\ No newline at end of file
@@ -3,35 +3,76 @@ package storage;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-public class AppStateStore {
+/**
+ * Profile state (courses taken, last interests, API key material) kept in memory after one
+ * read of ~/.course_explorer/app.properties.
+ *
+ * Loads are answered from memory. Saves update memory and schedule a write-behind on a
+ * background thread: writes arriving within the debounce window are coalesced into one, and a
+ * burst of saves is written at the latest after {@link #MAX_DELAY_FACTOR} windows. The file is
+ * written to a temp file and atomically moved into place, so a crash mid-write leaves the
+ * previous version intact. Optionally a {@link WatchService} picks up edits made outside the
+ * app while nothing is waiting to be written.
+ */
+public class AppStateStore implements AutoCloseable {
+
+    private static final String COMMENT = "Course Explorer App State";
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+    private static final int MAX_DELAY_FACTOR = 5;
 
     private final Path dir;
     private final Path file;
+    private final long debounceMillis;
+    private final ScheduledExecutorService writer;
+    private final Thread watcher;
+
+    // Guarded by this
+    private final Properties state = new Properties();
+    private ScheduledFuture<?> pendingWrite;
+    private long firstUnsavedMillis;
+    private boolean dirty;
+    private int writeCount;
 
     public AppStateStore() {
-        String home = System.getProperty("user.home");
-        this.dir = Paths.get(home, ".course_explorer");
-        this.file = dir.resolve("app.properties");
+        this(Paths.get(System.getProperty("user.home"), ".course_explorer", "app.properties"),
+                DEFAULT_DEBOUNCE_MILLIS, true);
+    }
+
+    /**
+     * @param debounceMillis quiet period after the last save before the file is written
+     * @param watch          reload the file when it is changed by something else
+     */
+    public AppStateStore(Path file, long debounceMillis, boolean watch) {
+        this.file = file.toAbsolutePath();
+        this.dir = this.file.getParent();
+        this.debounceMillis = debounceMillis;
         ensureDirAndFile();
+        state.putAll(readFile());
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "app-state-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        this.watcher = watch ? startWatcher() : null;
     }
 
     private void ensureDirAndFile() {
         try {
             if (!Files.exists(dir)) Files.createDirectories(dir);
-            if (!Files.exists(file)) {
-                Properties p = new Properties();
-                try (OutputStream os = Files.newOutputStream(file)) {
-                    p.store(os, "Course Explorer App State");
-                }
-            }
+            if (!Files.exists(file)) writeAtomically(new Properties());
         } catch (IOException e) {
             throw new RuntimeException("Failed to init local store", e);
         }
     }
 
-    private Properties loadProps() {
+    private Properties readFile() {
         Properties p = new Properties();
         try (InputStream is = Files.newInputStream(file)) {
             p.load(is);
@@ -41,31 +82,150 @@ public class AppStateStore {
         return p;
     }
 
-    private void saveProps(Properties p) {
-        try (OutputStream os = Files.newOutputStream(file)) {
-            p.store(os, "Course Explorer App State");
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to write app.properties", e);
+    private void writeAtomically(Properties p) throws IOException {
+        Path tmp = Files.createTempFile(dir, "app", ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp)) {
+                p.store(os, COMMENT);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // ===== write-behind =====
+
+    /** Records a change and (re)starts the debounce timer, capped so a steady stream of saves still gets written. */
+    private synchronized void scheduleWrite() {
+        long now = System.currentTimeMillis();
+        if (!dirty) {
+            dirty = true;
+            firstUnsavedMillis = now;
+        }
+        if (pendingWrite != null) pendingWrite.cancel(false);
+        long latest = firstUnsavedMillis + debounceMillis * MAX_DELAY_FACTOR;
+        long delay = Math.max(0, Math.min(debounceMillis, latest - now));
+        pendingWrite = writer.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /** Writes pending changes now, on the calling thread. Does nothing if everything is saved. */
+    public void flush() {
+        Properties snapshot;
+        synchronized (this) {
+            if (!dirty) return;
+            snapshot = new Properties();
+            snapshot.putAll(state);
+            dirty = false;
+            if (pendingWrite != null) {
+                pendingWrite.cancel(false);
+                pendingWrite = null;
+            }
+        }
+        // Serialise writers so an older snapshot can never land after a newer one
+        synchronized (file) {
+            try {
+                writeAtomically(snapshot);
+                synchronized (this) {
+                    writeCount++;
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to write app.properties: " + e.getMessage());
+                synchronized (this) {
+                    if (!dirty) {
+                        dirty = true;
+                        firstUnsavedMillis = System.currentTimeMillis();
+                    }
+                }
+            }
+        }
+    }
+
+    /** Flushes pending changes and stops the background threads. */
+    @Override
+    public void close() {
+        flush();
+        writer.shutdown();
+        if (watcher != null) watcher.interrupt();
+    }
+
+    /** Number of times the file has been written since this store opened. */
+    synchronized int getWriteCount() {
+        return writeCount;
+    }
+
+    // ===== external edits =====
+
+    private Thread startWatcher() {
+        WatchService watchService;
+        try {
+            watchService = dir.getFileSystem().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("Not watching app.properties for changes: " + e.getMessage());
+            return null;
+        }
+        Thread t = new Thread(() -> {
+            try (WatchService ws = watchService) {
+                while (!Thread.currentThread().isInterrupted()) {
+                    WatchKey key = ws.take();
+                    boolean touched = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        touched |= file.getFileName().equals(event.context());
+                    }
+                    if (touched) reloadIfClean();
+                    if (!key.reset()) return;
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // closing
+            } catch (IOException e) {
+                System.err.println("Stopped watching app.properties: " + e.getMessage());
+            }
+        }, "app-state-watcher");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    /** Adopts the file's content unless the app has changes of its own waiting to be written. */
+    private void reloadIfClean() {
+        Properties loaded;
+        try {
+            loaded = readFile();
+        } catch (RuntimeException e) {
+            return; // half-written by an editor; the next event will bring the rest
+        }
+        synchronized (this) {
+            if (dirty) return;
+            state.clear();
+            state.putAll(loaded);
         }
     }
 
     // ===== public API =====
 
     public void saveCoursesAndInterests(List<String> courses, String interests) {
-        Properties p = loadProps();
         String joined = courses == null ? "" :
                 courses.stream()
                         .map(String::trim)
                         .filter(s -> !s.isEmpty())
                         .collect(Collectors.joining("\n")); // newline-delimited
-        p.setProperty("courses_taken", joined);
-        p.setProperty("last_interests", interests == null ? "" : interests);
-        saveProps(p);
+        synchronized (this) {
+            state.setProperty("courses_taken", joined);
+            state.setProperty("last_interests", interests == null ? "" : interests);
+            scheduleWrite();
+        }
     }
 
     public List<String> loadCoursesTaken() {
-        Properties p = loadProps();
-        String raw = p.getProperty("courses_taken", "").trim();
+        String raw;
+        synchronized (this) {
+            raw = state.getProperty("courses_taken", "").trim();
+        }
         if (raw.isEmpty()) return new ArrayList<>();
         String[] lines = raw.split("\\R");
         List<String> out = new ArrayList<>();
@@ -76,15 +236,13 @@ public class AppStateStore {
         return out;
     }
 
-    public String loadLastInterests() {
-        Properties p = loadProps();
-        return p.getProperty("last_interests", "");
+    public synchronized String loadLastInterests() {
+        return state.getProperty("last_interests", "");
     }
 
-    public boolean hasEncryptedApiKey() {
-        Properties p = loadProps();
-        return p.getProperty("api_ct") != null &&
-                p.getProperty("api_salt") != null &&
-                p.getProperty("api_iv") != null;
+    public synchronized boolean hasEncryptedApiKey() {
+        return state.getProperty("api_ct") != null &&
+                state.getProperty("api_salt") != null &&
+                state.getProperty("api_iv") != null;
     }
-}
\ No newline at end of file
+}
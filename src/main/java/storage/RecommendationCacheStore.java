@@ -0,0 +1,252 @@
+package storage;
+
+import entity.Course;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Size-bounded LRU cache of recommendation results, persisted to
+ * ~/.course_explorer/recommendations.cache so repeat queries survive restarts.
+ *
+ * The file is rewritten to a temp file and atomically moved into place, and carries a
+ * CRC32 trailer; a truncated or corrupted file is discarded instead of crashing the app.
+ * Writes happen behind: {@link #put} only updates memory and schedules a write on a
+ * background thread, so lookups never wait for the disk and a burst of misses is written once.
+ */
+public class RecommendationCacheStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x43455243; // "CERC"
+    private static final int VERSION = 1;
+    private static final long WRITE_DELAY_MILLIS = 500;
+
+    private final Path file;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "recommendation-cache-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Object fileLock = new Object();
+    // Guarded by this
+    private ScheduledFuture<?> pendingWrite;
+    private long changes;
+    // Guarded by fileLock
+    private long writtenChanges;
+
+    public RecommendationCacheStore() {
+        this(Paths.get(System.getProperty("user.home"), ".course_explorer", "recommendations.cache"),
+                Duration.ofDays(7), 200, Clock.systemUTC());
+    }
+
+    public RecommendationCacheStore(Path file, Duration ttl, int maxEntries, Clock clock) {
+        this.file = file;
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        // accessOrder = true turns the map into an LRU list
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > RecommendationCacheStore.this.maxEntries;
+            }
+        };
+        load();
+    }
+
+    // ===== public API =====
+
+    /** Returns the cached courses for this key, or null if absent or expired. */
+    public synchronized List<Course> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (isExpired(entry)) {
+            entries.remove(key);
+            return null;
+        }
+        return new ArrayList<>(entry.courses);
+    }
+
+    public synchronized void put(String key, List<Course> courses) {
+        entries.put(key, new Entry(clock.millis(), new ArrayList<>(courses)));
+        changes++;
+        if (pendingWrite == null) {
+            pendingWrite = writer.schedule(this::flush, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Writes pending changes now, on the calling thread. */
+    public void flush() {
+        byte[] bytes;
+        long snapshot;
+        synchronized (this) {
+            if (pendingWrite != null) {
+                pendingWrite.cancel(false);
+                pendingWrite = null;
+            }
+            snapshot = changes;
+            try {
+                bytes = encode();
+            } catch (IOException e) {
+                System.err.println("Failed to write recommendation cache: " + e.getMessage());
+                return;
+            }
+        }
+        // The store's lock is released here, so lookups carry on while the file is written
+        synchronized (fileLock) {
+            if (snapshot <= writtenChanges) return; // a newer snapshot is already on disk
+            try {
+                writeAtomically(bytes);
+                writtenChanges = snapshot;
+            } catch (IOException e) {
+                // The cache is an optimisation; never fail a search because it couldn't be written
+                System.err.println("Failed to write recommendation cache: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Flushes pending changes and stops the writer thread. */
+    @Override
+    public void close() {
+        flush();
+        writer.shutdown();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // ===== persistence =====
+
+    private boolean isExpired(Entry entry) {
+        return clock.millis() - entry.createdAt > ttlMillis;
+    }
+
+    private void load() {
+        if (!Files.exists(file)) return;
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            if (bytes.length < Long.BYTES) throw new IOException("file too short");
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - Long.BYTES);
+            DataInputStream trailer = new DataInputStream(
+                    new ByteArrayInputStream(bytes, bytes.length - Long.BYTES, Long.BYTES));
+            if (trailer.readLong() != crc.getValue()) throw new IOException("checksum mismatch");
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("unknown format");
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = readString(in);
+                long createdAt = in.readLong();
+                int courseCount = in.readInt();
+                List<Course> courses = new ArrayList<>(courseCount);
+                for (int j = 0; j < courseCount; j++) {
+                    String code = readString(in);
+                    String name = readString(in);
+                    String description = readString(in);
+                    String prerequisites = readString(in);
+                    int rank = in.readInt();
+                    String keywords = readString(in);
+                    String explanation = readString(in);
+                    courses.add(new Course(code, name, description, prerequisites, rank, keywords, explanation));
+                }
+                Entry entry = new Entry(createdAt, courses);
+                if (!isExpired(entry)) entries.put(key, entry);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable recommendation cache: " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private byte[] encode() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        List<Map.Entry<String, Entry>> live = new ArrayList<>();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (!isExpired(e.getValue())) live.add(e);
+        }
+        out.writeInt(live.size());
+        for (Map.Entry<String, Entry> e : live) {
+            writeString(out, e.getKey());
+            out.writeLong(e.getValue().createdAt);
+            out.writeInt(e.getValue().courses.size());
+            for (Course c : e.getValue().courses) {
+                writeString(out, c.getCourseCode());
+                writeString(out, c.getCourseName());
+                writeString(out, c.getDescription());
+                writeString(out, c.getPrerequisiteCodes());
+                out.writeInt(c.getCourseRank());
+                writeString(out, c.getCourseKeywords());
+                writeString(out, c.getExplanation());
+            }
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    private void writeAtomically(byte[] bytes) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "recommendations", ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) throw new IOException("bad string length " + length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class Entry {
+        final long createdAt;
+        final List<Course> courses;
+
+        Entry(long createdAt, List<Course> courses) {
+            this.createdAt = createdAt;
+            this.courses = courses;
+        }
+    }
+}
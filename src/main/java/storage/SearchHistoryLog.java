@@ -0,0 +1,340 @@
+package storage;
+
+import entity.Course;
+import use_case.recommend_courses.RecommendationQueryKey;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Clock;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of past searches (~/.course_explorer/history.log): the interests and
+ * completed courses sent, the courses returned with their explanations, and how long the
+ * search took. The app shows the latest results at launch and reopens any past search
+ * without a network call.
+ *
+ * Each record is {@code int length, int crc32, payload}. Opening the log scans it once and
+ * keeps an in-memory index of record offsets and summaries, so the latest entry (or any entry)
+ * is a single seek and read. A torn or corrupt tail, e.g. from a crash mid-append, is cut off
+ * at the last good record. Once the log holds twice {@code maxEntries} records it is compacted:
+ * only the newest record per query is kept, up to {@code maxEntries}, written to a temp file
+ * and atomically moved into place.
+ */
+public class SearchHistoryLog {
+
+    private static final int MAGIC = 0x43455348; // "CESH"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+    /** What the index keeps per record; enough to list searches without reading their courses. */
+    public static final class Summary {
+        private final long offset;
+        private final long timestampMillis;
+        private final long elapsedMillis;
+        private final String interests;
+        private final List<String> completedCourses;
+        private final int courseCount;
+
+        Summary(long offset, long timestampMillis, long elapsedMillis, String interests,
+                List<String> completedCourses, int courseCount) {
+            this.offset = offset;
+            this.timestampMillis = timestampMillis;
+            this.elapsedMillis = elapsedMillis;
+            this.interests = interests;
+            this.completedCourses = completedCourses;
+            this.courseCount = courseCount;
+        }
+
+        public long getTimestampMillis() { return timestampMillis; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public String getInterests() { return interests; }
+        public List<String> getCompletedCourses() { return completedCourses; }
+        public int getCourseCount() { return courseCount; }
+    }
+
+    /** A full record: the summary plus the returned courses. */
+    public static final class Search {
+        private final Summary summary;
+        private final List<Course> courses;
+
+        Search(Summary summary, List<Course> courses) {
+            this.summary = summary;
+            this.courses = courses;
+        }
+
+        public Summary getSummary() { return summary; }
+        public String getInterests() { return summary.interests; }
+        public List<String> getCompletedCourses() { return summary.completedCourses; }
+        public List<Course> getCourses() { return courses; }
+    }
+
+    private final Path file;
+    private final int maxEntries;
+    private final Clock clock;
+
+    // Guarded by this; oldest first
+    private final List<Summary> index = new ArrayList<>();
+    private long length;
+
+    public SearchHistoryLog() {
+        this(Paths.get(System.getProperty("user.home"), ".course_explorer", "history.log"), 200, Clock.systemUTC());
+    }
+
+    public SearchHistoryLog(Path file, int maxEntries, Clock clock) {
+        this.file = file;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        open();
+        if (index.size() >= 2 * maxEntries) compact();
+    }
+
+    // ===== public API =====
+
+    /** Appends one search. History is a convenience, so failures are logged rather than thrown. */
+    public synchronized void append(String interests, List<String> completedCourses, List<Course> courses, long elapsedMillis) {
+        List<String> completed = completedCourses == null ? List.of() : List.copyOf(completedCourses);
+        long timestamp = clock.millis();
+        try {
+            byte[] record = encode(timestamp, elapsedMillis, interests == null ? "" : interests, completed, courses);
+            try (FileOutputStream out = new FileOutputStream(file.toFile(), true)) {
+                out.write(record);
+                out.getFD().sync();
+            }
+            index.add(new Summary(length, timestamp, elapsedMillis, interests == null ? "" : interests,
+                    completed, courses.size()));
+            length += record.length;
+        } catch (IOException e) {
+            System.err.println("Failed to append to search history: " + e.getMessage());
+            return;
+        }
+        if (index.size() >= 2 * maxEntries) compact();
+    }
+
+    /** The most recent search, or null if there is none. */
+    public synchronized Search latest() {
+        return index.isEmpty() ? null : read(index.get(index.size() - 1));
+    }
+
+    /** Summaries of all searches in the log, newest first. */
+    public synchronized List<Summary> summaries() {
+        List<Summary> newestFirst = new ArrayList<>(index);
+        Collections.reverse(newestFirst);
+        return newestFirst;
+    }
+
+    /** Reads the full search behind a summary, or null if it can no longer be read. */
+    public synchronized Search read(Summary summary) {
+        try (RandomAccessFile in = new RandomAccessFile(file.toFile(), "r")) {
+            in.seek(summary.offset);
+            int payloadLength = in.readInt();
+            int crc = in.readInt();
+            byte[] payload = new byte[payloadLength];
+            in.readFully(payload);
+            if (crc(payload) != crc) throw new IOException("checksum mismatch");
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+            Summary header = readSummary(data, summary.offset);
+            return new Search(header, readCourses(data));
+        } catch (IOException e) {
+            // Compacted away by another instance, or damaged since the index was built
+            System.err.println("Cannot read search history entry: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /** Rewrites the log with the newest record of each query, at most {@code maxEntries} of them. */
+    public synchronized void compact() {
+        Set<String> seenQueries = new HashSet<>();
+        List<Search> kept = new ArrayList<>();
+        for (int i = index.size() - 1; i >= 0 && kept.size() < maxEntries; i--) {
+            Summary summary = index.get(i);
+            if (!seenQueries.add(RecommendationQueryKey.of(summary.interests, summary.completedCourses))) continue;
+            Search search = read(summary);
+            if (search != null) kept.add(search);
+        }
+        Collections.reverse(kept);
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            writeFileHeader(new DataOutputStream(buffer));
+            List<Summary> rebuilt = new ArrayList<>(kept.size());
+            for (Search search : kept) {
+                Summary s = search.summary;
+                rebuilt.add(new Summary(buffer.size(), s.timestampMillis, s.elapsedMillis, s.interests,
+                        s.completedCourses, s.courseCount));
+                buffer.write(encode(s.timestampMillis, s.elapsedMillis, s.interests, s.completedCourses, search.courses));
+            }
+            writeAtomically(buffer.toByteArray());
+            index.clear();
+            index.addAll(rebuilt);
+            length = buffer.size();
+        } catch (IOException e) {
+            System.err.println("Failed to compact search history: " + e.getMessage());
+        }
+    }
+
+    // ===== persistence =====
+
+    /** Builds the index, cutting off anything after the last intact record. */
+    private void open() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            if (!Files.exists(file) || Files.size(file) < FILE_HEADER_BYTES) {
+                startEmpty();
+                return;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    System.err.println("Ignoring search history in an unknown format");
+                    startEmpty();
+                    return;
+                }
+                long fileSize = Files.size(file);
+                long pos = FILE_HEADER_BYTES;
+                while (pos + RECORD_HEADER_BYTES <= fileSize) {
+                    int payloadLength = in.readInt();
+                    int crc = in.readInt();
+                    if (payloadLength < 0 || pos + RECORD_HEADER_BYTES + payloadLength > fileSize) break;
+                    byte[] payload = new byte[payloadLength];
+                    in.readFully(payload);
+                    if (crc(payload) != crc) break;
+                    index.add(readSummary(new DataInputStream(new ByteArrayInputStream(payload)), pos));
+                    pos += RECORD_HEADER_BYTES + payloadLength;
+                }
+                length = pos;
+                if (pos < fileSize) {
+                    System.err.println("Dropping " + (fileSize - pos) + " unreadable bytes from the end of the search history");
+                }
+            }
+            if (length < Files.size(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(length);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Search history unavailable: " + e.getMessage());
+            index.clear();
+            length = FILE_HEADER_BYTES;
+        }
+    }
+
+    private void startEmpty() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        writeFileHeader(new DataOutputStream(buffer));
+        writeAtomically(buffer.toByteArray());
+        index.clear();
+        length = FILE_HEADER_BYTES;
+    }
+
+    private static void writeFileHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.flush();
+    }
+
+    private static byte[] encode(long timestamp, long elapsedMillis, String interests, List<String> completed,
+                                 List<Course> courses) throws IOException {
+        ByteArrayOutputStream payloadBuffer = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(payloadBuffer);
+        payload.writeLong(timestamp);
+        payload.writeLong(elapsedMillis);
+        writeString(payload, interests);
+        payload.writeInt(completed.size());
+        for (String code : completed) writeString(payload, code);
+        payload.writeInt(courses.size());
+        for (Course c : courses) {
+            writeString(payload, c.getCourseCode());
+            writeString(payload, c.getCourseName());
+            writeString(payload, c.getDescription());
+            writeString(payload, c.getPrerequisiteCodes());
+            payload.writeInt(c.getCourseRank());
+            writeString(payload, c.getCourseKeywords());
+            writeString(payload, c.getExplanation());
+        }
+        payload.flush();
+        byte[] bytes = payloadBuffer.toByteArray();
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream(RECORD_HEADER_BYTES + bytes.length);
+        DataOutputStream out = new DataOutputStream(record);
+        out.writeInt(bytes.length);
+        out.writeInt(crc(bytes));
+        out.write(bytes);
+        out.flush();
+        return record.toByteArray();
+    }
+
+    private static Summary readSummary(DataInputStream in, long offset) throws IOException {
+        long timestamp = in.readLong();
+        long elapsed = in.readLong();
+        String interests = readString(in);
+        int completedCount = in.readInt();
+        if (completedCount < 0) throw new IOException("bad course count " + completedCount);
+        List<String> completed = new ArrayList<>(completedCount);
+        for (int i = 0; i < completedCount; i++) completed.add(readString(in));
+        in.mark(Integer.BYTES);
+        int courseCount = in.readInt();
+        in.reset(); // leave the courses for readCourses
+        return new Summary(offset, timestamp, elapsed, interests, Collections.unmodifiableList(completed), courseCount);
+    }
+
+    private static List<Course> readCourses(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) throw new IOException("bad course count " + count);
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String code = readString(in);
+            String name = readString(in);
+            String description = readString(in);
+            String prerequisites = readString(in);
+            int rank = in.readInt();
+            String keywords = readString(in);
+            String explanation = readString(in);
+            courses.add(new Course(code, name, description, prerequisites, rank, keywords, explanation));
+        }
+        return courses;
+    }
+
+    private void writeAtomically(byte[] bytes) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "history", ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) throw new IOException("bad string length " + length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
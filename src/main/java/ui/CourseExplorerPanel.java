@@ -3,9 +3,11 @@ package ui;
 import entity.Course;
 import use_case.interest_survey.KeywordGenerator;
 import use_case.interest_survey.WeightedKeywordGenerator;
+import interface_adapter.history.SearchHistoryController;
 import interface_adapter.profile.ProfileController;
 import interface_adapter.recommend_courses.RecommendCoursesController;
 import interface_adapter.recommend_courses.RecommendCoursesViewModel;
+import storage.SearchHistoryLog;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -33,12 +35,14 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
     // ==== Dependencies ====
     private final RecommendCoursesController recommendController;
     private final ProfileController profileController;
+    private final SearchHistoryController historyController; // null: no history
     private final RecommendCoursesViewModel viewModel;
     private final KeywordGenerator keywordGenerator;
 
     // ==== View State ====
     private final JTextArea interestsArea = new JTextArea();
     private List<String> completedCourses = new ArrayList<>();
+    private final List<Course> shownCourses = new ArrayList<>();
 
     // ==== UI Components ====
     private final JPanel coursesContainer = new JPanel();
@@ -46,6 +50,7 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
     private final JPanel recommendedCardPanel = new JPanel(recommendedCardLayout);
 
     private JButton submitButton; // tracked for default + loading state
+    private JButton historyButton; // disabled while a search is streaming in
 
     private static final String CARD_PLACEHOLDER = "placeholder";
     private static final String CARD_RESULTS = "results";
@@ -64,15 +69,31 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
     public CourseExplorerPanel(RecommendCoursesController recommendController,
                                ProfileController profileController,
                                RecommendCoursesViewModel viewModel) {
-        this(recommendController, profileController, viewModel, new WeightedKeywordGenerator());
+        this(recommendController, profileController, null, viewModel, new WeightedKeywordGenerator());
+    }
+
+    public CourseExplorerPanel(RecommendCoursesController recommendController,
+                               ProfileController profileController,
+                               SearchHistoryController historyController,
+                               RecommendCoursesViewModel viewModel) {
+        this(recommendController, profileController, historyController, viewModel, new WeightedKeywordGenerator());
+    }
+
+    public CourseExplorerPanel(RecommendCoursesController controller,
+                               ProfileController profileController,
+                               RecommendCoursesViewModel viewModel,
+                               KeywordGenerator keywordGenerator) {
+        this(controller, profileController, null, viewModel, keywordGenerator);
     }
 
     public CourseExplorerPanel(RecommendCoursesController controller,
                                ProfileController profileController,
+                               SearchHistoryController historyController,
                                RecommendCoursesViewModel viewModel,
                                KeywordGenerator keywordGenerator) {
         this.recommendController = controller;
         this.profileController = profileController;
+        this.historyController = historyController;
         this.viewModel = viewModel;
         this.keywordGenerator = keywordGenerator;
 
@@ -97,6 +118,8 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
         SwingUtilities.invokeLater(() -> splitPane.setDividerLocation(300));
 
         profileController.loadProfile();
+        // Show the last results right away instead of an empty pane until a new search finishes
+        if (historyController != null) historyController.restoreLatest();
     }
 
     @Override
@@ -118,6 +141,8 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
             List<Course> courses = (List<Course>) evt.getNewValue();
             restoreIdle();
             updateResultsView(courses);
+        } else if (RecommendCoursesViewModel.PROPERTY_COURSE_ADDED.equals(prop)) {
+            appendCourse((Course) evt.getNewValue());
         } else if (RecommendCoursesViewModel.PROPERTY_PROFILE_LOADED.equals(prop)) {
             this.completedCourses = viewModel.getCompletedCoursesState();
             this.interestsArea.setText(viewModel.getInterestsState());
@@ -128,11 +153,18 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
     }
 
     private void updateResultsView(List<Course> courses) {
-        coursesContainer.removeAll();
+        // Already rendered course-by-course while streaming; keep panels (and their expanded state)
+        if (courses != null && !courses.isEmpty() && courses.equals(shownCourses)) {
+            recommendedCardLayout.show(recommendedCardPanel, CARD_RESULTS);
+            return;
+        }
+
+        clearResults();
         if (courses == null || courses.isEmpty()) {
             recommendedCardLayout.show(recommendedCardPanel, CARD_PLACEHOLDER);
         } else {
             for (Course c : courses) {
+                shownCourses.add(c);
                 coursesContainer.add(new CourseResultPanel(c));
             }
             coursesContainer.revalidate();
@@ -141,6 +173,22 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
         }
     }
 
+    private void appendCourse(Course course) {
+        shownCourses.add(course);
+        coursesContainer.add(new CourseResultPanel(course));
+        coursesContainer.revalidate();
+        coursesContainer.repaint();
+        // Swap the spinner for the results as soon as the first course lands
+        if (shownCourses.size() == 1) {
+            recommendedCardLayout.show(recommendedCardPanel, CARD_RESULTS);
+        }
+    }
+
+    private void clearResults() {
+        shownCourses.clear();
+        coursesContainer.removeAll();
+    }
+
     // =======================
     // USER ACTIONS
     // =======================
@@ -163,9 +211,20 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
         }
 
         showLoading();
+        clearResults();
         recommendController.execute(interests, completedCourses);
     }
 
+    private void handleHistory() {
+        SearchHistoryDialog d = new SearchHistoryDialog(this, historyController.getSearches());
+        d.setLocationRelativeTo(this);
+        d.setVisible(true);
+        SearchHistoryLog.Summary selected = d.getSelected();
+        if (selected != null && !historyController.restore(selected)) {
+            JOptionPane.showMessageDialog(this, "That search could not be read from the history.", "History", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
     private void handleSave() {
         profileController.saveProfile(completedCourses, interestsArea.getText());
         JOptionPane.showMessageDialog(this, "Saved locally.", "Save", JOptionPane.INFORMATION_MESSAGE);
@@ -201,6 +260,11 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
             d.setVisible(true);
         });
 
+        historyButton = new JButton("Past searches");
+        historyButton.setAlignmentX(Component.LEFT_ALIGNMENT);
+        historyButton.setMaximumSize(new Dimension(Integer.MAX_VALUE, 36));
+        historyButton.addActionListener(e -> handleHistory());
+
         JLabel interestsLabel = new JLabel("What are your interests?");
         interestsLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
@@ -239,6 +303,10 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
         panel.add(coursesButton);
         panel.add(Box.createVerticalStrut(10));
         panel.add(apiKeyButton);
+        if (historyController != null) {
+            panel.add(Box.createVerticalStrut(10));
+            panel.add(historyButton);
+        }
         panel.add(Box.createVerticalStrut(20));
         panel.add(interestsLabel);
         panel.add(Box.createVerticalStrut(8));
@@ -303,6 +371,7 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
     // =======================
     private void showLoading() {
         if (submitButton != null) submitButton.setEnabled(false);
+        if (historyButton != null) historyButton.setEnabled(false);
         setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
         recommendedCardLayout.show(recommendedCardPanel, CARD_LOADING);
         recommendedCardPanel.revalidate();
@@ -312,6 +381,7 @@ public class CourseExplorerPanel extends JPanel implements PropertyChangeListene
     private void restoreIdle() {
         setCursor(Cursor.getDefaultCursor());
         if (submitButton != null) submitButton.setEnabled(true);
+        if (historyButton != null) historyButton.setEnabled(true);
     }
 
     // =======================
@@ -76,8 +76,8 @@ public class CourseResultPanel extends JPanel {
         whyButton.setFocusable(false);
 
         // The actual explanation text (Hidden initially)
-        // Note: course.getCourseDescription() holds the AI rationale in your Entity
-        JTextArea rationaleArea = new JTextArea("AI Rationale: " + course.getCourseDescription());
+        // Note: course.getExplanation() holds the AI rationale in your Entity
+        JTextArea rationaleArea = new JTextArea("AI Rationale: " + course.getExplanation());
         rationaleArea.setWrapStyleWord(true);
         rationaleArea.setLineWrap(true);
         rationaleArea.setEditable(false);
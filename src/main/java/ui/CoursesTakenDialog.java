@@ -1,5 +1,7 @@
 package ui;
 
+import entity.CourseCodeCanonicalizer;
+
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
@@ -62,10 +64,13 @@ public class CoursesTakenDialog extends JDialog {
         String text = coursesArea.getText();
         if (text == null || text.isEmpty()) return result;
 
+        // "csc 207h1" is saved as "CSC207H1", and a second spelling of the same course is dropped
+        CourseCodeCanonicalizer.SeenCodes seen = new CourseCodeCanonicalizer.SeenCodes();
         String[] lines = text.split("\\R");
         for (String line : lines) {
-            String trimmed = line.trim();
-            if (!trimmed.isEmpty()) result.add(trimmed);
+            String code = CourseCodeCanonicalizer.normalize(line);
+            if (code.isEmpty() || !seen.add(code)) continue;
+            result.add(code);
         }
         return result;
     }
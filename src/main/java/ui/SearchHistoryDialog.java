@@ -0,0 +1,87 @@
+package ui;
+
+import storage.SearchHistoryLog;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+/** Lists past searches, newest first; double-click or "Open" to show one again. */
+public class SearchHistoryDialog extends JDialog {
+
+    private final JList<SearchHistoryLog.Summary> list;
+    private SearchHistoryLog.Summary selected;
+
+    public SearchHistoryDialog(Component parent, List<SearchHistoryLog.Summary> searches) {
+        super(
+                SwingUtilities.getWindowAncestor(parent),
+                "Past searches",
+                Dialog.ModalityType.APPLICATION_MODAL
+        );
+
+        setSize(520, 360);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+
+        JPanel content = new JPanel(new BorderLayout(0, 10));
+        content.setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        content.add(new JLabel(searches.isEmpty()
+                ? "No searches yet."
+                : "Open a past search to see its results again (no API call)."), BorderLayout.NORTH);
+
+        SimpleDateFormat format = new SimpleDateFormat("MMM d, HH:mm");
+        list = new JList<>(searches.toArray(new SearchHistoryLog.Summary[0]));
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> l, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                SearchHistoryLog.Summary s = (SearchHistoryLog.Summary) value;
+                String text = String.format("<html><b>%s</b> &nbsp;%s <span style='color:gray;'>(%d courses, %.1f s)</span></html>",
+                        format.format(new Date(s.getTimestampMillis())), escape(s.getInterests()),
+                        s.getCourseCount(), s.getElapsedMillis() / 1000.0);
+                return super.getListCellRendererComponent(l, text, index, isSelected, cellHasFocus);
+            }
+        });
+        if (!searches.isEmpty()) list.setSelectedIndex(0);
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && list.getSelectedValue() != null) open();
+            }
+        });
+        content.add(new JScrollPane(list), BorderLayout.CENTER);
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton cancel = new JButton("Cancel");
+        JButton open = new JButton("Open");
+        open.setEnabled(!searches.isEmpty());
+
+        cancel.addActionListener(e -> dispose());
+        open.addActionListener(e -> open());
+
+        buttons.add(cancel);
+        buttons.add(open);
+        content.add(buttons, BorderLayout.SOUTH);
+
+        setContentPane(content);
+        getRootPane().setDefaultButton(open);
+    }
+
+    private void open() {
+        selected = list.getSelectedValue();
+        dispose();
+    }
+
+    /** The search to reopen, or null if the dialog was cancelled. */
+    public SearchHistoryLog.Summary getSelected() { return selected; }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
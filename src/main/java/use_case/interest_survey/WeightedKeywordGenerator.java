@@ -43,6 +43,29 @@ public class WeightedKeywordGenerator implements KeywordGenerator {
             )
     );
 
+    /**
+     * The survey category an interest belongs to, e.g. "Analyzing data and patterns" for
+     * "machine learning" or "applied statistics", or null if it matches none of the keywords.
+     * When several keywords match, the heaviest wins (ties go to the category name first alphabetically).
+     */
+    public static String categoryOf(String interest) {
+        String text = interest.trim().toLowerCase(Locale.ROOT);
+        if (text.isEmpty()) return null;
+        String best = null;
+        int bestWeight = 0;
+        for (Map.Entry<String, List<WeightedKeyword>> category : KEYWORD_WEIGHTS.entrySet()) {
+            for (WeightedKeyword wk : category.getValue()) {
+                if (!text.contains(wk.keyword) && !wk.keyword.contains(text)) continue;
+                if (wk.baseWeight > bestWeight
+                        || (wk.baseWeight == bestWeight && category.getKey().compareTo(best) < 0)) {
+                    best = category.getKey();
+                    bestWeight = wk.baseWeight;
+                }
+            }
+        }
+        return best;
+    }
+
     @Override
     public List<String> generate(List<String> orderedInterests) {
         Map<String, Integer> keywordScores = new HashMap<>();
@@ -0,0 +1,72 @@
+package use_case.recommend_courses;
+
+import entity.Course;
+import entity.CourseCodeCanonicalizer;
+import use_case.interest_survey.WeightedKeywordGenerator;
+
+import java.util.*;
+
+/**
+ * Splitting a many-interest query into topic groups that can be searched separately, and
+ * merging the per-topic results back into one ranking.
+ *
+ * Interests are grouped by their {@link WeightedKeywordGenerator} survey category, so
+ * "machine learning, statistics" stay together while "film" goes to its own group; interests
+ * outside the taxonomy get a group each. The merged ranking interleaves the groups by rank
+ * (every group's first course, then every second course, ...) so each topic is represented near
+ * the top, and a course found by several groups is listed once.
+ */
+public final class InterestTopics {
+
+    private InterestTopics() {
+    }
+
+    /** At most {@code maxGroups} interest strings, e.g. ["machine learning, statistics", "film"]. */
+    public static List<String> split(String interests, int maxGroups) {
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        if (interests != null) {
+            for (String part : interests.split("[,;\\n]+")) {
+                String interest = part.trim().replaceAll("\\s+", " ");
+                if (interest.isEmpty()) continue;
+                String category = WeightedKeywordGenerator.categoryOf(interest);
+                String key = category != null ? category : "\u0000" + interest.toLowerCase(Locale.ROOT);
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(interest);
+            }
+        }
+
+        List<List<String>> buckets = new ArrayList<>(groups.values());
+        int limit = Math.max(1, maxGroups);
+        // Fold groups past the limit into the earlier ones, round-robin
+        for (int i = buckets.size() - 1; i >= limit; i--) {
+            buckets.get(i % limit).addAll(buckets.remove(i));
+        }
+
+        List<String> topics = new ArrayList<>(buckets.size());
+        for (List<String> bucket : buckets) topics.add(String.join(", ", bucket));
+        return topics;
+    }
+
+    /** One ranking from per-topic results (in topic order), renumbered from 1. */
+    public static List<Course> merge(List<List<Course>> perTopic) {
+        List<Course> all = new ArrayList<>();
+        List<int[]> order = new ArrayList<>(); // {rank, topic, position}
+        for (int topic = 0; topic < perTopic.size(); topic++) {
+            List<Course> courses = perTopic.get(topic);
+            if (courses == null) continue;
+            for (int i = 0; i < courses.size(); i++) {
+                order.add(new int[]{courses.get(i).getCourseRank(), topic, all.size()});
+                all.add(courses.get(i));
+            }
+        }
+        order.sort(Comparator.<int[]>comparingInt(o -> o[0]).thenComparingInt(o -> o[1]).thenComparingInt(o -> o[2]));
+
+        CourseCodeCanonicalizer.SeenCodes seen = new CourseCodeCanonicalizer.SeenCodes();
+        List<Course> merged = new ArrayList<>(all.size());
+        for (int[] o : order) {
+            Course course = all.get(o[2]);
+            if (!seen.add(course.getCourseCode())) continue;
+            merged.add(course.withRanking(merged.size() + 1, course.getExplanation()));
+        }
+        return merged;
+    }
+}
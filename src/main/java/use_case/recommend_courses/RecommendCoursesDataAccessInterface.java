@@ -2,7 +2,31 @@ package use_case.recommend_courses;
 
 import entity.Course;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface RecommendCoursesDataAccessInterface {
     List<Course> getRecommendations(String interests, List<String> completedCourses, String apiKey);
-}
\ No newline at end of file
+
+    /**
+     * Non-blocking variant of {@link #getRecommendations}.
+     * Network-backed implementations should override this; the default just runs the
+     * blocking call on the common pool so simple/fake DAOs keep working.
+     */
+    default CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completedCourses, String apiKey) {
+        return CompletableFuture.supplyAsync(() -> getRecommendations(interests, completedCourses, apiKey));
+    }
+
+    /**
+     * Streaming variant: {@code onCourse} is called for each course as soon as it is available,
+     * and the returned future completes with the full list once the response is finished.
+     * The default has nothing to stream, so it reports every course when the async call completes.
+     */
+    default CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completedCourses, String apiKey,
+                                                                  Consumer<Course> onCourse) {
+        return getRecommendationsAsync(interests, completedCourses, apiKey).thenApply(courses -> {
+            courses.forEach(onCourse);
+            return courses;
+        });
+    }
+}
@@ -1,5 +1,13 @@
 package use_case.recommend_courses;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface RecommendCoursesInputBoundary {
     void execute(RecommendCoursesInputData inputData);
-}
\ No newline at end of file
+
+    /**
+     * Starts the use case without blocking the caller.
+     * The output boundary is notified once the recommendations (or an error) arrive.
+     */
+    CompletableFuture<Void> executeAsync(RecommendCoursesInputData inputData);
+}
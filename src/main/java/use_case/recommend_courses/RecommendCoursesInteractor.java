@@ -2,6 +2,9 @@ package use_case.recommend_courses;
 
 import entity.Course;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 public class RecommendCoursesInteractor implements RecommendCoursesInputBoundary {
     final RecommendCoursesDataAccessInterface dataAccessObject;
@@ -22,13 +25,53 @@ public class RecommendCoursesInteractor implements RecommendCoursesInputBoundary
                 inputData.getApiKey()
         );
 
-        // 2. Apply business logic (e.g., empty check)
-        if (recommendations.isEmpty()) {
+        // 2. Apply business logic and prepare output
+        present(inputData, recommendations);
+    }
+
+    @Override
+    public CompletableFuture<Void> executeAsync(RecommendCoursesInputData inputData) {
+        CompletableFuture<List<Course>> pending;
+        try {
+            // Stream so the view can show each course as soon as it arrives
+            pending = dataAccessObject.streamRecommendations(
+                    inputData.getInterests(),
+                    inputData.getCompletedCourses(),
+                    inputData.getApiKey(),
+                    outputBoundary::preparePartialView
+            );
+        } catch (RuntimeException e) {
+            // Input validation in the DAO may fail before any request is sent
+            pending = CompletableFuture.failedFuture(e);
+        }
+
+        return pending.handle((recommendations, error) -> {
+            if (error != null) {
+                outputBoundary.prepareFailView(describe(error));
+            } else {
+                present(inputData, recommendations);
+            }
+            return null;
+        });
+    }
+
+    private void present(RecommendCoursesInputData inputData, List<Course> recommendations) {
+        // Empty check
+        if (recommendations == null || recommendations.isEmpty()) {
             outputBoundary.prepareFailView("No courses found for these interests.");
         } else {
-            // 3. Prepare output
-            RecommendCoursesOutputData output = new RecommendCoursesOutputData(recommendations);
+            String queryId = RecommendationQueryKey.of(inputData.getInterests(), inputData.getCompletedCourses());
+            RecommendCoursesOutputData output = new RecommendCoursesOutputData(queryId, recommendations);
             outputBoundary.prepareSuccessView(output);
         }
     }
-}
\ No newline at end of file
+
+    private static String describe(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        String message = cause.getMessage();
+        return (message == null || message.isEmpty()) ? "Failed to fetch recommendations." : message;
+    }
+}
@@ -1,6 +1,12 @@
 package use_case.recommend_courses;
 
+import entity.Course;
+
 public interface RecommendCoursesOutputBoundary {
     void prepareSuccessView(RecommendCoursesOutputData outputData);
     void prepareFailView(String errorMessage);
-}
\ No newline at end of file
+
+    /** Called for each course while results are still streaming in. Optional for presenters. */
+    default void preparePartialView(Course course) {
+    }
+}
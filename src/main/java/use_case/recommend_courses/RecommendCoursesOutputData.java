@@ -4,11 +4,15 @@ import entity.Course;
 import java.util.List;
 
 public class RecommendCoursesOutputData {
+    private final String queryId;
     private final List<Course> recommendedCourses;
 
-    public RecommendCoursesOutputData(List<Course> recommendedCourses) {
+    public RecommendCoursesOutputData(String queryId, List<Course> recommendedCourses) {
+        this.queryId = queryId;
         this.recommendedCourses = recommendedCourses;
     }
 
+    /** Identifies this search; pass it to WhyCourses to look up the rationales. */
+    public String getQueryId() { return queryId; }
     public List<Course> getRecommendedCourses() { return recommendedCourses; }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package use_case.recommend_courses;
+
+import entity.CourseCodeCanonicalizer;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Normalized identity of a recommendation query, used to recognise repeat searches.
+ * "Machine learning,  Data" and "data, machine learning" with the same completed courses
+ * produce the same key. Completed codes are compared in canonical form, so order, case,
+ * whitespace and the session suffix do not matter ("csc 207h1f" is "CSC207H1"). A bare code and
+ * a campus code stay distinct: "CSC207", "CSC207H1" and "CSC207H5" give three different keys.
+ */
+public final class RecommendationQueryKey {
+
+    private RecommendationQueryKey() {
+    }
+
+    public static String of(String interests, List<String> completedCourses) {
+        TreeSet<String> topics = new TreeSet<>();
+        if (interests != null) {
+            for (String part : interests.split("[,;\\n]+")) {
+                String topic = part.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+                if (!topic.isEmpty()) topics.add(topic);
+            }
+        }
+
+        TreeSet<String> completed = new TreeSet<>();
+        if (completedCourses != null) {
+            for (String code : completedCourses) {
+                if (code == null) continue;
+                // Persisted keys use the canonical code (campus kept, session dropped)
+                String canonical = CourseCodeCanonicalizer.canonical(code);
+                if (!canonical.isEmpty()) completed.add(canonical);
+            }
+        }
+
+        return String.join(",", topics) + "|" + String.join(",", completed);
+    }
+}
@@ -1,13 +1,19 @@
 package use_case.why_courses;
 
 public class WhyCoursesInputData {
+    private final String queryId;
     private final String courseCode;
 
-    public WhyCoursesInputData(String courseCode) {
+    public WhyCoursesInputData(String queryId, String courseCode) {
+        this.queryId = queryId;
         this.courseCode = courseCode;
     }
 
+    public String getQueryId() {
+        return queryId;
+    }
+
     public String getCourseCode() {
         return courseCode;
     }
-}
\ No newline at end of file
+}
@@ -18,7 +18,7 @@ public class WhyCoursesInteractor implements WhyCoursesInputBoundary {
             return;
         }
 
-        String rationale = dataAccessObject.getRationaleForCourse(code);
+        String rationale = dataAccessObject.getRationaleForCourse(inputData.getQueryId(), code);
 
         if (rationale == null || rationale.isEmpty()) {
             outputBoundary.prepareFailView("No rationale available for " + code);
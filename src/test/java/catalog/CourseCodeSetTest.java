@@ -0,0 +1,42 @@
+package catalog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseCodeSetTest {
+
+    @Test
+    void matchesNormalizedAndBareCodes() {
+        CourseCodeSet codes = CourseCodeSet.of("2024-2025", List.of("CSC207H1", "csc207h5", "MAT237Y1", "STA2453HS"));
+
+        assertTrue(codes.contains(" csc207h1"));
+        assertTrue(codes.contains("CSC207"));
+        assertTrue(codes.contains("MAT237"));
+        assertTrue(codes.contains("STA2453HS")); // too long to pack
+        assertFalse(codes.contains("CSC207H3"));
+        assertFalse(codes.contains("CSC20"));
+        assertFalse(codes.contains(null));
+        assertEquals(4, codes.size());
+    }
+
+    @Test
+    void loadsCodeListsAndCatalogs(@TempDir Path dir) throws IOException {
+        Path list = dir.resolve("codes-2024-2025.txt");
+        Files.writeString(list, "# codes\nCSC311H1\n\nSTA302H1\tMethods of Data Analysis I\n");
+
+        CourseCodeSet fromList = CourseCodeSet.load("2024-2025", list);
+        CourseCodeSet fromCatalog = CourseCodeSet.fromCatalog("2024-2025", CatalogLoader.loadDefault());
+
+        assertEquals(2, fromList.size());
+        assertTrue(fromList.contains("STA302H1"));
+        assertEquals(CatalogLoader.loadDefault().size(), fromCatalog.size());
+        assertTrue(fromCatalog.contains("CSC311H1"));
+    }
+}
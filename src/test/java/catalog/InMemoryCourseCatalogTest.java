@@ -0,0 +1,67 @@
+package catalog;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryCourseCatalogTest {
+
+    private static final String TSV = "# code\tname\tdescription\tprerequisites\tkeywords\n"
+            + "CSC311H1\tIntroduction to Machine Learning\tSupervised learning and neural networks.\tCSC207H1\tmachine learning, statistics\n"
+            + "STA302H1\tMethods of Data Analysis I\tRegression models for data analysis.\tSTA257H1\tregression, statistics\n"
+            + "\n"
+            + "PHL275H1\tIntroduction to Ethics\tMajor ethical theories.\n";
+
+    private InMemoryCourseCatalog catalog() throws IOException {
+        return new InMemoryCourseCatalog(CatalogLoader.readCourses(new StringReader(TSV)));
+    }
+
+    @Test
+    void loadsRowsAndDefaultsMissingColumns() throws IOException {
+        InMemoryCourseCatalog catalog = catalog();
+
+        assertEquals(3, catalog.size());
+        Course ethics = catalog.get("phl275h1");
+        assertNotNull(ethics);
+        assertEquals("N/A", ethics.getPrerequisiteCodes());
+        assertEquals("General Interest", ethics.getCourseKeywords());
+        assertTrue(catalog.contains(" STA302H1 "));
+        assertFalse(catalog.contains("CSC999H1"));
+    }
+
+    @Test
+    void searchRequiresEveryTermAndRanksByRelevance() throws IOException {
+        InMemoryCourseCatalog catalog = catalog();
+
+        List<Course> statistics = catalog.search("Statistics", 10);
+        assertEquals(2, statistics.size());
+
+        List<Course> both = catalog.search("statistics regression", 10);
+        assertEquals(1, both.size());
+        assertEquals("STA302H1", both.get(0).getCourseCode());
+
+        assertEquals("CSC311H1", catalog.search("neural network", 10).get(0).getCourseCode());
+        assertTrue(catalog.search("astrophysics", 10).isEmpty());
+        assertEquals(1, catalog.search("statistics", 1).size());
+    }
+
+    @Test
+    void bundledCatalogLoads() {
+        InMemoryCourseCatalog catalog = CatalogLoader.loadDefault();
+
+        assertTrue(catalog.size() > 100);
+        assertEquals("Software Design", catalog.get("CSC207H1").getCourseName());
+        assertFalse(catalog.search("machine learning", 5).isEmpty());
+    }
+
+    @Test
+    void tokenizerFoldsCaseStopwordsAndPlurals() {
+        assertEquals(List.of("neural", "network", "study"), Tokenizer.tokenize("Neural networks, and STUDIES"));
+        assertEquals(List.of("class", "analysis"), Tokenizer.tokenize("class analysis"));
+    }
+}
@@ -0,0 +1,127 @@
+package catalog;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCourseCatalogTest {
+
+    private static final InMemoryCourseCatalog SOURCE = CatalogLoader.loadDefault();
+
+    @TempDir
+    Path dir;
+
+    private MappedCourseCatalog writeAndOpen() throws IOException {
+        Path file = dir.resolve("catalog.bin");
+        new BinaryCatalogWriter().write(SOURCE, file);
+        return MappedCourseCatalog.open(file);
+    }
+
+    private static List<String> codes(List<Course> courses) {
+        return courses.stream().map(Course::getCourseCode).collect(Collectors.toList());
+    }
+
+    @Test
+    void roundTripsCoursesAndCodeLookups() throws IOException {
+        MappedCourseCatalog mapped = writeAndOpen();
+
+        assertEquals(SOURCE.size(), mapped.size());
+        for (int doc = 0; doc < SOURCE.size(); doc++) {
+            Course expected = SOURCE.course(doc);
+            Course actual = mapped.course(doc);
+            assertEquals(expected.getCourseCode(), actual.getCourseCode());
+            assertEquals(expected.getCourseName(), actual.getCourseName());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getPrerequisiteCodes(), actual.getPrerequisiteCodes());
+            assertEquals(expected.getCourseKeywords(), actual.getCourseKeywords());
+            assertEquals(doc, mapped.docId(expected.getCourseCode()));
+        }
+        assertEquals(SOURCE.docId("csc207"), mapped.docId("csc207"));
+        assertEquals(-1, mapped.docId("CSC999H1"));
+    }
+
+    @Test
+    void bothCatalogsResolveEverySpellingAlike() throws IOException {
+        InMemoryCourseCatalog source = new InMemoryCourseCatalog(List.of(
+                new Course("CSC148H1", "Intro CS", "d", "N/A", 0, "k", "N/A"),
+                new Course("CSC207H5", "Software Design", "d", "N/A", 0, "k", "N/A"),
+                new Course("CSC207H1", "Software Design", "d", "N/A", 0, "k", "N/A"),
+                new Course("MAT137", "Calculus", "d", "N/A", 0, "k", "N/A")));
+        Path file = dir.resolve("campuses.bin");
+        new BinaryCatalogWriter().write(source, file);
+        MappedCourseCatalog mapped = MappedCourseCatalog.open(file);
+
+        for (String code : List.of("CSC148H1F", " csc148h1 ", "CSC207", "csc207h1s", "CSC207H5", "MAT137Y1", "mat137",
+                "CSC207H3", "CSC999")) {
+            assertArrayEquals(source.docIds(code), mapped.docIds(code), code);
+            assertEquals(source.docId(code), mapped.docId(code), code);
+        }
+        assertEquals(0, source.docId("CSC148H1F"), "session suffix is ignored");
+        assertArrayEquals(new int[]{1, 2}, source.docIds("CSC207"), "a bare code names every campus");
+        assertArrayEquals(new int[]{2}, source.docIds("CSC207H1"));
+        assertArrayEquals(new int[]{3}, source.docIds("MAT137Y1"), "a course listed under its bare code");
+        assertEquals(-1, source.docId("CSC207H3"));
+    }
+
+    @Test
+    void onlyAFileMarkedFullCountsAsAFullCodeList() throws IOException {
+        MappedCourseCatalog sample = writeAndOpen();
+        assertFalse(sample.isFullCalendar());
+        assertFalse(CatalogLoader.hasFullCodeList("mapped-sample-test", sample), "the converted sample is still a sample");
+
+        Path file = dir.resolve("full.bin");
+        new BinaryCatalogWriter().write(SOURCE, file, true);
+        MappedCourseCatalog full = MappedCourseCatalog.open(file);
+        assertTrue(full.isFullCalendar());
+        assertTrue(CatalogLoader.hasFullCodeList("mapped-sample-test", full));
+        assertEquals(SOURCE.size(), full.size());
+    }
+
+    @Test
+    void servesTheSameIndexAndSearchResults() throws IOException {
+        MappedCourseCatalog mapped = writeAndOpen();
+
+        assertEquals(SOURCE.index().averageDocLength(), mapped.averageDocLength(), 1e-9);
+        for (String term : List.of("machine", "learning", "statistic", "csc207h1", "nonexistent")) {
+            Postings expected = SOURCE.index().postings(term);
+            Postings actual = mapped.postings(term);
+            assertArrayEquals(expected.docs, actual.docs, term);
+            assertArrayEquals(expected.freqs, actual.freqs, term);
+        }
+        assertEquals(codes(SOURCE.search("data analysis", 10)), codes(mapped.search("data analysis", 10)));
+    }
+
+    @Test
+    void bytecodeAgreesWithCompiledExpressions() throws IOException {
+        MappedCourseCatalog mapped = writeAndOpen();
+        EligibilityEngine expected = new EligibilityEngine(SOURCE);
+        EligibilityEngine actual = mapped.eligibilityEngine();
+
+        for (List<String> transcript : List.of(List.<String>of(), List.of("CSC108H1", "CSC148H1"),
+                List.of("CSC148H1", "CSC165H1", "CSC207H1", "CSC236H1", "MAT223H1", "STA247H1", "csc209"))) {
+            BitSet want = expected.eligibleCourses(expected.completedSet(transcript));
+            BitSet got = actual.eligibleCourses(actual.completedSet(transcript));
+            assertEquals(want, got, transcript.toString());
+        }
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        Path file = dir.resolve("catalog.bin");
+        new BinaryCatalogWriter().write(SOURCE, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertThrows(IOException.class, () -> MappedCourseCatalog.open(file));
+    }
+}
@@ -0,0 +1,77 @@
+package catalog;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisiteParserTest {
+
+    private final CourseCodeTable codes = new CourseCodeTable();
+    private final PrerequisiteParser parser = new PrerequisiteParser(codes);
+
+    private boolean satisfied(String prerequisites, String... completed) {
+        PrerequisiteExpression expression = parser.parse(prerequisites);
+        BitSet set = new BitSet();
+        for (String code : completed) codes.mark(code, set);
+        return expression.isSatisfiedBy(set);
+    }
+
+    @Test
+    void slashAndOrMeanEither() {
+        assertTrue(satisfied("STA257H1 or ECO227Y1 or STAB52H3", "ECO227Y1"));
+        assertTrue(satisfied("CSC148H1/CSC111H1", "CSC111H1"));
+        assertFalse(satisfied("CSC148H1/CSC111H1", "CSC108H1"));
+    }
+
+    @Test
+    void commaSemicolonAndAndMeanBothWithOrBindingTighter() {
+        String prereqs = "CSC148H1/CSC111H1, CSC165H1/CSC240H1";
+        assertTrue(satisfied(prereqs, "CSC148H1", "CSC240H1"));
+        assertFalse(satisfied(prereqs, "CSC148H1", "CSC111H1"));
+        assertTrue(satisfied("MAT135H1; MAT136H1 and MAT223H1", "MAT135H1", "MAT136H1", "MAT223H1"));
+        assertFalse(satisfied("MAT135H1; MAT136H1 and MAT223H1", "MAT135H1", "MAT136H1"));
+    }
+
+    @Test
+    void parenthesesGroupAndProseIsIgnored() {
+        String prereqs = "(CSC207H1 and CSC236H1) or CSC209H1; minimum grade of 70% in MAT223H1, or permission of instructor";
+        assertTrue(satisfied(prereqs, "CSC209H1", "MAT223H1"));
+        assertTrue(satisfied(prereqs, "CSC207H1", "CSC236H1", "MAT223H1"));
+        assertFalse(satisfied(prereqs, "CSC207H1", "MAT223H1"));
+        assertSame(PrerequisiteExpression.NONE, parser.parse("N/A"));
+        assertSame(PrerequisiteExpression.NONE, parser.parse("Permission of the department"));
+    }
+
+    @Test
+    void bareCodesMatchFullCodes() {
+        assertTrue(satisfied("CSC207H1", "csc207"));
+        assertTrue(satisfied("CSC207", "CSC207H1"));
+        assertTrue(satisfied("CSC207H1", "CSC207H1F"), "session suffix is ignored");
+    }
+
+    @Test
+    void campusesAreDifferentCourses() {
+        assertFalse(satisfied("CSC207H1", "CSC207H5"));
+        assertTrue(satisfied("CSC207H1/CSC207H5", "CSC207H5"));
+        assertNotEquals(codes.intern("CSC207H1"), codes.intern("CSC207H5"));
+    }
+
+    @Test
+    void engineScreensCatalogAgainstCompletedCourses() {
+        InMemoryCourseCatalog catalog = new InMemoryCourseCatalog(List.of(
+                new Course("CSC148H1", "Intro CS", "d", "CSC108H1", 0, "k", "N/A"),
+                new Course("CSC207H1", "Software Design", "d", "CSC148H1/CSC111H1", 0, "k", "N/A"),
+                new Course("CSC301H1", "Software Engineering", "d", "CSC209H1, CSC263H1/CSC265H1", 0, "k", "N/A")));
+        EligibilityEngine engine = new EligibilityEngine(catalog);
+
+        BitSet eligible = engine.eligibleCourses(engine.completedSet(List.of("CSC108H1", "csc148")));
+
+        assertTrue(eligible.get(catalog.docId("CSC148H1")));
+        assertTrue(eligible.get(catalog.docId("CSC207H1")));
+        assertFalse(eligible.get(catalog.docId("CSC301H1")));
+    }
+}
@@ -0,0 +1,87 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.RecommendationCacheStore;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingRecommendationDataAccessObjectTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final RecommendCoursesDataAccessInterface counting = (interests, completed, apiKey) -> {
+        calls.incrementAndGet();
+        return interests.equals("nothing") ? List.of()
+                : List.of(new Course("STA302H1", "Methods of Data Analysis I", "d", "N/A", 1, "k", "e"));
+    };
+
+    /** A clock the test can move forward. */
+    private static final class MovableClock extends Clock {
+        private Instant now = Instant.parse("2025-09-01T12:00:00Z");
+
+        @Override public ZoneId getZone() { return ZoneId.of("UTC"); }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    @Test
+    void repeatQueriesAreAnsweredFromTheCache() throws Exception {
+        CachingRecommendationDataAccessObject dao = new CachingRecommendationDataAccessObject(counting,
+                new RecommendationCacheStore(tempDir.resolve("c"), Duration.ofDays(1), 10, Clock.systemUTC()));
+
+        List<Course> first = dao.getRecommendations("statistics", List.of("STA130H1"), "key");
+        // Same query after normalization: different case, spacing and course order
+        List<Course> second = dao.getRecommendationsAsync(" Statistics", List.of("sta130h1"), "key").get(5, TimeUnit.SECONDS);
+        List<Course> streamed = new ArrayList<>();
+        dao.streamRecommendations("statistics", List.of("STA130H1"), "key", streamed::add).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, calls.get());
+        assertEquals(first.get(0).getCourseCode(), second.get(0).getCourseCode());
+        assertEquals(1, streamed.size(), "cached courses are still streamed to the caller");
+
+        dao.getRecommendations("statistics", List.of(), "key");
+        assertEquals(2, calls.get(), "different completed courses are a miss");
+    }
+
+    @Test
+    void emptyResultsAreNotCached() {
+        CachingRecommendationDataAccessObject dao = new CachingRecommendationDataAccessObject(counting,
+                new RecommendationCacheStore(tempDir.resolve("c"), Duration.ofDays(1), 10, Clock.systemUTC()));
+
+        dao.getRecommendations("nothing", List.of(), "key");
+        dao.getRecommendations("nothing", List.of(), "key");
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void expiredEntriesAreFetchedAgain() {
+        MovableClock clock = new MovableClock();
+        CachingRecommendationDataAccessObject dao = new CachingRecommendationDataAccessObject(counting,
+                new RecommendationCacheStore(tempDir.resolve("c"), Duration.ofHours(1), 10, clock));
+
+        dao.getRecommendations("statistics", List.of(), "key");
+        clock.now = clock.now.plus(Duration.ofMinutes(59));
+        dao.getRecommendations("statistics", List.of(), "key");
+        assertEquals(1, calls.get());
+
+        clock.now = clock.now.plus(Duration.ofMinutes(2));
+        dao.getRecommendations("statistics", List.of(), "key");
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,80 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaptureRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ringKeepsTheNewestCapturesAndCountsOverwrittenOnes() {
+        CaptureRecorder recorder = new CaptureRecorder(tempDir, 1.0, 3, 1024, 2, false);
+        for (int i = 0; i < 5; i++) {
+            recorder.record("request " + i, 200, "response " + i, i);
+        }
+
+        List<String> requests = new ArrayList<>();
+        for (CaptureRecorder.Capture c : recorder.recent()) requests.add(c.requestBody);
+        assertEquals(List.of("request 2", "request 3", "request 4"), requests);
+        assertEquals(2, recorder.getDropped());
+    }
+
+    @Test
+    void samplesAtTheConfiguredRate() {
+        assertFalse(CaptureRecorder.disabled().shouldSample());
+        assertTrue(new CaptureRecorder(tempDir, 1.0, 1, 1024, 1, false).shouldSample());
+
+        CaptureRecorder quarter = new CaptureRecorder(tempDir, 0.25, 1, 1024, 1, false);
+        int sampled = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (quarter.shouldSample()) sampled++;
+        }
+        assertTrue(sampled > 4_500 && sampled < 5_500, "sampled " + sampled);
+    }
+
+    @Test
+    void writesOneJsonLinePerCaptureAndRotates() throws Exception {
+        CaptureRecorder recorder = new CaptureRecorder(tempDir, 1.0, 16, 50, 2);
+        String request = "{\"text\": \"line one\nline \\\"two\\\"\ttab\"}";
+        recorder.record(request, 429, "quota", 42);
+
+        Path file = tempDir.resolve("gemini-capture.jsonl");
+        List<String> lines = waitForLines(file, 1);
+        assertEquals(1, lines.size());
+
+        CourseJsonReader reader = new CourseJsonReader();
+        String line = lines.get(0);
+        assertTrue(line.contains("\"status\":429") && line.contains("\"latency_ms\":42"), line);
+        assertEquals(request, reader.readStringMember(line, "request"));
+        assertEquals("quota", reader.readStringMember(line, "response"));
+        assertNotNull(reader.readStringMember(line, "timestamp"));
+
+        // The file is now past 50 bytes, so the next batch goes to a fresh file
+        recorder.record("second", 200, "ok", 1);
+        waitForLines(tempDir.resolve("gemini-capture.1.jsonl"), 1);
+        assertEquals(1, waitForLines(file, 1).size());
+    }
+
+    private static List<String> waitForLines(Path file, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (Files.exists(file)) {
+                List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                if (lines.size() >= count) return lines;
+            }
+            Thread.sleep(10);
+        }
+        fail("no captures written to " + file);
+        return null;
+    }
+}
@@ -0,0 +1,83 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final CircuitBreaker breaker = new CircuitBreaker(3, 10_000, now::get);
+
+    private void failTimes(int n) {
+        for (int i = 0; i < n; i++) {
+            assertTrue(breaker.allowRequest());
+            breaker.recordFailure();
+        }
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsUntilTheTimeoutEnds() {
+        failTimes(2);
+        breaker.recordSuccess();
+        failTimes(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "a success resets the count");
+
+        failTimes(1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(10_000, breaker.millisUntilRetry());
+
+        now.addAndGet(9_999);
+        assertFalse(breaker.allowRequest());
+        assertEquals(1, breaker.millisUntilRetry());
+    }
+
+    @Test
+    void halfOpenLetsOneProbeThroughAndClosesOnSuccess() {
+        failTimes(3);
+        now.addAndGet(10_000);
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest(), "only one probe at a time");
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getConsecutiveFailures());
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void failedProbeReopensForAnotherFullTimeout() {
+        failTimes(3);
+        now.addAndGet(10_000);
+
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(10_000, breaker.millisUntilRetry());
+
+        now.addAndGet(10_000);
+        assertTrue(breaker.allowRequest(), "a new probe after the next timeout");
+    }
+
+    @Test
+    void aCancelledProbeLetsTheNextRequestProbe() {
+        failTimes(3);
+        now.addAndGet(10_000);
+        assertTrue(breaker.allowRequest(), "the probe");
+        assertFalse(breaker.allowRequest());
+
+        breaker.releaseProbe();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest(), "the next request probes instead");
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
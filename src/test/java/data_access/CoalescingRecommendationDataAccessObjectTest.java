@@ -0,0 +1,109 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingRecommendationDataAccessObjectTest {
+
+    private static final Course STA302 = new Course("STA302H1", "Methods of Data Analysis I", "d", "N/A", 1, "k", "e");
+    private static final Course CSC311 = new Course("CSC311H1", "Introduction to Machine Learning", "d", "N/A", 2, "k", "e");
+
+    /** Holds every call open until the test completes it. */
+    private static final class ControlledDao implements RecommendCoursesDataAccessInterface {
+        final List<CompletableFuture<List<Course>>> calls = new ArrayList<>();
+        final List<Consumer<Course>> streams = new ArrayList<>();
+
+        @Override
+        public List<Course> getRecommendations(String interests, List<String> completed, String apiKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized CompletableFuture<List<Course>> streamRecommendations(String interests, List<String> completed,
+                                                                                  String apiKey, Consumer<Course> onCourse) {
+            CompletableFuture<List<Course>> call = new CompletableFuture<>();
+            calls.add(call);
+            streams.add(onCourse);
+            return call;
+        }
+    }
+
+    @Test
+    void identicalConcurrentQueriesShareOneCall() throws Exception {
+        ControlledDao delegate = new ControlledDao();
+        CoalescingRecommendationDataAccessObject dao = new CoalescingRecommendationDataAccessObject(delegate);
+
+        CompletableFuture<List<Course>> first = dao.getRecommendationsAsync("statistics", List.of("STA130H1"), "key");
+        CompletableFuture<List<Course>> second = dao.getRecommendationsAsync("Statistics ", List.of("sta130h1"), "key");
+        assertEquals(1, delegate.calls.size());
+        assertEquals(1, dao.inFlightCount());
+
+        delegate.calls.get(0).complete(List.of(STA302));
+
+        assertEquals(List.of(STA302), first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(STA302), second.get(5, TimeUnit.SECONDS));
+        assertNotSame(first.get(), second.get(), "each caller gets its own copy");
+    }
+
+    @Test
+    void failureReachesEveryWaitingCaller() {
+        ControlledDao delegate = new ControlledDao();
+        CoalescingRecommendationDataAccessObject dao = new CoalescingRecommendationDataAccessObject(delegate);
+
+        CompletableFuture<List<Course>> first = dao.getRecommendationsAsync("statistics", List.of(), "key");
+        CompletableFuture<List<Course>> second = dao.streamRecommendations("statistics", List.of(), "key", c -> { });
+        delegate.calls.get(0).completeExceptionally(new RuntimeException("Gemini API Failed: 503"));
+
+        for (CompletableFuture<List<Course>> caller : List.of(first, second)) {
+            ExecutionException error = assertThrows(ExecutionException.class, () -> caller.get(5, TimeUnit.SECONDS));
+            assertEquals("Gemini API Failed: 503", error.getCause().getMessage());
+        }
+        assertEquals(0, dao.inFlightCount());
+    }
+
+    @Test
+    void finishedQueriesAreNotJoinedAgain() throws Exception {
+        ControlledDao delegate = new ControlledDao();
+        CoalescingRecommendationDataAccessObject dao = new CoalescingRecommendationDataAccessObject(delegate);
+
+        CompletableFuture<List<Course>> first = dao.getRecommendationsAsync("statistics", List.of(), "key");
+        delegate.calls.get(0).complete(List.of(STA302));
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(0, dao.inFlightCount());
+
+        dao.getRecommendationsAsync("statistics", List.of(), "key");
+        assertEquals(2, delegate.calls.size(), "a later query makes a fresh call");
+    }
+
+    @Test
+    void lateStreamingJoinerIsReplayedEarlierCourses() throws Exception {
+        ControlledDao delegate = new ControlledDao();
+        CoalescingRecommendationDataAccessObject dao = new CoalescingRecommendationDataAccessObject(delegate);
+
+        List<Course> early = new ArrayList<>();
+        dao.streamRecommendations("statistics", List.of(), "key", early::add);
+        delegate.streams.get(0).accept(STA302);
+
+        List<Course> late = new ArrayList<>();
+        CompletableFuture<List<Course>> joined = dao.streamRecommendations("statistics", List.of(), "key", late::add);
+        assertEquals(List.of(STA302), late, "courses delivered before joining are replayed");
+
+        delegate.streams.get(0).accept(CSC311);
+        delegate.calls.get(0).complete(List.of(STA302, CSC311));
+
+        assertEquals(List.of(STA302, CSC311), joined.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(STA302, CSC311), early);
+        assertEquals(List.of(STA302, CSC311), late);
+        assertEquals(1, delegate.calls.size());
+    }
+}
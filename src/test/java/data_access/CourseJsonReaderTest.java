@@ -0,0 +1,78 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseJsonReaderTest {
+
+    @Test
+    void readsRecordedGeminiResponse() throws IOException {
+        // gemini_debug.json is a real grounded generateContent response
+        String body = Files.readString(Paths.get("gemini_debug.json"));
+        CourseJsonReader reader = new CourseJsonReader();
+
+        List<Course> courses = reader.readCourses(reader.readModelText(body));
+
+        assertEquals("STOP", reader.getFinishReason());
+        assertEquals(4, courses.size());
+        assertEquals("STA302H1", courses.get(0).getCourseCode());
+        assertEquals("Methods of Data Analysis I", courses.get(0).getCourseName());
+        assertEquals("STA257H1 or ECO227Y1 or STAB52H3", courses.get(0).getPrerequisiteCodes());
+        assertEquals(2, courses.get(0).getCourseRank());
+        assertEquals("CSC311H1", courses.get(1).getCourseCode());
+        assertEquals(1, courses.get(1).getCourseRank());
+    }
+
+    @Test
+    void handlesEscapesAndBracesInsideStrings() {
+        String text = "```json\n[{\"course_code\": \"CSC207H1\", "
+                + "\"course_name\": \"Software \\\"Design\\\"\", "
+                + "\"course_description\": \"Uses {braces}, [brackets] and }, { separators \\u00e9\", "
+                + "\"course_rank\": 3, \"extra\": {\"nested\": [1, {\"x\": \"}\"}]}, "
+                + "\"explanation\": \"Line one\\nLine two\"}]\n```";
+
+        List<Course> courses = new CourseJsonReader().readCourses(text);
+
+        assertEquals(1, courses.size());
+        Course course = courses.get(0);
+        assertEquals("Software \"Design\"", course.getCourseName());
+        assertEquals("Uses {braces}, [brackets] and }, { separators \u00e9", course.getDescription());
+        assertEquals(3, course.getCourseRank());
+        assertEquals("Line one\nLine two", course.getExplanation());
+        assertEquals("N/A", course.getPrerequisiteCodes());
+        assertEquals("General Interest", course.getCourseKeywords());
+    }
+
+    @Test
+    void dropsDuplicatesAndObjectsWithoutCode() {
+        String text = "[{\"course_code\": \"CSC207H1\", \"course_rank\": \"2\"},"
+                + "{\"course_name\": \"No code\"},"
+                + "{\"course_code\": \"CSC207H1\", \"course_rank\": 5},"
+                + "{\"course_code\": \"CSC236H1\", \"course_keywords\": [\"proofs\", \"induction\"]}]";
+
+        List<Course> courses = new CourseJsonReader().readCourses(text);
+
+        assertEquals(2, courses.size());
+        assertEquals(2, courses.get(0).getCourseRank());
+        assertEquals("CSC236H1", courses.get(1).getCourseCode());
+        assertEquals("proofs, induction", courses.get(1).getCourseKeywords());
+    }
+
+    @Test
+    void reportsRecitationFinishReason() {
+        String body = "{\"candidates\": [{\"content\": {\"parts\": []}, \"finishReason\": \"RECITATION\"}]}";
+        CourseJsonReader reader = new CourseJsonReader();
+
+        String text = reader.readModelText(body);
+
+        assertEquals("", text);
+        assertEquals("RECITATION", reader.getFinishReason());
+    }
+}
@@ -0,0 +1,51 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseObjectSplitterTest {
+
+    private static final String FIRST = "{\"course_code\": \"CSC207H1\", "
+            + "\"course_description\": \"Uses {braces}, \\\"quoted }{ text\\\" and a \\\\\", "
+            + "\"extra\": {\"nested\": [1, {\"x\": \"}\"}]}}";
+    private static final String SECOND = "{\"course_code\": \"STA302H1\", \"explanation\": \"ends with a slash \\\\\"}";
+    private static final String TEXT = "```json\n[\n  " + FIRST + ",\n  " + SECOND + ",\n  {\"course_code\": \"CSC3";
+
+    private static List<String> split(String text, int chunkSize) {
+        List<String> objects = new ArrayList<>();
+        CourseObjectSplitter splitter = new CourseObjectSplitter(objects::add);
+        for (int i = 0; i < text.length(); i += chunkSize) {
+            splitter.accept(text.substring(i, Math.min(text.length(), i + chunkSize)));
+        }
+        return objects;
+    }
+
+    @Test
+    void splitsWholeTextIntoCompleteObjects() {
+        // The trailing partial object never closes, so it is not emitted
+        assertEquals(List.of(FIRST, SECOND), split(TEXT, TEXT.length()));
+    }
+
+    @Test
+    void chunkBoundariesDoNotChangeTheOutput() {
+        // Sizes 1-17 cut through escapes, quotes and braces inside strings at every position
+        for (int size = 1; size <= 17; size++) {
+            assertEquals(List.of(FIRST, SECOND), split(TEXT, size), "chunk size " + size);
+        }
+    }
+
+    @Test
+    void partialObjectCompletesWhenTheRestArrives() {
+        List<String> objects = new ArrayList<>();
+        CourseObjectSplitter splitter = new CourseObjectSplitter(objects::add);
+        splitter.accept("[{\"course_code\": \"CSC\\\"");
+        assertTrue(objects.isEmpty());
+
+        splitter.accept("207\"}]");
+        assertEquals(List.of("{\"course_code\": \"CSC\\\"207\"}"), objects);
+    }
+}
@@ -0,0 +1,58 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FallbackRecommendationDataAccessObjectTest {
+
+    private static final Course GEMINI_COURSE = new Course("CSC311H1", "ML", "d", "p", 1, "k", "from gemini");
+    private static final Course LOCAL_COURSE = new Course("STA314H1", "Stat ML", "d", "p", 1, "k", "from catalog");
+
+    private static RecommendCoursesDataAccessInterface failing(String message) {
+        return (interests, completed, apiKey) -> {
+            throw new RuntimeException(message);
+        };
+    }
+
+    private static RecommendCoursesDataAccessInterface returning(List<Course> courses) {
+        return (interests, completed, apiKey) -> courses;
+    }
+
+    @Test
+    void usesPrimaryWhenItAnswers() {
+        FallbackRecommendationDataAccessObject dao = new FallbackRecommendationDataAccessObject(
+                returning(List.of(GEMINI_COURSE)), returning(List.of(LOCAL_COURSE)));
+
+        assertEquals(List.of(GEMINI_COURSE), dao.getRecommendationsAsync("ml", List.of(), "key").join());
+    }
+
+    @Test
+    void fallsBackWhenPrimaryFailsOrFindsNothing() {
+        FallbackRecommendationDataAccessObject failed = new FallbackRecommendationDataAccessObject(
+                failing("Gemini API Failed: 503"), returning(List.of(LOCAL_COURSE)));
+        FallbackRecommendationDataAccessObject empty = new FallbackRecommendationDataAccessObject(
+                returning(List.of()), returning(List.of(LOCAL_COURSE)));
+
+        List<Course> streamed = new ArrayList<>();
+        assertEquals(List.of(LOCAL_COURSE), failed.streamRecommendations("ml", List.of(), "key", streamed::add).join());
+        assertEquals(List.of(LOCAL_COURSE), streamed);
+        assertEquals(List.of(LOCAL_COURSE), empty.getRecommendations("ml", List.of(), "key"));
+    }
+
+    @Test
+    void reportsPrimaryErrorWhenFallbackFindsNothing() {
+        FallbackRecommendationDataAccessObject dao = new FallbackRecommendationDataAccessObject(
+                failing("Gemini API Failed: 503"), returning(List.of()));
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> dao.getRecommendationsAsync("ml", List.of(), "key").join());
+        assertEquals("Gemini API Failed: 503", error.getCause().getMessage());
+    }
+}
@@ -0,0 +1,88 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutRecommendationDataAccessObjectTest {
+
+    /** Answers each topic with two courses named after it; fails for "history". */
+    private static final RecommendCoursesDataAccessInterface PER_TOPIC = (interests, completed, apiKey) -> {
+        if (interests.contains("history")) throw new RuntimeException("Gemini API Failed: 503");
+        String prefix = interests.substring(0, 3).toUpperCase();
+        return List.of(new Course(prefix + "101H1", interests, "d", "N/A", 1, "k", "e"),
+                new Course(prefix + "201H1", interests, "d", "N/A", 2, "k", "e"));
+    };
+
+    @Test
+    void callsTopicsConcurrentlyAndInterleavesTheirRankings() throws Exception {
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        RecommendCoursesDataAccessInterface overlapping = new RecommendCoursesDataAccessInterface() {
+            @Override
+            public List<Course> getRecommendations(String interests, List<String> completed, String apiKey) {
+                return PER_TOPIC.getRecommendations(interests, completed, apiKey);
+            }
+
+            @Override
+            public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completed, String apiKey) {
+                bothInFlight.countDown();
+                // Neither call can finish until the other one has started
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        if (!bothInFlight.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("calls ran one by one");
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return getRecommendations(interests, completed, apiKey);
+                });
+            }
+        };
+
+        List<Course> courses = new FanOutRecommendationDataAccessObject(overlapping, 4)
+                .getRecommendationsAsync("statistics, film", List.of(), "key").get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("STA101H1", "FIL101H1", "STA201H1", "FIL201H1"), codes(courses));
+        assertEquals(4, courses.get(3).getCourseRank());
+    }
+
+    @Test
+    void failedTopicsAreLeftOutUnlessAllFail() {
+        FanOutRecommendationDataAccessObject dao = new FanOutRecommendationDataAccessObject(PER_TOPIC, 4);
+
+        List<Course> streamed = new ArrayList<>();
+        List<Course> courses = dao.streamRecommendations("statistics, history", List.of(), "key", streamed::add).join();
+
+        assertEquals(List.of("STA101H1", "STA201H1"), codes(courses));
+        assertEquals(Set.copyOf(codes(courses)), Set.copyOf(codes(streamed)));
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> dao.getRecommendations("history, philosophy of history", List.of(), "key"));
+        assertEquals("Gemini API Failed: 503", error.getMessage());
+    }
+
+    @Test
+    void singleTopicGoesStraightThrough() {
+        List<String> asked = new ArrayList<>();
+        FanOutRecommendationDataAccessObject dao = new FanOutRecommendationDataAccessObject((interests, completed, apiKey) -> {
+            asked.add(interests);
+            return List.of();
+        }, 4);
+
+        dao.getRecommendations("machine learning, statistics", List.of(), "key");
+
+        assertEquals(List.of("machine learning, statistics"), asked);
+    }
+
+    private static List<String> codes(List<Course> courses) {
+        return courses.stream().map(Course::getCourseCode).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,78 @@
+package data_access;
+
+import catalog.CatalogLoader;
+import entity.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeminiHybridModeTest {
+
+    private static final String ANSWER = "[{\"course_code\": \"csc311h1\", \"course_rank\": 1, \"explanation\": \"Core ML.\"},"
+            + "{\"course_code\": \"XYZ999H1\", \"course_rank\": 2, \"explanation\": \"Invented.\"},"
+            + "{\"course_code\": \"CSC413H1\", \"course_rank\": 3}]";
+
+    private GeminiStubServer stub;
+    private GeminiCourseDataAccessObject dao;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = new GeminiStubServer(0);
+        stub.addRecording("{\"candidates\": [{\"content\": {\"parts\": [{\"text\": " + CaptureRecorder.quote(ANSWER)
+                + "}]}, \"finishReason\": \"STOP\"}]}");
+        stub.start();
+        dao = new GeminiCourseDataAccessObject(stub.getBaseUrl() + "/models/gemini-2.0-flash",
+                new QuotaGovernor(6_000, 100, 10_000), CaptureRecorder.disabled(),
+                GeminiRequestMode.HYBRID, CatalogLoader.loadDefault());
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop();
+    }
+
+    @Test
+    void sendsLocalCandidatesWithoutSearchGrounding() {
+        dao.getRecommendations("machine learning", List.of("CSC207H1"), "stub-key");
+
+        String body = stub.getLastRequestBody();
+        assertFalse(body.contains("google_search"));
+        assertTrue(body.contains("CSC311H1 | Introduction to Machine Learning"));
+        assertTrue(body.contains("Completed: CSC207H1"));
+    }
+
+    @Test
+    void keepsOnlyCandidatesAndFillsCatalogFields() {
+        List<Course> courses = dao.getRecommendations("machine learning", List.of(), "stub-key");
+
+        assertEquals(2, courses.size());
+        Course first = courses.get(0);
+        assertEquals("CSC311H1", first.getCourseCode());
+        assertEquals("Introduction to Machine Learning", first.getCourseName());
+        assertNotEquals("N/A", first.getDescription());
+        assertEquals("Core ML.", first.getExplanation());
+        // No explanation from the model: the local one is kept
+        assertEquals(3, courses.get(1).getCourseRank());
+        assertTrue(courses.get(1).getExplanation().startsWith("Matched offline"));
+    }
+
+    @Test
+    void streamingAppliesTheSameFilter() throws Exception {
+        stub.setStreaming(8, 0);
+        List<Course> partial = Collections.synchronizedList(new ArrayList<>());
+
+        List<Course> courses = dao.streamRecommendations("machine learning", List.of(), "stub-key", partial::add)
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("CSC311H1", "CSC413H1"), courses.stream().map(Course::getCourseCode).collect(Collectors.toList()));
+        assertEquals(courses, partial);
+    }
+}
@@ -0,0 +1,67 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeminiStructuredModeTest {
+
+    // What a responseSchema answer looks like: a bare array, keywords as a string array
+    private static final String ANSWER = "[{\"course_code\":\"STA302H1\",\"course_name\":\"Methods of Data Analysis I\","
+            + "\"course_description\":\"Regression \\\"in practice\\\".\",\"prerequisite_codes\":\"STA257H1\","
+            + "\"course_rank\":1,\"course_keywords\":[\"regression\",\"statistics\"],\"explanation\":\"Fits stats.\"},"
+            + "{\"course_code\":\"CSC207H1\",\"course_name\":\"Software Design\",\"course_description\":\"d\","
+            + "\"prerequisite_codes\":\"CSC148H1\",\"course_rank\":2,\"course_keywords\":[],\"explanation\":\"e\"}]";
+
+    private GeminiStubServer stub;
+    private GeminiCourseDataAccessObject dao;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = new GeminiStubServer(0);
+        stub.addRecording("{\"candidates\": [{\"content\": {\"parts\": [{\"text\": " + CaptureRecorder.quote(ANSWER)
+                + "}]}, \"finishReason\": \"STOP\"}]}");
+        stub.start();
+        dao = new GeminiCourseDataAccessObject(stub.getBaseUrl() + "/models/gemini-2.0-flash",
+                new QuotaGovernor(6_000, 100, 10_000), CaptureRecorder.disabled(), GeminiRequestMode.STRUCTURED, null);
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop();
+    }
+
+    @Test
+    void requestsSchemaConstrainedJsonWithoutTools() {
+        dao.getRecommendations("statistics", List.of("csc207"), "stub-key");
+
+        String body = stub.getLastRequestBody();
+        assertTrue(body.contains("\"responseMimeType\":\"application/json\""));
+        assertTrue(body.contains("\"propertyOrdering\": [\"course_code\""));
+        assertFalse(body.contains("\"tools\""));
+    }
+
+    @Test
+    void decodesSchemaAnswerAndSkipsCompletedCourses() throws Exception {
+        stub.setStreaming(5, 0);
+        List<Course> partial = Collections.synchronizedList(new ArrayList<>());
+
+        List<Course> courses = dao.streamRecommendations("statistics", List.of("csc207"), "stub-key", partial::add)
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, courses.size());
+        assertEquals(courses, partial);
+        Course course = courses.get(0);
+        assertEquals("Regression \"in practice\".", course.getDescription());
+        assertEquals(List.of("regression", "statistics"), course.getKeywordList());
+        assertEquals("Fits stats.", course.getExplanation());
+    }
+}
@@ -0,0 +1,122 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import use_case.recommend_courses.RecommendCoursesInputData;
+import use_case.recommend_courses.RecommendCoursesInteractor;
+import use_case.recommend_courses.RecommendCoursesOutputBoundary;
+import use_case.recommend_courses.RecommendCoursesOutputData;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeminiStubServerTest {
+
+    private GeminiStubServer stub;
+    private GeminiCourseDataAccessObject dao;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = new GeminiStubServer(0);
+        assertEquals(1, stub.loadRecordings(Paths.get("gemini_debug.json")));
+        stub.start();
+        dao = new GeminiCourseDataAccessObject(stub.getBaseUrl() + "/models/gemini-2.0-flash",
+                new QuotaGovernor(6_000, 100, 10_000), CaptureRecorder.disabled());
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop();
+    }
+
+    @Test
+    void replaysRecordedResponse() {
+        List<Course> courses = dao.getRecommendations("statistics", List.of(), "stub-key");
+
+        assertEquals(4, courses.size());
+        assertEquals("STA302H1", courses.get(0).getCourseCode());
+    }
+
+    @Test
+    void streamsCoursesAsChunks() throws Exception {
+        stub.setStreaming(16, 5);
+        List<Course> partial = Collections.synchronizedList(new ArrayList<>());
+
+        List<Course> courses = dao.streamRecommendations("statistics", List.of(), "stub-key", partial::add)
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(4, courses.size());
+        assertEquals(courses, partial);
+    }
+
+    @Test
+    void concurrentInteractorRequestsAllSucceed() throws Exception {
+        stub.setLatency(GeminiStubServer.Latency.uniform(20, 80));
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        RecommendCoursesInteractor interactor = new RecommendCoursesInteractor(dao, new RecommendCoursesOutputBoundary() {
+            @Override
+            public void prepareSuccessView(RecommendCoursesOutputData outputData) {
+                if (outputData.getRecommendedCourses().size() == 4) successes.incrementAndGet();
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                failures.incrementAndGet();
+            }
+        });
+
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            runs.add(interactor.executeAsync(new RecommendCoursesInputData("statistics " + i, List.of())));
+        }
+        CompletableFuture.allOf(runs.toArray(new CompletableFuture[0])).get(20, TimeUnit.SECONDS);
+
+        assertEquals(32, successes.get());
+        assertEquals(0, failures.get());
+        assertEquals(32, stub.getServed());
+    }
+
+    @Test
+    void slowCallsAreHedgedWithinQuota() throws Exception {
+        stub.setLatency(GeminiStubServer.Latency.uniform(10, 150));
+        stub.setStreaming(8, 0);
+        GeminiCourseDataAccessObject hedging = new GeminiCourseDataAccessObject(stub.getBaseUrl() + "/models/gemini-2.0-flash",
+                new QuotaGovernor(6_000, 100, 10_000), CaptureRecorder.disabled(), GeminiRequestMode.GROUNDED, null,
+                new HedgingPolicy(50, 0, 5));
+
+        for (int i = 0; i < 15; i++) {
+            assertEquals(4, hedging.getRecommendations("statistics", List.of(), "stub-key").size());
+            List<Course> shown = Collections.synchronizedList(new ArrayList<>());
+            List<Course> streamed = hedging.streamRecommendations("statistics", List.of(), "stub-key", shown::add)
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(4, streamed.size());
+            assertEquals(streamed, shown);
+        }
+
+        // With a p50 trigger about half the calls past warm-up send a duplicate
+        assertTrue(hedging.getHedgesIssued() > 0);
+        assertTrue(hedging.getHedgesWon() <= hedging.getHedgesIssued());
+        assertEquals(15, hedging.getGenerateLatency().count());
+    }
+
+    @Test
+    void injectedErrorsAreRetriedThenReported() {
+        stub.setErrorRate(1.0, 0);
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> dao.getRecommendations("statistics", List.of(), "stub-key"));
+
+        assertTrue(error.getMessage().startsWith("Gemini API Failed"), error.getMessage());
+        assertEquals(3, stub.getInjectedErrors());
+    }
+}
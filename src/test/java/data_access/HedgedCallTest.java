@@ -0,0 +1,74 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedCallTest {
+
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong won = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /** Attempt 1 hangs until cancelled; later attempts answer at once. */
+    private final List<CompletableFuture<String>> requests = new ArrayList<>();
+
+    private CompletableFuture<String> send(HedgedCall.Attempt attempt) {
+        CompletableFuture<String> request = new CompletableFuture<>();
+        synchronized (requests) {
+            requests.add(request);
+            if (requests.size() > 1) request.complete("hedge");
+        }
+        return attempt.track(request);
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndCancelled() throws Exception {
+        HedgedCall<String> call = new HedgedCall<>(new QuotaGovernor(600, 10, 1_000), "key", latency, 20, false, issued, won);
+
+        assertEquals("hedge", call.start(this::send).get(5, TimeUnit.SECONDS));
+        // The loser is cancelled right after the result completes
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!requests.get(0).isCancelled() && System.nanoTime() < deadline) Thread.sleep(5);
+        assertTrue(requests.get(0).isCancelled());
+        assertEquals(1, issued.get());
+        assertEquals(1, won.get());
+        assertEquals(1, latency.count());
+    }
+
+    @Test
+    void noHedgeWithoutSpareQuota() throws Exception {
+        QuotaGovernor quota = new QuotaGovernor(60, 1, 1_000); // one token, none left over for BACKGROUND
+        HedgedCall<String> call = new HedgedCall<>(quota, "key", latency, 20, false, issued, won);
+
+        CompletableFuture<String> result = call.start(this::send);
+        Thread.sleep(200);
+
+        assertFalse(result.isDone());
+        assertEquals(0, issued.get());
+        result.cancel(true);
+        assertTrue(requests.get(0).isCancelled(), "cancelling the call cancels the request in flight");
+    }
+
+    @Test
+    void firstStreamToDeliverOwnsTheOutput() throws Exception {
+        HedgedCall<String> call = new HedgedCall<>(new QuotaGovernor(600, 10, 1_000), "key", latency, -1, true, issued, won);
+        HedgedCall.Attempt[] primary = new HedgedCall.Attempt[1];
+        CompletableFuture<String> request = new CompletableFuture<>();
+
+        CompletableFuture<String> result = call.start(attempt -> {
+            primary[0] = attempt;
+            return request;
+        });
+        request.complete("primary"); // completes without ever claiming: still the answer
+        assertEquals("primary", result.get(5, TimeUnit.SECONDS));
+        assertTrue(call.claim(primary[0]));
+        assertEquals(0, issued.get());
+    }
+}
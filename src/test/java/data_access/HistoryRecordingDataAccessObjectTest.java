@@ -0,0 +1,98 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.RecommendationCacheStore;
+import storage.SearchHistoryLog;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryRecordingDataAccessObjectTest {
+
+    private static final Course STA302 = new Course("STA302H1", "Methods of Data Analysis I", "d", "N/A", 1, "k", "e");
+
+    @TempDir
+    Path tempDir;
+
+    private final RecommendCoursesDataAccessInterface gemini = (interests, completed, apiKey) ->
+            interests.equals("nothing") ? List.of() : List.of(STA302);
+
+    @Test
+    void appendsOnTheWriterThreadNotTheCaller() throws Exception {
+        SearchHistoryLog history = new SearchHistoryLog(tempDir.resolve("history.log"), 10, Clock.systemUTC());
+        List<Runnable> queued = new ArrayList<>();
+        // Like a cache hit: the future is already complete, so callbacks run on the calling thread
+        RecommendCoursesDataAccessInterface answered = new RecommendCoursesDataAccessInterface() {
+            @Override
+            public List<Course> getRecommendations(String interests, List<String> completed, String apiKey) {
+                return gemini.getRecommendations(interests, completed, apiKey);
+            }
+
+            @Override
+            public CompletableFuture<List<Course>> getRecommendationsAsync(String interests, List<String> completed, String apiKey) {
+                return CompletableFuture.completedFuture(getRecommendations(interests, completed, apiKey));
+            }
+        };
+        HistoryRecordingDataAccessObject dao = new HistoryRecordingDataAccessObject(answered, history, queued::add);
+
+        assertEquals(List.of(STA302), dao.getRecommendationsAsync("statistics", List.of(), "key").get(5, TimeUnit.SECONDS));
+        dao.getRecommendations("nothing", List.of(), "key");
+        assertEquals(0, history.size(), "the caller never writes the log itself");
+        assertEquals(1, queued.size(), "empty answers are not recorded");
+
+        queued.get(0).run();
+        assertEquals("statistics", history.latest().getInterests());
+    }
+
+    @Test
+    void cacheHitsAreNotRecordedAgain() throws Exception {
+        SearchHistoryLog history = new SearchHistoryLog(tempDir.resolve("history.log"), 10, Clock.systemUTC());
+        try (RecommendationCacheStore store = new RecommendationCacheStore(tempDir.resolve("cache"), Duration.ofDays(1), 10,
+                Clock.systemUTC())) {
+            RecommendCoursesDataAccessInterface dao = new HistoryRecordingDataAccessObject(
+                    new CachingRecommendationDataAccessObject(gemini, store), history, Runnable::run);
+
+            dao.getRecommendations("statistics", List.of(), "key");
+            dao.getRecommendations("Statistics", List.of(), "key");
+            dao.streamRecommendations("statistics", List.of(), "key", course -> { }).get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, history.size());
+        }
+    }
+
+    @Test
+    void fannedOutSearchesAreRecordedWhole() throws Exception {
+        RecommendCoursesDataAccessInterface perTopic = (interests, completed, apiKey) ->
+                List.of(new Course(interests.substring(0, 3).toUpperCase() + "101H1", interests, "d", "N/A", 1, "k", "e"));
+        SearchHistoryLog history = new SearchHistoryLog(tempDir.resolve("history.log"), 10, Clock.systemUTC());
+        try (RecommendationCacheStore store = new RecommendationCacheStore(tempDir.resolve("cache"), Duration.ofDays(1), 10,
+                Clock.systemUTC())) {
+            // Wired as in Main: history above the fan-out, the cache beneath it
+            RecommendCoursesDataAccessInterface dao = new HistoryRecordingDataAccessObject(
+                    new FanOutRecommendationDataAccessObject(new CachingRecommendationDataAccessObject(perTopic, store), 4),
+                    history, Runnable::run);
+
+            dao.getRecommendationsAsync("statistics, film", List.of(), "key").get(5, TimeUnit.SECONDS);
+            assertEquals(1, history.size());
+            SearchHistoryLog.Search latest = history.latest();
+            assertEquals("statistics, film", latest.getInterests());
+            assertEquals(2, latest.getCourses().size(), "the merged list, not one topic's");
+
+            dao.streamRecommendations("statistics, film", List.of(), "key", course -> { }).get(5, TimeUnit.SECONDS);
+            assertEquals(1, history.size(), "every topic came from the cache");
+
+            dao.getRecommendationsAsync("statistics, music", List.of(), "key").get(5, TimeUnit.SECONDS);
+            assertEquals(2, history.size(), "one new topic makes it a new search");
+        }
+    }
+}
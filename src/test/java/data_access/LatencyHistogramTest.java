@@ -0,0 +1,31 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesAreWithinOneBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 1000; ms++) histogram.record(ms);
+
+        assertEquals(1000, histogram.count());
+        long p50 = histogram.percentile(50);
+        long p99 = histogram.percentile(99);
+        assertTrue(p50 >= 500 && p50 <= 500 * 1.125, "p50=" + p50);
+        assertTrue(p99 >= 990 && p99 <= 990 * 1.125, "p99=" + p99);
+        assertEquals(-1, new LatencyHistogram().percentile(50));
+    }
+
+    @Test
+    void oldSamplesAgeOut() {
+        LatencyHistogram histogram = new LatencyHistogram(100);
+        for (int i = 0; i < 100; i++) histogram.record(5_000);
+        for (int i = 0; i < 200; i++) histogram.record(100);
+
+        assertEquals(100, histogram.count());
+        assertTrue(histogram.percentile(99) < 120);
+    }
+}
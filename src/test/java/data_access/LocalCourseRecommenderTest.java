@@ -0,0 +1,67 @@
+package data_access;
+
+import catalog.CatalogLoader;
+import catalog.EligibilityEngine;
+import catalog.InMemoryCourseCatalog;
+import entity.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalCourseRecommenderTest {
+
+    private static final InMemoryCourseCatalog CATALOG = CatalogLoader.loadDefault();
+
+    @Test
+    void ranksRelevantCoursesAndFillsRankAndExplanation() {
+        LocalCourseRecommender recommender = new LocalCourseRecommender(CATALOG);
+
+        List<Course> courses = recommender.getRecommendations("machine learning, neural networks", List.of(), null);
+
+        assertEquals(5, courses.size());
+        assertTrue(courses.stream().anyMatch(c -> c.getCourseCode().equals("CSC311H1")));
+        for (int i = 0; i < courses.size(); i++) {
+            assertEquals(i + 1, courses.get(i).getCourseRank());
+        }
+        assertTrue(courses.get(0).getExplanation().contains("machine learning"));
+    }
+
+    @Test
+    void excludesCompletedCoursesInAnyFormat() {
+        LocalCourseRecommender recommender = new LocalCourseRecommender(CATALOG, 20);
+
+        List<Course> courses = recommender.getRecommendations("machine learning", List.of("csc311", " STA314H1F "), null);
+
+        assertFalse(courses.isEmpty());
+        assertTrue(courses.stream().noneMatch(c -> c.getCourseCode().equals("CSC311H1")));
+        assertTrue(courses.stream().noneMatch(c -> c.getCourseCode().equals("STA314H1")));
+    }
+
+    @Test
+    void ineligibleCoursesAreFlaggedOrFiltered() {
+        LocalCourseRecommender flagging = new LocalCourseRecommender(CATALOG, 50,
+                new EligibilityEngine(CATALOG), LocalCourseRecommender.IneligiblePolicy.FLAG);
+        LocalCourseRecommender filtering = new LocalCourseRecommender(CATALOG, 50,
+                new EligibilityEngine(CATALOG), LocalCourseRecommender.IneligiblePolicy.FILTER);
+
+        Course flagged = flagging.getRecommendations("deep learning", List.of(), null).stream()
+                .filter(c -> c.getCourseCode().equals("CSC413H1")).findFirst().orElseThrow();
+        assertTrue(flagged.getExplanation().contains("not completed its prerequisites"));
+
+        List<Course> filtered = filtering.getRecommendations("deep learning", List.of(), null);
+        assertTrue(filtered.stream().noneMatch(c -> c.getCourseCode().equals("CSC413H1")));
+
+        List<Course> ready = filtering.getRecommendations("deep learning",
+                List.of("CSC311H1", "MAT237Y1", "MAT223H1"), null);
+        assertTrue(ready.stream().anyMatch(c -> c.getCourseCode().equals("CSC413H1")));
+    }
+
+    @Test
+    void unknownInterestsFindNothing() {
+        assertTrue(new LocalCourseRecommender(CATALOG).getRecommendations("zzyzx", List.of(), null).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> new LocalCourseRecommender(CATALOG).getRecommendations("  ", List.of(), null));
+    }
+}
@@ -0,0 +1,96 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelRouterTest {
+
+    private static final Course STA302 = new Course("STA302H1", "Methods of Data Analysis I", "d", "N/A", 1, "k", "e");
+
+    private static RecommendCoursesDataAccessInterface answering(List<Course> courses, AtomicInteger calls) {
+        return (interests, completed, apiKey) -> {
+            calls.incrementAndGet();
+            return courses;
+        };
+    }
+
+    @Test
+    void routesToTheFastestMeasuredModel() {
+        AtomicInteger liteCalls = new AtomicInteger();
+        AtomicInteger flashCalls = new AtomicInteger();
+        ModelRouter router = new ModelRouter(List.of(
+                new ModelRouter.Tier("lite", answering(List.of(STA302), liteCalls)),
+                new ModelRouter.Tier("flash", answering(List.of(STA302), flashCalls))));
+
+        // Unmeasured models keep their ranking
+        assertEquals("lite", router.route().get(0).getName());
+
+        // Once flash has proven faster it takes the traffic
+        router.getTiers().get(0).recordSuccess(900);
+        router.getTiers().get(1).recordSuccess(300);
+        assertEquals(List.of(STA302), router.getRecommendations("statistics", List.of(), "key"));
+        assertEquals(0, liteCalls.get());
+        assertEquals(1, flashCalls.get());
+    }
+
+    @Test
+    void escalatesOnlyWhenTheFastModelHasNothingUsable() {
+        AtomicInteger flashCalls = new AtomicInteger();
+        List<String> asked = new ArrayList<>();
+        RecommendCoursesDataAccessInterface lite = (interests, completed, apiKey) -> {
+            if (apiKey.isBlank()) throw new IllegalArgumentException("API Key is missing.");
+            asked.add(interests);
+            // Blocked and unparseable answers reach the router as an empty list
+            return interests.equals("blocked") ? List.of() : List.of(STA302);
+        };
+        ModelRouter router = new ModelRouter(List.of(
+                new ModelRouter.Tier("lite", lite),
+                new ModelRouter.Tier("flash", answering(List.of(STA302), flashCalls))), 10_000, () -> 0L);
+
+        assertEquals(List.of(STA302), router.getRecommendations("statistics", List.of(), "key"));
+        assertEquals(0, flashCalls.get());
+        assertEquals(List.of(STA302), router.getRecommendations("blocked", List.of(), "key"));
+        assertEquals(1, flashCalls.get());
+        assertEquals(List.of("statistics", "blocked"), asked);
+
+        assertThrows(IllegalArgumentException.class, () -> router.getRecommendations("statistics", List.of(), " "),
+                "caller errors are not retried on another model");
+        assertEquals(1, flashCalls.get());
+    }
+
+    @Test
+    void skipsAFailingModelUntilItsCooldownEnds() {
+        AtomicLong now = new AtomicLong(1_000);
+        AtomicInteger liteCalls = new AtomicInteger();
+        AtomicInteger flashCalls = new AtomicInteger();
+        RecommendCoursesDataAccessInterface failing = (interests, completed, apiKey) -> {
+            liteCalls.incrementAndGet();
+            throw new RuntimeException("Gemini API Failed: 503");
+        };
+        ModelRouter router = new ModelRouter(List.of(
+                new ModelRouter.Tier("lite", failing),
+                new ModelRouter.Tier("flash", answering(List.of(STA302), flashCalls))), 10_000, now::get);
+        router.getTiers().get(0).recordSuccess(100);
+        router.getTiers().get(1).recordSuccess(900);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(List.of(STA302), router.getRecommendations("statistics", List.of(), "key"));
+        }
+        // The error rate crosses the threshold after four failures; lite is then left alone
+        assertEquals(4, liteCalls.get());
+        assertEquals(5, flashCalls.get());
+        assertTrue(router.getTiers().get(0).getErrorRate() > 0.5);
+
+        now.addAndGet(10_000);
+        router.getRecommendations("statistics", List.of(), "key");
+        assertEquals(5, liteCalls.get(), "one probe after the cooldown");
+    }
+}
@@ -0,0 +1,110 @@
+package data_access;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+import use_case.recommend_courses.RecommendationQueryKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryScopedRationaleStoreTest {
+
+    /** Answers with {@code n} courses whose explanations name the query. */
+    private static RecommendCoursesDataAccessInterface answering(int n) {
+        return (interests, completed, apiKey) -> {
+            List<Course> courses = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                courses.add(new Course("CSC" + (100 + i) + "H1", "Name", "d", "N/A", i + 1, "k", "For " + interests));
+            }
+            return courses;
+        };
+    }
+
+    @Test
+    void rationalesAreScopedToTheirQuery() {
+        QueryScopedRationaleStore store = new QueryScopedRationaleStore(answering(1));
+        store.getRecommendations("machine learning", List.of("CSC148H1"), "key");
+        store.getRecommendations("databases", List.of(), "key");
+
+        String mlQuery = RecommendationQueryKey.of("machine learning", List.of("CSC148H1"));
+        assertEquals("For machine learning", store.getRationaleForCourse(mlQuery, "csc100h1"));
+        assertEquals("For databases", store.getRationaleForCourse(RecommendationQueryKey.of("databases", List.of()), "CSC100H1"));
+
+        assertNull(store.getRationaleForCourse(RecommendationQueryKey.of("machine learning", List.of()), "CSC100H1"),
+                "same interests with different completed courses is another query");
+        assertNull(store.getRationaleForCourse(mlQuery, "CSC999H1"));
+        assertNull(store.getRationaleForCourse(null, "CSC100H1"));
+    }
+
+    @Test
+    void lookupsIgnoreCodeSpelling() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR")); // "i".toUpperCase() is a dotted capital I here
+        try {
+            QueryScopedRationaleStore store = new QueryScopedRationaleStore((interests, completed, apiKey) ->
+                    List.of(new Course("MIE237H1", "Statistics", "d", "N/A", 1, "k", "For " + interests)));
+            store.getRecommendations("limits", List.of(), "key");
+            String query = RecommendationQueryKey.of("limits", List.of());
+
+            for (String code : List.of("MIE237H1", "mie237h1 ", " Mie 237 H1F")) {
+                assertEquals("For limits", store.getRationaleForCourse(query, code), code);
+            }
+            assertNull(store.getRationaleForCourse(query, "MIE237H5"), "another campus is another course");
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void entriesAreBoundedByTheConfiguredSize() {
+        // 16 entries over 16 stripes: one per stripe
+        QueryScopedRationaleStore store = new QueryScopedRationaleStore(answering(200), 16);
+        store.getRecommendations("statistics", List.of(), "key");
+
+        String query = RecommendationQueryKey.of("statistics", List.of());
+        int kept = 0;
+        for (int i = 0; i < 200; i++) {
+            if (store.getRationaleForCourse(query, "CSC" + (100 + i) + "H1") != null) kept++;
+        }
+        assertTrue(kept > 0 && kept <= 16, "kept " + kept);
+        assertNotNull(store.getRationaleForCourse(query, "CSC299H1"), "the newest entry is never the one evicted");
+    }
+
+    @Test
+    void concurrentQueriesDoNotLoseEachOthersRationales() throws Exception {
+        QueryScopedRationaleStore store = new QueryScopedRationaleStore(answering(20), 4096);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        for (int q = 0; q < 64; q++) {
+            String interests = "topic " + q;
+            runs.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                store.getRecommendations(interests, List.of(), "key");
+            }, pool));
+        }
+        start.countDown();
+        CompletableFuture.allOf(runs.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        for (int q = 0; q < 64; q++) {
+            String query = RecommendationQueryKey.of("topic " + q, List.of());
+            for (int i = 0; i < 20; i++) {
+                assertEquals("For topic " + q, store.getRationaleForCourse(query, "CSC" + (100 + i) + "H1"));
+            }
+        }
+    }
+}
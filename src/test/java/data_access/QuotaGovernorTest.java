@@ -0,0 +1,51 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuotaGovernorTest {
+
+    @Test
+    void burstGoesThroughThenQueuesThenRejectsFast() {
+        // 60/min = one token per second, bucket of 2, callers may wait up to 1.5 s
+        QuotaGovernor governor = new QuotaGovernor(60, 2, 1_500);
+
+        assertTrue(governor.acquire("key", QuotaGovernor.Priority.INTERACTIVE).isDone());
+        assertTrue(governor.acquire("key", QuotaGovernor.Priority.INTERACTIVE).isDone());
+
+        CompletableFuture<Void> queued = governor.acquire("key", QuotaGovernor.Priority.INTERACTIVE);
+        assertFalse(queued.isDone()); // waits ~1 s for the next token
+
+        CompletableFuture<Void> rejected = governor.acquire("key", QuotaGovernor.Priority.INTERACTIVE);
+        assertTrue(rejected.isCompletedExceptionally()); // would need ~2 s: fail fast instead
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(e.getCause() instanceof QuotaExceededException);
+        assertTrue(e.getCause().getMessage().startsWith("Gemini is busy right now. Please retry in"));
+
+        queued.join();
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        QuotaGovernor governor = new QuotaGovernor(60, 1, 0);
+
+        assertTrue(governor.tryAcquire("a", QuotaGovernor.Priority.INTERACTIVE));
+        assertFalse(governor.tryAcquire("a", QuotaGovernor.Priority.INTERACTIVE));
+        assertTrue(governor.tryAcquire("b", QuotaGovernor.Priority.INTERACTIVE));
+    }
+
+    @Test
+    void backgroundRequestsLeaveHeadroomForUsers() {
+        QuotaGovernor governor = new QuotaGovernor(60, 4, 0);
+
+        // Background work stops while half the bucket is still available to interactive callers
+        int background = 0;
+        while (governor.tryAcquire("key", QuotaGovernor.Priority.BACKGROUND)) background++;
+        assertEquals(2, background);
+        assertTrue(governor.tryAcquire("key", QuotaGovernor.Priority.INTERACTIVE));
+    }
+}
@@ -0,0 +1,60 @@
+package data_access;
+
+import catalog.CatalogLoader;
+import catalog.CourseCodeSet;
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import use_case.recommend_courses.RecommendCoursesDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidatingRecommendationDataAccessObjectTest {
+
+    private static final CourseCodeSet CODES = CourseCodeSet.of("2024-2025", List.of("CSC311H1", "STA314H1"));
+    private static final Course REAL = new Course("CSC311H1", "ML", "d", "p", 1, "k", "Fits.");
+    private static final Course INVENTED = new Course("CSC389H1", "Quantum ML", "d", "p", 2, "k", "Sounds great.");
+
+    private static final RecommendCoursesDataAccessInterface GEMINI = (interests, completed, apiKey) -> List.of(REAL, INVENTED);
+
+    @Test
+    void dropsUnknownCodes() {
+        ValidatingRecommendationDataAccessObject dao = new ValidatingRecommendationDataAccessObject(
+                GEMINI, CODES, ValidatingRecommendationDataAccessObject.UnknownCodePolicy.DROP);
+
+        assertEquals(List.of(REAL), dao.getRecommendations("ml", List.of(), "key"));
+        assertEquals(List.of(REAL), dao.getRecommendationsAsync("ml", List.of(), "key").join());
+    }
+
+    @Test
+    void flagsUnknownCodesInStreamAndResult() {
+        ValidatingRecommendationDataAccessObject dao = new ValidatingRecommendationDataAccessObject(
+                GEMINI, CODES, ValidatingRecommendationDataAccessObject.UnknownCodePolicy.FLAG);
+
+        List<Course> streamed = new ArrayList<>();
+        List<Course> courses = dao.streamRecommendations("ml", List.of(), "key", streamed::add).join();
+
+        assertEquals(courses, streamed);
+        assertEquals(2, courses.size());
+        assertSame(REAL, courses.get(0));
+        assertEquals("CSC389H1", courses.get(1).getCourseCode());
+        assertTrue(courses.get(1).getExplanation().startsWith("Sounds great. Note: this course code is not in the 2024-2025"));
+    }
+
+    @Test
+    void flagsRatherThanDropsWithoutAFullCodeList() {
+        assertEquals(ValidatingRecommendationDataAccessObject.UnknownCodePolicy.FLAG,
+                ValidatingRecommendationDataAccessObject.defaultPolicy(GeminiRequestMode.UNGROUNDED, false));
+        assertEquals(ValidatingRecommendationDataAccessObject.UnknownCodePolicy.FLAG,
+                ValidatingRecommendationDataAccessObject.defaultPolicy(GeminiRequestMode.STRUCTURED, false));
+        assertEquals(ValidatingRecommendationDataAccessObject.UnknownCodePolicy.DROP,
+                ValidatingRecommendationDataAccessObject.defaultPolicy(GeminiRequestMode.UNGROUNDED, true));
+        assertNull(ValidatingRecommendationDataAccessObject.defaultPolicy(GeminiRequestMode.GROUNDED, false));
+        assertNull(ValidatingRecommendationDataAccessObject.defaultPolicy(GeminiRequestMode.HYBRID, true));
+
+        // The bundled sample is not a full code list
+        assertFalse(CatalogLoader.hasFullCodeList("bundled-sample-test", CatalogLoader.loadDefault()));
+    }
+}
@@ -0,0 +1,52 @@
+package entity;
+
+import org.junit.jupiter.api.Test;
+import use_case.recommend_courses.RecommendationQueryKey;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseCodeCanonicalizerTest {
+
+    @Test
+    void campusSuffixIsPartOfTheCourse() {
+        assertEquals("CSC207H1", CourseCodeCanonicalizer.canonical(" csc 207 h1f "));
+        assertEquals("CSC207", CourseCodeCanonicalizer.base("CSC207H5"));
+
+        assertTrue(CourseCodeCanonicalizer.sameCourse("csc207h1", "CSC207H1S"));
+        assertFalse(CourseCodeCanonicalizer.sameCourse("CSC207H1", "CSC207H5"));
+        assertTrue(CourseCodeCanonicalizer.sameCourse("csc207", "CSC207H5"), "a bare code matches every campus");
+        assertFalse(CourseCodeCanonicalizer.sameCourse("CSC207H1", "CSC209H1"));
+    }
+
+    @Test
+    void nonUofTCodesAreOnlyNormalized() {
+        assertEquals("STA2453HS", CourseCodeCanonicalizer.canonical("sta2453hs"));
+        assertEquals("MATH135", CourseCodeCanonicalizer.canonical("math 135"));
+    }
+
+    @Test
+    void seenCodesDropRepeatsButKeepOtherCampuses() {
+        CourseCodeCanonicalizer.SeenCodes seen = new CourseCodeCanonicalizer.SeenCodes();
+
+        assertTrue(seen.add("CSC207H1"));
+        assertFalse(seen.add("csc207h1f"));
+        assertTrue(seen.add("CSC207H5"));
+        assertFalse(seen.add("CSC207"));
+        assertTrue(seen.add(" "), "blank codes are never duplicates");
+
+        CourseCodeCanonicalizer.SeenCodes completed = CourseCodeCanonicalizer.SeenCodes.of(List.of("mat137"));
+        assertTrue(completed.contains("MAT137Y1"));
+        assertTrue(completed.contains("MAT137H5"));
+        assertFalse(completed.contains("MAT135H1"));
+    }
+
+    @Test
+    void queryKeysIgnoreSpellingButNotCampus() {
+        assertEquals(RecommendationQueryKey.of("ml", List.of("csc207h1", "MAT137Y1")),
+                RecommendationQueryKey.of("ML", List.of("MAT137Y1F", "CSC207H1")));
+        assertNotEquals(RecommendationQueryKey.of("ml", List.of("CSC207H1")),
+                RecommendationQueryKey.of("ml", List.of("CSC207H5")));
+    }
+}
@@ -0,0 +1,54 @@
+package entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseTest {
+
+    @Test
+    void identicalCatalogFieldsAreShared() {
+        Course first = new Course("CSC311H1", "Introduction to Machine Learning", "Supervised learning.",
+                "CSC207H1", 1, "machine learning,statistics", "Fits ML.");
+        Course second = new Course(new String("CSC311H1"), new String("Introduction to Machine Learning"),
+                new String("Supervised learning."), "CSC207H1", 3, "machine learning, statistics", "Other query.");
+
+        assertSame(first.getDescription(), second.getDescription());
+        assertSame(first.getCourseKeywords(), second.getCourseKeywords());
+        assertEquals(3, second.getCourseRank());
+        assertEquals("Other query.", second.getExplanation());
+    }
+
+    @Test
+    void keywordsAreTokenizedAndJoinedForDisplay() {
+        Course course = new Course("STA302H1", "Methods of Data Analysis I", "d", "N/A", 1,
+                " regression , statistics,,", "e");
+
+        assertEquals(List.of("regression", "statistics"), course.getKeywordList());
+        assertEquals("regression, statistics", course.getCourseKeywords());
+        assertNull(new Course("X", "n", "d", "p", 1, null, "e").getCourseKeywords());
+    }
+
+    @Test
+    void keywordTokensAreSharedBetweenCourses() {
+        Course sta = new Course("STA302H1", "Methods of Data Analysis I", "d", "N/A", 1, "regression, statistics", "e");
+        Course eco = new Course("ECO375H1", "Applied Econometrics I", "d", "N/A", 1,
+                new String("statistics") + ", econometrics", "e");
+
+        assertSame(sta.getKeywordList().get(1), eco.getKeywordList().get(0));
+    }
+
+    @Test
+    void withRankingKeepsCatalogFields() {
+        Course catalog = new Course("PHL275H1", "Introduction to Ethics", "Major ethical theories.", "N/A", 0,
+                "ethics", "N/A");
+
+        Course ranked = catalog.withRanking(2, "Because you like ethics.");
+
+        assertSame(catalog.getCourseName(), ranked.getCourseName());
+        assertEquals(2, ranked.getCourseRank());
+        assertEquals("Because you like ethics.", ranked.getExplanation());
+    }
+}
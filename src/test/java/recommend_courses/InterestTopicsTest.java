@@ -0,0 +1,44 @@
+package recommend_courses;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import use_case.recommend_courses.InterestTopics;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestTopicsTest {
+
+    @Test
+    void groupsInterestsBySurveyCategory() {
+        List<String> topics = InterestTopics.split("machine learning, film, Statistics,\nphilosophy;  graphics", 4);
+
+        assertEquals(List.of("machine learning, Statistics", "film, graphics", "philosophy"), topics);
+    }
+
+    @Test
+    void foldsExtraGroupsIntoEarlierOnes() {
+        List<String> topics = InterestTopics.split("philosophy, history, music, chemistry", 2);
+
+        assertEquals(List.of("philosophy, music", "history, chemistry"), topics);
+        assertEquals(List.of(), InterestTopics.split("  ,  ", 3));
+    }
+
+    @Test
+    void mergeInterleavesTopicsAndDropsRepeats() {
+        List<Course> data = List.of(course("STA302H1", 1), course("CSC311H1", 2), course("STA314H1", 3));
+        List<Course> film = List.of(course("INI115H1", 1), course("csc311h1", 2));
+
+        List<Course> merged = InterestTopics.merge(List.of(data, film));
+
+        assertEquals(List.of("STA302H1", "INI115H1", "CSC311H1", "STA314H1"),
+                merged.stream().map(Course::getCourseCode).collect(Collectors.toList()));
+        assertEquals(List.of(1, 2, 3, 4), merged.stream().map(Course::getCourseRank).collect(Collectors.toList()));
+    }
+
+    private static Course course(String code, int rank) {
+        return new Course(code, "name", "d", "N/A", rank, "k", "why " + code);
+    }
+}
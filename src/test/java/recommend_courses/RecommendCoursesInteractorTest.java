@@ -31,6 +31,7 @@ class RecommendCoursesInteractorTest {
     private static class FakePresenter implements RecommendCoursesOutputBoundary {
         RecommendCoursesOutputData successData;
         String errorMessage;
+        List<Course> partialCourses = new ArrayList<>();
 
         @Override
         public void prepareSuccessView(RecommendCoursesOutputData outputData) {
@@ -41,6 +42,11 @@ class RecommendCoursesInteractorTest {
         public void prepareFailView(String errorMessage) {
             this.errorMessage = errorMessage;
         }
+
+        @Override
+        public void preparePartialView(Course course) {
+            partialCourses.add(course);
+        }
     }
 
     @Test
@@ -60,6 +66,7 @@ class RecommendCoursesInteractorTest {
         // Assert
         assertNotNull(presenter.successData); // Ensure success view was triggered
         assertEquals("CSC207", presenter.successData.getRecommendedCourses().get(0).getCourseCode());
+        assertEquals("computer science|", presenter.successData.getQueryId()); // normalized query ID for WhyCourses
         assertNull(presenter.errorMessage);
     }
 
@@ -80,4 +87,38 @@ class RecommendCoursesInteractorTest {
         assertNull(presenter.successData); // Success view should NOT be triggered
         assertEquals("No courses found for these interests.", presenter.errorMessage);
     }
-}
\ No newline at end of file
+
+    @Test
+    void asyncSuccessTest() {
+        FakeDAO dao = new FakeDAO();
+        FakePresenter presenter = new FakePresenter();
+        RecommendCoursesInteractor interactor = new RecommendCoursesInteractor(dao, presenter);
+
+        RecommendCoursesInputData inputData = new RecommendCoursesInputData("Computer Science", new ArrayList<>());
+
+        // Act: wait for the background fetch so we can inspect the presenter
+        interactor.executeAsync(inputData).join();
+
+        assertNotNull(presenter.successData);
+        assertEquals("CSC207", presenter.successData.getRecommendedCourses().get(0).getCourseCode());
+        assertEquals(1, presenter.partialCourses.size()); // each course is also streamed to the view
+        assertNull(presenter.errorMessage);
+    }
+
+    @Test
+    void asyncFailureReportsErrorMessage() {
+        // DAO that fails the same way the Gemini DAO does for a bad response
+        RecommendCoursesDataAccessInterface failingDao = (interests, completed, apiKey) -> {
+            throw new RuntimeException("Gemini API Failed: 503");
+        };
+        FakePresenter presenter = new FakePresenter();
+        RecommendCoursesInteractor interactor = new RecommendCoursesInteractor(failingDao, presenter);
+
+        RecommendCoursesInputData inputData = new RecommendCoursesInputData("Computer Science", new ArrayList<>());
+
+        interactor.executeAsync(inputData).join();
+
+        assertNull(presenter.successData);
+        assertEquals("Gemini API Failed: 503", presenter.errorMessage);
+    }
+}
@@ -0,0 +1,71 @@
+package storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppStateStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void savesAreServedFromMemoryAndCoalescedIntoOneWrite() throws IOException {
+        Path file = tempDir.resolve("app.properties");
+        try (AppStateStore store = new AppStateStore(file, 60_000, false)) {
+            for (int i = 0; i < 10; i++) {
+                store.saveCoursesAndInterests(List.of("CSC148H1", " CSC207H1 "), "interests " + i);
+            }
+            assertEquals(List.of("CSC148H1", "CSC207H1"), store.loadCoursesTaken());
+            assertEquals("interests 9", store.loadLastInterests());
+            assertEquals(0, store.getWriteCount(), "nothing written before the debounce window ends");
+
+            store.flush();
+            assertEquals(1, store.getWriteCount());
+            store.flush();
+            assertEquals(1, store.getWriteCount(), "nothing left to write");
+        }
+
+        try (AppStateStore reopened = new AppStateStore(file, 60_000, false)) {
+            assertEquals("interests 9", reopened.loadLastInterests());
+        }
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(file), files.collect(Collectors.toList()), "no temp files left behind");
+        }
+    }
+
+    @Test
+    void writesBehindAfterTheDebounceWindow() throws Exception {
+        Path file = tempDir.resolve("app.properties");
+        try (AppStateStore store = new AppStateStore(file, 20, false)) {
+            store.saveCoursesAndInterests(List.of("MAT137Y1"), "calculus");
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (store.getWriteCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, store.getWriteCount());
+        }
+        assertTrue(Files.readString(file).contains("last_interests=calculus"));
+    }
+
+    @Test
+    void picksUpExternalEdits() throws Exception {
+        Path file = tempDir.resolve("app.properties");
+        try (AppStateStore store = new AppStateStore(file, 20, true)) {
+            Files.writeString(file, "last_interests=edited by hand\n");
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!store.loadLastInterests().equals("edited by hand") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals("edited by hand", store.loadLastInterests());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package storage;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationCacheStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final Clock NOW = Clock.fixed(Instant.parse("2025-09-01T12:00:00Z"), ZoneOffset.UTC);
+
+    private static List<Course> courses(String code) {
+        return List.of(new Course(code, "Name", "Description", "None", 1, "java, design", "Because"));
+    }
+
+    @Test
+    void entriesSurviveRestart() {
+        Path file = tempDir.resolve("recommendations.cache");
+        try (RecommendationCacheStore store = new RecommendationCacheStore(file, Duration.ofDays(1), 10, NOW)) {
+            store.put("ml|CSC148", courses("CSC311H1"));
+        }
+
+        RecommendationCacheStore reopened = new RecommendationCacheStore(file, Duration.ofDays(1), 10, NOW);
+
+        List<Course> cached = reopened.get("ml|CSC148");
+        assertNotNull(cached);
+        assertEquals("CSC311H1", cached.get(0).getCourseCode());
+        assertEquals("Because", cached.get(0).getExplanation());
+    }
+
+    @Test
+    void expiredEntriesAreNotReturned() {
+        Path file = tempDir.resolve("recommendations.cache");
+        try (RecommendationCacheStore store = new RecommendationCacheStore(file, Duration.ofHours(1), 10, NOW)) {
+            store.put("ml|", courses("CSC311H1"));
+        }
+
+        Clock later = Clock.offset(NOW, Duration.ofHours(2));
+        RecommendationCacheStore reopened = new RecommendationCacheStore(file, Duration.ofHours(1), 10, later);
+
+        assertNull(reopened.get("ml|"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        RecommendationCacheStore store = new RecommendationCacheStore(tempDir.resolve("c"), Duration.ofDays(1), 2, NOW);
+        store.put("a|", courses("AAA100H1"));
+        store.put("b|", courses("BBB100H1"));
+        store.get("a|"); // touch a so b becomes eldest
+        store.put("c|", courses("CCC100H1"));
+
+        assertNotNull(store.get("a|"));
+        assertNull(store.get("b|"));
+        assertNotNull(store.get("c|"));
+    }
+
+    @Test
+    void corruptedFileIsIgnored() throws IOException {
+        Path file = tempDir.resolve("recommendations.cache");
+        try (RecommendationCacheStore store = new RecommendationCacheStore(file, Duration.ofDays(1), 10, NOW)) {
+            store.put("ml|", courses("CSC311H1"));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        RecommendationCacheStore reopened = new RecommendationCacheStore(file, Duration.ofDays(1), 10, NOW);
+
+        assertEquals(0, reopened.size());
+    }
+
+    @Test
+    void putsAreWrittenBehind() {
+        Path file = tempDir.resolve("recommendations.cache");
+        RecommendationCacheStore store = new RecommendationCacheStore(file, Duration.ofDays(1), 10, NOW);
+        store.put("ml|", courses("CSC311H1"));
+        store.put("stats|", courses("STA302H1"));
+
+        // Served from memory right away; the file follows on the writer thread
+        assertNotNull(store.get("stats|"));
+        assertFalse(Files.exists(file));
+
+        store.flush();
+        assertEquals(2, new RecommendationCacheStore(file, Duration.ofDays(1), 10, NOW).size());
+    }
+}
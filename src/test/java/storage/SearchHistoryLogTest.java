@@ -0,0 +1,94 @@
+package storage;
+
+import entity.Course;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchHistoryLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final Clock NOW = Clock.fixed(Instant.parse("2025-09-01T12:00:00Z"), ZoneOffset.UTC);
+
+    private static List<Course> courses(String code) {
+        return List.of(new Course(code, "Name", "Description", "None", 1, "java, design", "Because"));
+    }
+
+    @Test
+    void latestSearchSurvivesRestart() {
+        Path file = tempDir.resolve("history.log");
+        SearchHistoryLog log = new SearchHistoryLog(file, 10, NOW);
+        log.append("statistics", List.of("STA130H1"), courses("STA302H1"), 1200);
+        log.append("machine learning", List.of("CSC148H1"), courses("CSC311H1"), 800);
+
+        SearchHistoryLog reopened = new SearchHistoryLog(file, 10, NOW);
+
+        SearchHistoryLog.Search latest = reopened.latest();
+        assertEquals("machine learning", latest.getInterests());
+        assertEquals(List.of("CSC148H1"), latest.getCompletedCourses());
+        assertEquals("CSC311H1", latest.getCourses().get(0).getCourseCode());
+        assertEquals("Because", latest.getCourses().get(0).getExplanation());
+        assertEquals(800, latest.getSummary().getElapsedMillis());
+
+        List<SearchHistoryLog.Summary> searches = reopened.summaries();
+        assertEquals(List.of("machine learning", "statistics"), List.of(searches.get(0).getInterests(), searches.get(1).getInterests()));
+        assertEquals("STA302H1", reopened.read(searches.get(1)).getCourses().get(0).getCourseCode());
+    }
+
+    @Test
+    void tornTailIsCutOffAtTheLastGoodRecord() throws IOException {
+        Path file = tempDir.resolve("history.log");
+        SearchHistoryLog log = new SearchHistoryLog(file, 10, NOW);
+        log.append("statistics", List.of(), courses("STA302H1"), 1200);
+        long goodLength = Files.size(file);
+        log.append("machine learning", List.of(), courses("CSC311H1"), 800);
+
+        // Simulate a crash halfway through the second append
+        long torn = goodLength + (Files.size(file) - goodLength) / 2;
+        try (var channel = Files.newByteChannel(file, StandardOpenOption.WRITE)) {
+            channel.truncate(torn);
+        }
+
+        SearchHistoryLog reopened = new SearchHistoryLog(file, 10, NOW);
+        assertEquals(1, reopened.size());
+        assertEquals("statistics", reopened.latest().getInterests());
+        assertEquals(goodLength, Files.size(file));
+
+        reopened.append("music", List.of(), courses("MUS110H1"), 500);
+        assertEquals("music", new SearchHistoryLog(file, 10, NOW).latest().getInterests());
+    }
+
+    @Test
+    void compactionKeepsTheNewestRecordPerQuery() {
+        Path file = tempDir.resolve("history.log");
+        SearchHistoryLog log = new SearchHistoryLog(file, 3, NOW);
+        log.append("statistics", List.of(), courses("STA302H1"), 100);
+        log.append("film", List.of(), courses("CIN105Y1"), 100);
+        log.append("music", List.of(), courses("MUS110H1"), 100);
+        log.append("chemistry", List.of(), courses("CHM135H1"), 100);
+        log.append("Statistics ", List.of(), courses("STA304H1"), 100);
+        // The sixth record reaches twice the limit and triggers compaction
+        log.append("chemistry", List.of(), courses("CHM136H1"), 100);
+
+        assertEquals(3, log.size());
+        assertEquals("CHM136H1", log.latest().getCourses().get(0).getCourseCode());
+
+        SearchHistoryLog reopened = new SearchHistoryLog(file, 3, NOW);
+        List<SearchHistoryLog.Summary> searches = reopened.summaries();
+        assertEquals(List.of("chemistry", "Statistics ", "music"),
+                List.of(searches.get(0).getInterests(), searches.get(1).getInterests(), searches.get(2).getInterests()));
+        assertEquals("STA304H1", reopened.read(searches.get(1)).getCourses().get(0).getCourseCode());
+    }
+}
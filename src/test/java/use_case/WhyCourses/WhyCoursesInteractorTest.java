@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class WhyCoursesInteractorTest {
 
+    private static final String QUERY_ID = "software design|CSC148H1";
+
     // ----- Fake DAO -----
     private static class FakeDAO implements WhyCoursesDataAccessInterface {
         private final String expectedCode;
@@ -18,8 +20,8 @@ class WhyCoursesInteractorTest {
         }
 
         @Override
-        public String getRationaleForCourse(String courseCode) {
-            if (courseCode.equals(expectedCode)) {
+        public String getRationaleForCourse(String queryId, String courseCode) {
+            if (QUERY_ID.equals(queryId) && courseCode.equals(expectedCode)) {
                 return expectedRationale;
             }
             return null;
@@ -50,7 +52,7 @@ class WhyCoursesInteractorTest {
         FakeDAO dao = new FakeDAO("CSC207", "Because it matches your interest in software design.");
         FakePresenter presenter = new FakePresenter();
         WhyCoursesInteractor interactor = new WhyCoursesInteractor(dao, presenter);
-        WhyCoursesInputData input = new WhyCoursesInputData("CSC207");
+        WhyCoursesInputData input = new WhyCoursesInputData(QUERY_ID, "CSC207");
 
         interactor.execute(input);
 
@@ -64,7 +66,7 @@ class WhyCoursesInteractorTest {
         FakeDAO dao = new FakeDAO("CSC207", "whatever");
         FakePresenter presenter = new FakePresenter();
         WhyCoursesInteractor interactor = new WhyCoursesInteractor(dao, presenter);
-        WhyCoursesInputData input = new WhyCoursesInputData("");
+        WhyCoursesInputData input = new WhyCoursesInputData(QUERY_ID, "");
 
         interactor.execute(input);
 
@@ -78,7 +80,20 @@ class WhyCoursesInteractorTest {
         FakeDAO dao = new FakeDAO("CSC207", null);
         FakePresenter presenter = new FakePresenter();
         WhyCoursesInteractor interactor = new WhyCoursesInteractor(dao, presenter);
-        WhyCoursesInputData input = new WhyCoursesInputData("CSC207");
+        WhyCoursesInputData input = new WhyCoursesInputData(QUERY_ID, "CSC207");
+
+        interactor.execute(input);
+
+        assertNull(presenter.receivedRationale);
+        assertEquals("No rationale available for CSC207", presenter.errorMessage);
+    }
+
+    @Test
+    void failWhenRationaleBelongsToAnotherQuery() {
+        FakeDAO dao = new FakeDAO("CSC207", "Because it matches your interest in software design.");
+        FakePresenter presenter = new FakePresenter();
+        WhyCoursesInteractor interactor = new WhyCoursesInteractor(dao, presenter);
+        WhyCoursesInputData input = new WhyCoursesInputData("cooking|", "CSC207");
 
         interactor.execute(input);
 